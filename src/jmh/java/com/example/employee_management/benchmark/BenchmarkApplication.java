@@ -0,0 +1,101 @@
+package com.example.employee_management.benchmark;
+
+import com.example.employee_management.EmployeeManagementSystemApplication;
+import com.example.employee_management.entity.IdSequences;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Starts the application against a fresh in-memory H2 database, so benchmarks measure the same beans and
+ * queries as production.
+ */
+final class BenchmarkApplication {
+
+    static final int DEPARTMENTS = 100;
+
+    private static final int INSERT_BATCH = 10_000;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application without a web server.
+     */
+    static ConfigurableApplicationContext start(Map<String, Object> properties) {
+        return start(WebApplicationType.NONE, properties);
+    }
+
+    /**
+     * Starts the application with its embedded web server on a random port, see {@link #port}.
+     */
+    static ConfigurableApplicationContext startServer(Map<String, Object> properties) {
+        Map<String, Object> serverProperties = new HashMap<>(properties);
+        serverProperties.put("server.port", "0");
+        return start(WebApplicationType.SERVLET, serverProperties);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type, Map<String, Object> properties) {
+        SpringApplication application = new SpringApplication(
+                EmployeeManagementSystemApplication.class, RepositoryDelayAspect.class);
+        application.setWebApplicationType(type);
+        application.setLogStartupInfo(false);
+        Map<String, Object> arguments = new HashMap<>(Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "logging.level.root", "WARN",
+                "spring.main.banner-mode", "off",
+                "employee.salary-index.enabled", "false",
+                "employee.snapshot.enabled", "false",
+                // Benchmarks drive the server past its capacity and expect every request to be served.
+                "employee.admission.enabled", "false"));
+        arguments.putAll(properties);
+        // Passed as command line arguments so they take precedence over application.yaml.
+        return application.run(arguments.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new));
+    }
+
+    /**
+     * Inserts {@code rows} employees spread over {@link #DEPARTMENTS} departments with plain JDBC batches,
+     * then moves the id sequences past the inserted rows.
+     */
+    static void populate(ConfigurableApplicationContext context, int rows) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<Object[]> departments = new ArrayList<>(DEPARTMENTS);
+        for (int d = 1; d <= DEPARTMENTS; d++) {
+            departments.add(new Object[]{(long) d, departmentName(d)});
+        }
+        jdbc.batchUpdate("insert into department (id, name) values (?, ?)", departments);
+
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (long id = 1; id <= rows; id++) {
+            batch.add(new Object[]{id, "Employee " + id, 1000 + random.nextInt(199_000), 1 + id % DEPARTMENTS});
+            if (batch.size() == INSERT_BATCH || id == rows) {
+                jdbc.batchUpdate("insert into employee (id, name, salary, department_id) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbc.execute((ConnectionCallback<Void>) connection -> {
+            IdSequences.restartAbove(connection, DEPARTMENTS, rows);
+            return null;
+        });
+    }
+
+    static String departmentName(int department) {
+        return "Department " + department;
+    }
+}
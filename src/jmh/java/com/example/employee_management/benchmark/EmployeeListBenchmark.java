@@ -0,0 +1,84 @@
+package com.example.employee_management.benchmark;
+
+import com.example.employee_management.dto.EmployeePage;
+import com.example.employee_management.service.EmployeeExportService;
+import com.example.employee_management.service.EmployeeService;
+import com.example.employee_management.service.ExportFormat;
+import com.example.employee_management.service.KeysetPagination;
+import com.example.employee_management.service.SalarySort;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the list endpoints' service calls against embedded H2 holding 1k, 100k and 1M employees:
+ * first and deep keyset pages, department and salary-range pages, and a full NDJSON export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeExportService employeeExportService;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of());
+        BenchmarkApplication.populate(context, rows);
+        employeeService = context.getBean(EmployeeService.class);
+        employeeExportService = context.getBean(EmployeeExportService.class);
+        deepCursor = KeysetPagination.encode(rows - KeysetPagination.DEFAULT_PAGE_SIZE * 2L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeePage firstPage() {
+        return employeeService.getAllEmployees(null, null);
+    }
+
+    @Benchmark
+    public EmployeePage deepPage() {
+        return employeeService.getAllEmployees(deepCursor, null);
+    }
+
+    @Benchmark
+    public EmployeePage maxSizePage() {
+        return employeeService.getAllEmployees(null, KeysetPagination.MAX_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public EmployeePage departmentPage() {
+        return employeeService.getEmployeesByDepartment(BenchmarkApplication.departmentName(7), null, null);
+    }
+
+    @Benchmark
+    public EmployeePage salaryRangeTopPage() {
+        return employeeService.getEmployeesBySalaryRange(50_000.0, 60_000.0, SalarySort.SALARY_DESC, null, null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public void exportAll() throws IOException {
+        employeeExportService.exportEmployees(ExportFormat.NDJSON, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.employee_management.benchmark;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.entity.Employee;
+import com.example.employee_management.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the MapStruct conversions between {@link Employee} and {@link EmployeeDTO}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+
+    private final EmployeeMapper mapper = EmployeeMapper.INSTANCE;
+
+    @Param({"1000"})
+    private int listSize;
+
+    private Employee employee;
+    private EmployeeDTO employeeDTO;
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        Department department = new Department(1L, "IT", null);
+        employees = new ArrayList<>(listSize);
+        for (long id = 1; id <= listSize; id++) {
+            Employee e = new Employee();
+            e.setId(id);
+            e.setName("Employee " + id);
+            e.setSalary(50_000 + id);
+            e.setDepartment(department);
+            employees.add(e);
+        }
+        employee = employees.get(0);
+        employeeDTO = new EmployeeDTO("Sachin", "IT", 50_000);
+    }
+
+    @Benchmark
+    public EmployeeDTO employeeToEmployeeDTO() {
+        return mapper.employeeToEmployeeDTO(employee);
+    }
+
+    @Benchmark
+    public Employee employeeDTOToEmployee() {
+        return mapper.employeeDTOToEmployee(employeeDTO);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> employeesToEmployeeDTOs() {
+        return mapper.employeesToEmployeeDTOs(employees);
+    }
+}
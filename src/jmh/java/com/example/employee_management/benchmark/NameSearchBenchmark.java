@@ -0,0 +1,78 @@
+package com.example.employee_management.benchmark;
+
+import com.example.employee_management.dto.NameEntry;
+import com.example.employee_management.index.NameIndex;
+import com.example.employee_management.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency of {@link NameIndex} searches over generated first/last-name combinations, without the database
+ * round trip that loads the returned rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class NameSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aditi", "Akash", "Amit", "Ananya", "Anil", "Anjali", "Arjun", "Deepak", "Divya", "Gaurav",
+            "Ishaan", "Kavya", "Kiran", "Manoj", "Meera", "Neha", "Nikhil", "Pooja", "Priya", "Rahul", "Rajesh",
+            "Ravi", "Rohit", "Sachin", "Sanjay", "Shreya", "Sneha", "Suresh", "Tanvi", "Varun", "Vikram"};
+    private static final String[] LAST_NAMES = {
+            "Agarwal", "Bhat", "Chopra", "Das", "Desai", "Dravid", "Gupta", "Iyer", "Jain", "Joshi", "Kapoor",
+            "Khan", "Kulkarni", "Kumar", "Mehta", "Menon", "Mishra", "Nair", "Patel", "Pillai", "Rao", "Reddy",
+            "Saxena", "Shah", "Sharma", "Singh", "Sinha", "Tendulkar", "Trivedi", "Verma", "Yadav", "Zaveri"};
+
+    @Param({"1000000"})
+    private int rows;
+
+    private NameIndex nameIndex;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<NameEntry> entries = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            // A numeric suffix keeps most names distinct, as in a real directory.
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + random.nextInt(1000);
+            entries.add(new NameEntry(id, name, 1 + id % BenchmarkApplication.DEPARTMENTS));
+        }
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        when(employeeRepository.streamNameEntries()).thenReturn(entries.stream());
+        nameIndex = new NameIndex(employeeRepository, mock(PlatformTransactionManager.class), true);
+        nameIndex.load();
+    }
+
+    @Benchmark
+    public List<Long> selectivePrefix() {
+        return nameIndex.search("sachin tend", null, 20);
+    }
+
+    @Benchmark
+    public List<Long> lastNameSubstring() {
+        return nameIndex.search("ulkar", null, 20);
+    }
+
+    @Benchmark
+    public List<Long> twoCharacterWordPrefix() {
+        return nameIndex.search("sa", null, 20);
+    }
+
+    @Benchmark
+    public List<Long> departmentScoped() {
+        return nameIndex.search("kumar", 3L, 20);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.employee_management.benchmark;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.time.Duration;
+
+/**
+ * Delays every repository call by a fixed duration to simulate a slow database, e.g. to compare platform and
+ * virtual request threads. Registered by {@link BenchmarkApplication} and only active when
+ * {@code employee.benchmark.repository-delay} is set.
+ * <p>
+ * The delay runs before the call proceeds, so it holds the request thread but not a connection unless the
+ * caller's transaction has already taken one.
+ */
+@Aspect
+@ConditionalOnProperty("employee.benchmark.repository-delay")
+class RepositoryDelayAspect {
+
+    private final long delayMillis;
+
+    RepositoryDelayAspect(@Value("${employee.benchmark.repository-delay}") Duration delay) {
+        this.delayMillis = delay.toMillis();
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object delay(ProceedingJoinPoint joinPoint) throws Throwable {
+        Thread.sleep(delayMillis);
+        return joinPoint.proceed();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.employee_management.benchmark;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.exception.DuplicateEmployeeException;
+import com.example.employee_management.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of {@link EmployeeService#saveEmployee(EmployeeDTO)} with 8 concurrent callers writing unique
+ * employees into a fixed set of departments. The retry benchmarks repeat a save that already succeeded, with
+ * and without an idempotency key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(8)
+public class SaveEmployeeBenchmark {
+
+    private static final EmployeeDTO RETRIED = new EmployeeDTO("Benchmark retried",
+            BenchmarkApplication.departmentName(1), 50_000);
+    private static final String RETRIED_KEY = "benchmark-retried";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(Map.of());
+        BenchmarkApplication.populate(context, 10_000);
+        employeeService = context.getBean(EmployeeService.class);
+        employeeService.saveEmployee(RETRIED, RETRIED_KEY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void saveEmployee() {
+        long n = sequence.incrementAndGet();
+        int department = 1 + (int) (n % BenchmarkApplication.DEPARTMENTS);
+        employeeService.saveEmployee(new EmployeeDTO("Benchmark " + n,
+                BenchmarkApplication.departmentName(department), 50_000));
+    }
+
+    @Benchmark
+    public boolean retryWithIdempotencyKey() {
+        return employeeService.saveEmployee(RETRIED, RETRIED_KEY);
+    }
+
+    @Benchmark
+    public boolean retryWithoutIdempotencyKey() {
+        try {
+            employeeService.saveEmployee(RETRIED);
+            return true;
+        } catch (DuplicateEmployeeException ex) {
+            return false;
+        }
+    }
+}
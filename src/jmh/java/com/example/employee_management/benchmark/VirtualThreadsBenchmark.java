@@ -0,0 +1,73 @@
+package com.example.employee_management.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Tomcat on platform threads with Tomcat on virtual threads when every repository call is slowed
+ * down by {@code repositoryDelay}, with 512 concurrent HTTP clients. Throughput mode gives requests per
+ * millisecond; sample mode gives the latency percentiles (p99 included) of the same load.
+ * <p>
+ * The connection pool is sized above the client count so that the request threads, not the pool, are the
+ * limit: with platform threads Tomcat's 200 workers cap throughput near 200 / delay and excess requests
+ * queue, while with virtual threads every client is served concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(512)
+public class VirtualThreadsBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"50ms"})
+    private String repositoryDelay;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.startServer(Map.of(
+                "spring.threads.virtual.enabled", virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size", 600,
+                "employee.benchmark.repository-delay", repositoryDelay));
+        BenchmarkApplication.populate(context, EMPLOYEES);
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        baseUri = "http://localhost:" + BenchmarkApplication.port(context) + "/api/employees/";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getEmployeeById() throws IOException, InterruptedException {
+        long id = 1 + ThreadLocalRandom.current().nextLong(EMPLOYEES);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + id)).GET().build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
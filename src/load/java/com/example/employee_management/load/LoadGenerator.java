@@ -0,0 +1,378 @@
+package com.example.employee_management.load;
+
+import com.example.employee_management.dataset.DatasetGenerator;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the employee endpoints of a running server with a configurable request mix and reports throughput and
+ * an HDR latency histogram, so builds can be compared under the same load. Ids and department names target the
+ * dataset of {@link DatasetGenerator}; start the server with the same {@code employees}, {@code departments}
+ * and {@code department-skew}.
+ * <p>
+ * In the closed loop, {@code concurrency} clients each send their next request when the previous one is
+ * answered, which measures the throughput the server sustains. In the open loop, requests are started at a
+ * fixed {@code rate} whether or not earlier ones have been answered, and latency is measured from when each
+ * request was due, so a stalled server shows up in the percentiles instead of silently lowering the load.
+ * <p>
+ * Run with {@code mvn -Pload -DskipTests verify "-Dload.args=--mode=open --rate=500 --duration=60s"}. Options:
+ * <ul>
+ *     <li>{@code --url}: the server, {@code http://localhost:8080} by default.</li>
+ *     <li>{@code --mode}: {@code closed} (default) or {@code open}.</li>
+ *     <li>{@code --concurrency}: clients of the closed loop, 16 by default.</li>
+ *     <li>{@code --rate}: requests per second of the open loop, 100 by default.</li>
+ *     <li>{@code --duration} and {@code --warmup}: measured time, 30s, after an unmeasured warmup, 10s.</li>
+ *     <li>{@code --mix}: operation weights, by default {@value #DEFAULT_MIX}. Operations are {@code get},
+ *     {@code list}, {@code department}, {@code salary}, {@code count}, {@code search}, {@code create} and
+ *     {@code create-async}.</li>
+ *     <li>{@code --employees}, {@code --departments}, {@code --department-skew}: the generated dataset,
+ *     100000, 100 and 1.0 by default.</li>
+ *     <li>{@code --seed}: seed of the request sequence, 1 by default.</li>
+ *     <li>{@code --histogram}: file to write the full latency distribution to, in HdrHistogram's
+ *     percentile format.</li>
+ * </ul>
+ */
+public final class LoadGenerator {
+
+    static final String DEFAULT_MIX = "get=50,department=20,list=10,salary=10,search=5,create=5";
+    private static final List<String> SEARCH_TERMS = List.of("sach", "shar", "priy", "pate", "emma", "wils",
+            "rahu", "iyer", "ana", "son");
+    private static final int PAGE_SIZE = 100;
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Options options;
+    private final HttpClient client;
+    private final List<Operation> operations;
+    private final int[] cumulativeWeights;
+    private final double[] departmentWeights;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    private final Recorder total = new Recorder(SIGNIFICANT_DIGITS);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+    private Histogram measured;
+    private final Map<String, Histogram> measuredByOperation = new LinkedHashMap<>();
+
+    LoadGenerator(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.operations = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : parseMix(options.mix).entrySet()) {
+            operations.add(Operation.fromName(entry.getKey()));
+            weights.add(entry.getValue());
+            recorders.put(entry.getKey(), new Recorder(SIGNIFICANT_DIGITS));
+        }
+        this.cumulativeWeights = new int[weights.size()];
+        int sum = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            sum += weights.get(i);
+            cumulativeWeights[i] = sum;
+        }
+        this.departmentWeights = DatasetGenerator.cumulativeWeights(options.departments, options.departmentSkew);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LoadGenerator generator = new LoadGenerator(options);
+        generator.run();
+        generator.report(System.out);
+        if (options.histogram != null) {
+            generator.writeHistogram(Path.of(options.histogram));
+        }
+        System.exit(0);
+    }
+
+    void run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        if (options.open) {
+            clients.submit(() -> openLoop(start, end));
+        } else {
+            for (int i = 0; i < options.concurrency; i++) {
+                SplittableRandom random = new SplittableRandom(options.seed + i);
+                clients.submit(() -> {
+                    while (!stopped) {
+                        send(random, System.nanoTime());
+                    }
+                });
+            }
+        }
+        sleepUntil(measureFrom);
+        recorders.values().forEach(Recorder::reset);
+        total.reset();
+        measuring = true;
+        sleepUntil(end);
+        measuring = false;
+        // Requests still in flight are not recorded, so the counts cover exactly the measured duration.
+        measured = total.getIntervalHistogram();
+        recorders.forEach((name, recorder) -> measuredByOperation.put(name, recorder.getIntervalHistogram()));
+        stopped = true;
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Starts each request when it is due, on its own virtual thread, regardless of how many are in flight.
+     */
+    private void openLoop(long start, long end) {
+        SplittableRandom random = new SplittableRandom(options.seed);
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long due = start; due < end && !stopped; due += interval) {
+                sleepUntil(due);
+                SplittableRandom requestRandom = random.split();
+                long intended = due;
+                requests.submit(() -> send(requestRandom, intended));
+            }
+        }
+    }
+
+    /**
+     * Sends one request of the mix and records its latency from {@code intended}, the time it was due.
+     */
+    private void send(SplittableRandom random, long intended) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (pick >= cumulativeWeights[index]) {
+            index++;
+        }
+        Operation operation = operations.get(index);
+        int status;
+        try {
+            status = client.send(operation.request(this, random), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+        } catch (IOException ex) {
+            status = -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+        if (measuring) {
+            recorders.get(operation.name).recordValue(micros);
+            total.recordValue(micros);
+            statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+        }
+    }
+
+    void report(PrintStream out) {
+        double seconds = options.duration.toNanos() / 1e9;
+        out.printf("%s loop, %s, %s measured after %s warmup, mix %s%n", options.open ? "open" : "closed",
+                options.open ? options.rate + " req/s offered" : options.concurrency + " clients",
+                options.duration, options.warmup, options.mix);
+        out.printf("requests %d, throughput %.1f req/s, statuses %s%n", measured.getTotalCount(),
+                measured.getTotalCount() / seconds, new TreeMap<>(statuses));
+        out.println(summary("all", measured));
+        measuredByOperation.forEach((name, histogram) -> out.println(summary(name, histogram)));
+    }
+
+    void writeHistogram(Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            // Recorded in microseconds, written in milliseconds.
+            measured.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static String summary(String name, Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return String.format("%-13s %8d", name, 0);
+        }
+        return String.format("%-13s %8d  ms p50 %8.2f  p90 %8.2f  p99 %8.2f  p99.9 %8.2f  max %8.2f", name,
+                histogram.getTotalCount(), percentile(histogram, 50), percentile(histogram, 90),
+                percentile(histogram, 99), percentile(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double percentile(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.split("=");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in --mix, got " + part);
+            }
+            Operation.fromName(entry[0].strip());
+            int weight = Integer.parseInt(entry[1].strip());
+            if (weight > 0) {
+                weights.put(entry[0].strip(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(options.url + path)).timeout(Duration.ofSeconds(30)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(options.url + path)).timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private String department(SplittableRandom random) {
+        return DatasetGenerator.departmentName(DatasetGenerator.department(departmentWeights, random.nextDouble()));
+    }
+
+    private String newEmployee(SplittableRandom random) {
+        return "{\"name\":\"Load " + runId + "-" + sequence.incrementAndGet() + "\",\"department\":\""
+                + department(random) + "\",\"salary\":" + (20_000 + random.nextInt(130_000)) + "}";
+    }
+
+    private enum Operation {
+        GET("get") {
+            @Override
+            HttpRequest request(LoadGenerator load, SplittableRandom random) {
+                return load.get("/api/employees/" + (1 + random.nextLong(load.options.employees))).build();
+            }
+        },
+        LIST("list") {
+            @Override
+            HttpRequest request(LoadGenerator load, SplittableRandom random) {
+                return load.get("/api/employees?limit=" + PAGE_SIZE).build();
+            }
+        },
+        DEPARTMENT("department") {
+            @Override
+            HttpRequest request(LoadGenerator load, SplittableRandom random) {
+                String name = URLEncoder.encode(load.department(random), StandardCharsets.UTF_8).replace("+", "%20");
+                return load.get("/api/departments/" + name + "/employees?limit=" + PAGE_SIZE).build();
+            }
+        },
+        SALARY("salary") {
+            @Override
+            HttpRequest request(LoadGenerator load, SplittableRandom random) {
+                int min = 20_000 + random.nextInt(100_000);
+                return load.get("/api/employees/salary?min=" + min + "&max=" + (min + 5_000)
+                        + "&limit=" + PAGE_SIZE).build();
+            }
+        },
+        COUNT("count") {
+            @Override
+            HttpRequest request(LoadGenerator load, SplittableRandom random) {
+                int min = 20_000 + random.nextInt(100_000);
+                return load.get("/api/employees/salary/count?min=" + min + "&max=" + (min + 20_000)).build();
+            }
+        },
+        SEARCH("search") {
+            @Override
+            HttpRequest request(LoadGenerator load, SplittableRandom random) {
+                return load.get("/api/employees/search?q=" + SEARCH_TERMS.get(random.nextInt(SEARCH_TERMS.size())))
+                        .build();
+            }
+        },
+        CREATE("create") {
+            @Override
+            HttpRequest request(LoadGenerator load, SplittableRandom random) {
+                return load.post("/api/employees", load.newEmployee(random)).build();
+            }
+        },
+        CREATE_ASYNC("create-async") {
+            @Override
+            HttpRequest request(LoadGenerator load, SplittableRandom random) {
+                return load.post("/api/employees", load.newEmployee(random)).header("Prefer", "respond-async").build();
+            }
+        };
+
+        private final String name;
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        abstract HttpRequest request(LoadGenerator load, SplittableRandom random);
+
+        static Operation fromName(String name) {
+            for (Operation operation : values()) {
+                if (operation.name.equals(name)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation " + name + " in --mix");
+        }
+    }
+
+    /**
+     * Command line options, each given as {@code --name=value}.
+     */
+    record Options(String url, boolean open, int concurrency, int rate, Duration duration, Duration warmup,
+                   String mix, long employees, int departments, double departmentSkew, long seed,
+                   String histogram) {
+
+        static Options parse(String... args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                if (!arg.startsWith("--") || equals < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+            String mode = values.getOrDefault("mode", "closed");
+            if (!mode.equals("closed") && !mode.equals("open")) {
+                throw new IllegalArgumentException("--mode must be closed or open, got " + mode);
+            }
+            return new Options(
+                    values.getOrDefault("url", "http://localhost:8080"),
+                    mode.equals("open"),
+                    Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                    Integer.parseInt(values.getOrDefault("rate", "100")),
+                    DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                    DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                    values.getOrDefault("mix", DEFAULT_MIX),
+                    Long.parseLong(values.getOrDefault("employees", "100000")),
+                    Integer.parseInt(values.getOrDefault("departments", "100")),
+                    Double.parseDouble(values.getOrDefault("department-skew", "1.0")),
+                    Long.parseLong(values.getOrDefault("seed", "1")),
+                    values.get("histogram"));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.employee_management.admission;
+
+import com.example.employee_management.exception.QuotaExceededException;
+import com.example.employee_management.exception.ServiceOverloadedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+/**
+ * Admission control for the employee API: requests beyond what the server can serve without queueing are
+ * rejected immediately, instead of waiting in Tomcat's unbounded queue where every request's latency degrades
+ * together.
+ * <p>
+ * Reads and writes are admitted by separate {@link VegasLimiter}s, so a burst of one cannot starve the other;
+ * a request over the limit fails with {@link ServiceOverloadedException}. With client quotas enabled, each
+ * client, identified by the {@value #CLIENT_ID_HEADER} header or else its address, also draws from its own
+ * {@link TokenBucket} and is rejected with {@link QuotaExceededException} once the bucket is empty. The header is
+ * not authenticated, so quotas curb misbehaving clients rather than hostile ones.
+ * <p>
+ * Latency is judged per route, the method and URI pattern of the handler, so routes of different cost share a
+ * pool without the slower ones looking like queueing. Permits are held until the response completes. A streaming
+ * response gives its permit back when it goes asynchronous, without a latency sample, since its duration depends
+ * on the client. Published as the
+ * {@code http.admission.limit} and {@code http.admission.in.flight} gauges and the
+ * {@code http.admission.rejected} counter, tagged by pool and, for rejections, reason.
+ */
+@Component
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private final Pool reads;
+    private final Pool writes;
+    private final boolean quotasEnabled;
+    private final double quotaRate;
+    private final double quotaBurst;
+    private final Cache<String, TokenBucket> buckets;
+
+    public AdmissionControlInterceptor(MeterRegistry meterRegistry,
+                                       @Value("${employee.admission.enabled:false}") boolean enabled,
+                                       @Value("${employee.admission.retry-after:1s}") Duration retryAfter,
+                                       @Value("${employee.admission.read.initial-limit:50}") int readInitialLimit,
+                                       @Value("${employee.admission.read.min-limit:8}") int readMinLimit,
+                                       @Value("${employee.admission.read.max-limit:400}") int readMaxLimit,
+                                       @Value("${employee.admission.write.initial-limit:20}") int writeInitialLimit,
+                                       @Value("${employee.admission.write.min-limit:4}") int writeMinLimit,
+                                       @Value("${employee.admission.write.max-limit:100}") int writeMaxLimit,
+                                       @Value("${employee.admission.client-quota.enabled:false}") boolean quotasEnabled,
+                                       @Value("${employee.admission.client-quota.rate:100}") double quotaRate,
+                                       @Value("${employee.admission.client-quota.burst:200}") double quotaBurst) {
+        this.enabled = enabled;
+        this.retryAfter = retryAfter;
+        this.reads = new Pool("read", new VegasLimiter(readInitialLimit, readMinLimit, readMaxLimit), meterRegistry);
+        this.writes = new Pool("write", new VegasLimiter(writeInitialLimit, writeMinLimit, writeMaxLimit),
+                meterRegistry);
+        this.quotasEnabled = quotasEnabled;
+        this.quotaRate = quotaRate;
+        this.quotaBurst = quotaBurst;
+        // An idle client's bucket would be full again by now, so forgetting it changes nothing.
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos((long) (quotaBurst / quotaRate * 1e9)).plusMinutes(1))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // An async dispatch resumes a request that was admitted, and gave its permit back, when it started.
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        Pool pool = isRead(request.getMethod()) ? reads : writes;
+        if (quotasEnabled) {
+            String client = clientId(request);
+            long wait = buckets.get(client, key -> new TokenBucket(quotaRate, quotaBurst, System.nanoTime()))
+                    .tryTake(System.nanoTime());
+            if (wait > 0) {
+                pool.quotaRejections.increment();
+                throw new QuotaExceededException("Request quota exceeded for client " + client,
+                        Duration.ofNanos(wait));
+            }
+        }
+        if (!pool.limiter.tryAcquire()) {
+            pool.limitRejections.increment();
+            throw new ServiceOverloadedException("Too many concurrent requests, try again later", retryAfter);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(pool, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request, false);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request, ex == null && response.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    private void release(HttpServletRequest request, boolean sample) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+            permit.pool.limiter.release(route, System.nanoTime() - permit.acquiredAt, sample);
+        }
+    }
+
+    int limit(boolean read) {
+        return (read ? reads : writes).limiter.getLimit();
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private static String clientId(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+    }
+
+    private record Permit(Pool pool, long acquiredAt) {
+    }
+
+    private static final class Pool {
+        private final VegasLimiter limiter;
+        private final Counter limitRejections;
+        private final Counter quotaRejections;
+
+        Pool(String name, VegasLimiter limiter, MeterRegistry meterRegistry) {
+            this.limiter = limiter;
+            Gauge.builder("http.admission.limit", limiter, VegasLimiter::getLimit).tag("pool", name)
+                    .description("Concurrent requests allowed").register(meterRegistry);
+            Gauge.builder("http.admission.in.flight", limiter, VegasLimiter::getInFlight).tag("pool", name)
+                    .description("Admitted requests in progress").register(meterRegistry);
+            this.limitRejections = Counter.builder("http.admission.rejected").tag("pool", name)
+                    .tag("reason", "limit").description("Requests rejected by admission control")
+                    .register(meterRegistry);
+            this.quotaRejections = Counter.builder("http.admission.rejected").tag("pool", name)
+                    .tag("reason", "quota").description("Requests rejected by admission control")
+                    .register(meterRegistry);
+        }
+    }
+}
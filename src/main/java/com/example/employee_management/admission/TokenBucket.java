@@ -0,0 +1,36 @@
+package com.example.employee_management.admission;
+
+/**
+ * A token bucket refilled continuously at {@code rate} tokens per second up to {@code capacity}, allowing bursts
+ * of up to {@code capacity} requests and {@code rate} requests per second on average.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double rate, double capacity, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = rate / 1e9;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param now the current {@link System#nanoTime()}.
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be available.
+     */
+    public synchronized long tryTake(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
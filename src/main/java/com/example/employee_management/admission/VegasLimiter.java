@@ -0,0 +1,95 @@
+package com.example.employee_management.admission;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A concurrency limit that adapts to observed latency in the manner of TCP Vegas.
+ * <p>
+ * The lowest latency seen on each route is taken as the cost of a request to that route that did not queue, so a
+ * route serving large pages is not mistaken for a fast route whose requests are queueing. Each completed request
+ * estimates how many requests were queued as {@code limit * (1 - minRtt / rtt)} against its route's minimum,
+ * and one limit is shared by all routes: while that stays below
+ * {@code alpha} the server has headroom and the limit grows, and once it exceeds {@code beta} requests are
+ * waiting for resources rather than being served and the limit shrinks. Both thresholds scale with
+ * {@code log10(limit)}, so the limit moves in larger steps when it is large. The limit only grows while at least
+ * half of it is in use, so a quiet period does not inflate it. Each route's minimum latency is re-measured every
+ * {@value #PROBE_SAMPLES} of its samples so that it follows lasting changes, such as the data growing.
+ */
+public class VegasLimiter {
+
+    static final int PROBE_SAMPLES = 1000;
+    private static final double ALPHA = 3;
+    private static final double BETA = 6;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private double limit;
+    private int inFlight;
+    private final Map<String, Baseline> baselines = new HashMap<>();
+
+    public VegasLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a permit if fewer than {@link #getLimit()} requests are in flight.
+     *
+     * @return whether the request may proceed; if so, {@link #release} must be called once it completes.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Returns a permit and, for a request that completed normally, adjusts the limit to its latency.
+     *
+     * @param route    the route the request was served by, whose own minimum latency its latency is compared to;
+     *                 the number of distinct routes must be bounded.
+     * @param rttNanos the time the request held its permit.
+     * @param sample   whether the latency is representative; failed or long-running requests are not.
+     */
+    public synchronized void release(String route, long rttNanos, boolean sample) {
+        int inFlightBefore = inFlight;
+        inFlight--;
+        if (!sample || rttNanos <= 0) {
+            return;
+        }
+        Baseline baseline = baselines.computeIfAbsent(route, key -> new Baseline());
+        if (++baseline.samples >= PROBE_SAMPLES) {
+            baseline.samples = 0;
+            baseline.minRttNanos = rttNanos;
+        }
+        baseline.minRttNanos = Math.min(baseline.minRttNanos, rttNanos);
+
+        double queued = limit * (1 - (double) baseline.minRttNanos / rttNanos);
+        double step = Math.max(1, Math.log10(limit));
+        if (queued > BETA * step) {
+            limit = Math.max(minLimit, limit - step);
+        } else if (queued < ALPHA * step && inFlightBefore * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + step);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private static final class Baseline {
+        private long minRttNanos = Long.MAX_VALUE;
+        private int samples;
+    }
+}
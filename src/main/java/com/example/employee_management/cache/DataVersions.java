@@ -0,0 +1,92 @@
+package com.example.employee_management.cache;
+
+import com.example.employee_management.event.DepartmentChangedEvent;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters for the employee data, used to build ETags for conditional GETs.
+ * <p>
+ * The global version changes with every committed mutation. Each department additionally has its own
+ * version, which only changes when its employees do, so polling one department is not invalidated by writes
+ * to another. Renaming or deleting a department alters employees that already existed, so it also advances a
+ * department generation that is part of every department tag.
+ * <p>
+ * Counters are advanced after the mutation commits, and after the
+ * {@link com.example.employee_management.index.EmployeeReadModel read models} have been updated. Callers must read the version <em>before</em> querying: a tag can then at worst be
+ * older than the data it describes, which only costs the client one extra full response, never a stale 304.
+ * Tags carry a per-process epoch so counters restarting from zero cannot repeat an earlier tag.
+ */
+@Component
+public class DataVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong global = new AtomicLong();
+    private final AtomicLong departmentGeneration = new AtomicLong();
+    private final ConcurrentHashMap<String, AtomicLong> departments = new ConcurrentHashMap<>();
+
+    /**
+     * @return the tag of every employee listing not restricted to one department.
+     */
+    public String globalTag() {
+        return epoch + "-" + global.get();
+    }
+
+    /**
+     * @param departmentName the name of the department.
+     * @return the tag of the department's employee listing.
+     */
+    public String departmentTag(String departmentName) {
+        AtomicLong version = departments.get(departmentName);
+        return epoch + "-" + departmentGeneration.get() + "-" + (version == null ? 0 : version.get());
+    }
+
+    /**
+     * Employees are never updated in place, but inserting one turns the 404 for its id into the employee, so a
+     * single employee is tagged with the global version rather than only its department's.
+     *
+     * @return the tag of any single employee, present or not.
+     */
+    public String employeeTag() {
+        return globalTag();
+    }
+
+    /**
+     * Advances the global version and the version of every department that received employees.
+     *
+     * @param event the employees inserted by the committed transaction.
+     */
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onEmployeesCreated(EmployeesCreatedEvent event) {
+        Set<String> departmentNames = new HashSet<>();
+        for (EmployeesCreatedEvent.CreatedEmployee employee : event.employees()) {
+            departmentNames.add(employee.departmentName());
+        }
+        for (String departmentName : departmentNames) {
+            departments.computeIfAbsent(departmentName, name -> new AtomicLong()).incrementAndGet();
+        }
+        global.incrementAndGet();
+    }
+
+    /**
+     * Advances the department generation and the global version. A rename may move employees between
+     * department names, so every department tag changes.
+     *
+     * @param event the department that was renamed or deleted.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        departmentGeneration.incrementAndGet();
+        global.incrementAndGet();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.employee_management.cache;
+
+import com.example.employee_management.event.DepartmentChangedEvent;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ready-to-send response bodies of department employee listings, keyed by department and representation.
+ * <p>
+ * Each entry remembers the {@link DataVersions#departmentTag department tag} that was current before its
+ * response was built, and is only served while the tag is unchanged, so a stale body is never sent. Entries are
+ * also dropped as soon as their department receives employees, or every department is renamed or deleted, to
+ * give their memory back. The entries live in a Caffeine cache weighed by body size, so lookups take no lock and
+ * the cache holds at most {@code max-size} bytes, evicting the entries least likely to be used again beyond that.
+ */
+@Component
+public class ResponseCache {
+
+    /** Rough cost of an entry beyond its body: key, headers and map nodes. */
+    static final int ENTRY_OVERHEAD = 512;
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Cache<Key, CachedResponse> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${employee.response-cache.enabled:false}") boolean enabled,
+                         @Value("${employee.response-cache.max-size:64MB}") DataSize maxSize) {
+        this.enabled = enabled;
+        this.maxBytes = maxSize.toBytes();
+        this.hits = Counter.builder("response.cache.requests").tag("result", "hit")
+                .description("Response cache lookups").register(meterRegistry);
+        this.misses = Counter.builder("response.cache.requests").tag("result", "miss")
+                .description("Response cache lookups").register(meterRegistry);
+        this.evictions = Counter.builder("response.cache.evictions")
+                .description("Responses evicted to stay within the memory budget").register(meterRegistry);
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, CachedResponse response) -> weight(response))
+                .evictionListener((Key key, CachedResponse response, RemovalCause cause) -> evictions.increment())
+                // Evicts on the writing thread, so the budget holds as soon as a response is stored.
+                .executor(Runnable::run)
+                .build();
+        Gauge.builder("response.cache.size", this, ResponseCache::bytes).baseUnit("bytes")
+                .description("Memory held by cached responses").register(meterRegistry);
+        Gauge.builder("response.cache.entries", this, ResponseCache::size)
+                .description("Cached responses").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Looks up a response built while the department was at the given tag.
+     *
+     * @param key the department and representation of the response.
+     * @param tag the current tag of the department, read before this call.
+     * @return the cached response, or null if there is none or it was built from older data.
+     */
+    public CachedResponse get(Key key, String tag) {
+        CachedResponse response = entries.getIfPresent(key);
+        if (response != null && response.tag().equals(tag)) {
+            hits.increment();
+            return response;
+        }
+        if (response != null) {
+            // Only this stale response: a concurrent request may already have stored a fresh one.
+            entries.asMap().remove(key, response);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores a response, evicting others beyond the memory budget. A response larger than the whole budget is
+     * not stored.
+     */
+    public void put(Key key, CachedResponse response) {
+        if (weight(response) <= maxBytes) {
+            entries.put(key, response);
+        }
+    }
+
+    /**
+     * Drops the responses of every department that received employees, scanning every cached response.
+     */
+    @TransactionalEventListener
+    public void onEmployeesCreated(EmployeesCreatedEvent event) {
+        Set<String> departmentNames = new HashSet<>();
+        for (EmployeesCreatedEvent.CreatedEmployee employee : event.employees()) {
+            departmentNames.add(employee.departmentName());
+        }
+        entries.asMap().keySet().removeIf(key -> departmentNames.contains(key.department()));
+    }
+
+    /**
+     * A rename or deletion changes every department tag, see {@link DataVersions#onDepartmentChanged}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        entries.invalidateAll();
+    }
+
+    long bytes() {
+        entries.cleanUp();
+        return entries.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private static int weight(CachedResponse response) {
+        return response.body().length + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * @param department the department whose employees the response lists.
+     * @param variant    everything else that selects the response: URL, query and negotiated headers.
+     */
+    public record Key(String department, String variant) {
+    }
+
+    /**
+     * @param tag     the department tag the response was built at.
+     * @param headers the response headers to replay, in order.
+     * @param body    the response body, already encoded as its headers describe.
+     */
+    public record CachedResponse(String tag, List<Map.Entry<String, String>> headers, byte[] body) {
+    }
+}
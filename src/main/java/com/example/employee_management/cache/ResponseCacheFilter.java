@@ -0,0 +1,185 @@
+package com.example.employee_management.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves department employee listings from the {@link ResponseCache}. A hit is written straight to the output
+ * stream with its recorded headers, without reaching the controller: no query, no mapping, no serialization.
+ * A miss runs the request as usual and records the successful response, gzip-compressed if the client accepts
+ * it and the body is large enough to gain from it.
+ * <p>
+ * The tag an entry is validated against is read before the request runs, as {@link DataVersions} requires.
+ * Conditional requests are left to the controller, which answers them without building a body, and so are
+ * CORS requests, whose headers depend on the origin.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern DEPARTMENT_EMPLOYEES = Pattern.compile("/api/departments/([^/]+)/employees");
+
+    private final ResponseCache responseCache;
+    private final DataVersions dataVersions;
+    private final int compressionThreshold;
+
+    public ResponseCacheFilter(ResponseCache responseCache,
+                               DataVersions dataVersions,
+                               @Value("${employee.response-cache.compression-threshold:1KB}")
+                               DataSize compressionThreshold) {
+        this.responseCache = responseCache;
+        this.dataVersions = dataVersions;
+        this.compressionThreshold = (int) compressionThreshold.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !responseCache.isEnabled()
+                || !"GET".equals(request.getMethod())
+                || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.ORIGIN) != null
+                || !DEPARTMENT_EMPLOYEES.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Matcher matcher = DEPARTMENT_EMPLOYEES.matcher(request.getRequestURI());
+        matcher.matches();
+        String department = UriUtils.decode(matcher.group(1), StandardCharsets.UTF_8);
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // The Link header of a page is built from the request URL, so the whole URL is part of the key.
+        ResponseCache.Key key = new ResponseCache.Key(department, request.getRequestURL() + "?"
+                + request.getQueryString() + "\n" + request.getHeader(HttpHeaders.ACCEPT) + "\n" + gzip);
+        String tag = dataVersions.departmentTag(department);
+
+        ResponseCache.CachedResponse cached = responseCache.get(key, tag);
+        if (cached != null) {
+            write(cached, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || request.isAsyncStarted()) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        ResponseCache.CachedResponse built = record(tag, wrapper, gzip);
+        responseCache.put(key, built);
+        wrapper.resetBuffer();
+        write(built, response);
+    }
+
+    /**
+     * Captures the headers the application set and the body, compressing it when worthwhile. A compressed
+     * body is a different encoding of the same content, so its ETag is made weak: conditional requests with it
+     * still validate against the tag the controller checks.
+     */
+    private ResponseCache.CachedResponse record(String tag, ContentCachingResponseWrapper wrapper, boolean gzip)
+            throws IOException {
+        byte[] body = wrapper.getContentAsByteArray();
+        boolean compress = gzip && body.length >= compressionThreshold;
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        if (wrapper.getContentType() != null) {
+            headers.add(new AbstractMap.SimpleImmutableEntry<>(HttpHeaders.CONTENT_TYPE, wrapper.getContentType()));
+        }
+        // Containers may list a header name once per value.
+        Set<String> seen = new HashSet<>();
+        for (String name : wrapper.getHeaderNames()) {
+            if (name.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE) || name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)
+                    || !seen.add(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (String value : wrapper.getHeaders(name)) {
+                if (compress && name.equalsIgnoreCase(HttpHeaders.ETAG) && !value.startsWith("W/")) {
+                    value = "W/" + value;
+                }
+                headers.add(new AbstractMap.SimpleImmutableEntry<>(name, value));
+            }
+        }
+        headers.add(new AbstractMap.SimpleImmutableEntry<>(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        if (compress) {
+            headers.add(new AbstractMap.SimpleImmutableEntry<>(HttpHeaders.CONTENT_ENCODING, "gzip"));
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(body);
+            }
+            body = compressed.toByteArray();
+        }
+        return new ResponseCache.CachedResponse(tag, List.copyOf(headers), body);
+    }
+
+    /**
+     * Writes a recorded response. Headers replace any the application already set on a miss, so they are not
+     * repeated; further values of the same header are added.
+     */
+    private static void write(ResponseCache.CachedResponse cached, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        Set<String> written = new HashSet<>();
+        for (Map.Entry<String, String> header : cached.headers()) {
+            if (header.getKey().equalsIgnoreCase(HttpHeaders.CONTENT_TYPE)) {
+                response.setContentType(header.getValue());
+            } else if (written.add(header.getKey().toLowerCase(Locale.ROOT))) {
+                response.setHeader(header.getKey(), header.getValue());
+            } else {
+                response.addHeader(header.getKey(), header.getValue());
+            }
+        }
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header lists gzip without a zero quality. A malformed quality counts as
+     * zero, so a bad header gets the uncompressed body rather than an error.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].strip().equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].strip();
+                    if (parameter.startsWith("q=") && !isPositive(parameter.substring(2))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPositive(String quality) {
+        try {
+            return Double.parseDouble(quality) > 0;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.employee_management.config;
+
+import com.example.employee_management.metrics.SqlProfiler;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Enables {@link io.micrometer.core.annotation.Timed} on service classes.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Wraps the {@code DataSource} in a datasource-proxy that reports every statement to the {@link SqlProfiler}.
+     * Static, as bean post-processors are created before the rest of the configuration.
+     */
+    @Bean
+    public static BeanPostProcessor sqlProfilingDataSourcePostProcessor(
+            ObjectProvider<SqlProfiler> sqlProfiler,
+            @Value("${employee.sql-profiling.enabled:false}") boolean enabled) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(sqlProfiler.getObject())
+                        .build();
+            }
+        };
+    }
+}
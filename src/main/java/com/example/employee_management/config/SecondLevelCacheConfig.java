@@ -0,0 +1,114 @@
+package com.example.employee_management.config;
+
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.entity.Employee;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache, kept in bounded local Caffeine caches behind JCache.
+ * <p>
+ * {@link Department} and {@link Employee} entities are cached by id, so repeated {@code findById} calls and
+ * lazy department loads skip the database. Queries marked cacheable store the ids they matched in the query
+ * region; Hibernate invalidates them whenever a table they read from is written, so the query cache pays off
+ * for read-mostly tables such as department. Every region is created here with its own size and TTL, and
+ * Hibernate is told to fail on any region not configured here rather than create an unbounded one.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final String DEPARTMENT_REGION = Department.class.getName();
+    static final String EMPLOYEE_REGION = Employee.class.getName();
+    static final String QUERY_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${employee.second-level-cache.department.max-size:10000}") long departmentMaxSize,
+            @Value("${employee.second-level-cache.department.ttl:1h}") Duration departmentTtl,
+            @Value("${employee.second-level-cache.employee.max-size:100000}") long employeeMaxSize,
+            @Value("${employee.second-level-cache.employee.ttl:10m}") Duration employeeTtl,
+            @Value("${employee.second-level-cache.query.max-size:10000}") long queryMaxSize,
+            @Value("${employee.second-level-cache.query.ttl:5m}") Duration queryTtl) {
+        // A URI of its own keeps application contexts started side by side (e.g. in tests) from sharing caches.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("employee-management-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(DEPARTMENT_REGION, region(departmentMaxSize, departmentTtl));
+        cacheManager.createCache(EMPLOYEE_REGION, region(employeeMaxSize, employeeTtl));
+        cacheManager.createCache(QUERY_REGION, region(queryMaxSize, queryTtl));
+        // Update timestamps decide whether cached query results are stale; evicting them would serve stale
+        // results, so this region holds one entry per table and is neither bounded nor expired.
+        cacheManager.createCache(TIMESTAMPS_REGION, new CaffeineConfiguration<>().setStoreByValue(false));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            CacheManager secondLevelCacheManager,
+            @Value("${employee.second-level-cache.enabled:true}") boolean enabled) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Publishes {@code hibernate.second.level.cache.hit.ratio} per region. Hit and miss counts per region are
+     * already exported by the Hibernate metrics as {@code hibernate.second.level.cache.requests}.
+     */
+    @Bean
+    public MeterBinder secondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : List.of(DEPARTMENT_REGION, EMPLOYEE_REGION, QUERY_REGION)) {
+                Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                        .tag("region", region)
+                        .description("Share of second-level cache lookups served from the region")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate caches immutable entries; copying them on every read and write would only cost time.
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        long hits = regionStatistics.getHitCount();
+        long lookups = hits + regionStatistics.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+}
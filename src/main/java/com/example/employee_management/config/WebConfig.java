@@ -1,14 +1,67 @@
 package com.example.employee_management.config;
 
+import com.example.employee_management.admission.AdmissionControlInterceptor;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@AllArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedMethods("HEAD", "GET", "PUT", "POST", "DELETE", "PATCH");
     }
+
+    /**
+     * Admission control in front of the employee endpoints of {@code EmployeeController}.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor)
+                .addPathPatterns("/api/employees", "/api/employees/**", "/api/departments/*/employees");
+    }
+
+    /**
+     * Streaming responses (exports and reactive listings) are written with blocking servlet writes, so a slow
+     * client holds the writing thread until it catches up. Writing on virtual threads keeps thousands of slow
+     * readers from exhausting a small platform pool and starving every other stream.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new VirtualThreadTaskExecutor("mvc-async-"));
+    }
+
+    /**
+     * Binary alternatives to JSON for clients that ask for them in {@code Accept}: Smile and CBOR encode the
+     * same object model with binary numbers and length-prefixed strings, and Smile writes each repeated property
+     * name as a one-byte back reference. They replace the default converters so the Jackson settings of the
+     * application apply, and stay behind the JSON converter, which therefore remains the default.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
 }
@@ -0,0 +1,39 @@
+package com.example.employee_management.controller;
+
+import com.example.employee_management.dto.DepartmentStats;
+import com.example.employee_management.service.DepartmentService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller class for department-level HTTP requests.
+ */
+@RestController
+@RequestMapping("/api")
+@AllArgsConstructor
+public class DepartmentController {
+
+    private final DepartmentService departmentService;
+
+    /**
+     * Retrieves headcount and salary statistics per department, aggregated in the database.
+     *
+     * @param departments the departments to report on, all of them if omitted.
+     * @param percentiles the salary percentiles to add to each department, e.g. {@code 0.5,0.9,0.99}.
+     * @return a ResponseEntity containing the statistics of each department ordered by name and the HTTP status.
+     */
+    @GetMapping("/departments/stats")
+    public ResponseEntity<List<DepartmentStats>> getDepartmentStats(
+            @RequestParam(required = false) List<String> departments,
+            @RequestParam(required = false) List<Double> percentiles) {
+        List<DepartmentStats> stats = departmentService.getDepartmentStats(departments, percentiles);
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+}
@@ -1,20 +1,46 @@
 package com.example.employee_management.controller;
 
+import com.example.employee_management.cache.DataVersions;
+import com.example.employee_management.config.WebConfig;
+import com.example.employee_management.dto.BatchImportResult;
 import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.dto.EmployeePage;
+import com.example.employee_management.dto.IngestionStatus;
+import com.example.employee_management.service.EmployeeExportService;
+import com.example.employee_management.service.EmployeeImportService;
+import com.example.employee_management.service.EmployeeIngestionService;
 import com.example.employee_management.service.EmployeeService;
+import com.example.employee_management.service.ExportFormat;
+import com.example.employee_management.service.KeysetPagination;
+import com.example.employee_management.service.SalarySort;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
 /**
  * Controller class for managing employee-related HTTP requests.
+ * <p>
+ * Reads carry a strong ETag derived from {@link DataVersions}. A request whose {@code If-None-Match} still
+ * matches is answered with {@code 304 Not Modified} before any query runs or any body is serialized.
+ * <p>
+ * Responses are JSON unless {@code Accept} asks for Smile ({@code application/x-jackson-smile}) or CBOR
+ * ({@code application/cbor}), which are smaller on the wire.
  */
 @RestController
 @RequestMapping("/api")
@@ -23,62 +49,287 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeIngestionService employeeIngestionService;
+    private final DataVersions dataVersions;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+    static final String PREFER_HEADER = "Prefer";
+    static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    static final String RESPOND_ASYNC = "respond-async";
+    /** The formats the read endpoints can answer in, in the order their converters are tried. */
+    static final List<MediaType> RESPONSE_FORMATS = List.of(MediaType.APPLICATION_JSON,
+            WebConfig.APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
 
     /**
-     * Retrieves all employees.
+     * Retrieves one keyset page of employees ordered by id.
      *
-     * @return a ResponseEntity containing a list of all employees and the HTTP status.
+     * @param cursor  the cursor of the page to fetch, taken from the previous page's {@value #NEXT_CURSOR_HEADER} header.
+     * @param limit   the page size, capped at {@link KeysetPagination#MAX_PAGE_SIZE}.
+     * @param request the current request, checked against the global data version.
+     * @return a ResponseEntity containing a page of employees and the HTTP status, or 304 if unchanged.
      */
     @GetMapping("/employees")
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        List<EmployeeDTO> employees = employeeService.getAllEmployees();
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (checkNotModified(request, dataVersions.globalTag())) {
+            return null;
+        }
+        EmployeePage page = employeeService.getAllEmployees(cursor, limit);
+        return pageResponse(page);
+    }
+
+    /**
+     * Streams every employee as NDJSON or CSV. Rows are written to the response as they are read from the
+     * database, so the export never holds the full employee list in memory.
+     *
+     * @param format the export format, {@code ndjson} (default) or {@code csv}.
+     * @return a ResponseEntity whose body streams the employees.
+     */
+    @GetMapping("/employees/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        StreamingResponseBody body = outputStream -> employeeExportService.exportEmployees(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(body);
     }
 
     /**
-     * Saves employee details.
+     * Saves employee details. A request carrying an {@value #IDEMPOTENCY_KEY_HEADER} header is saved at most
+     * once; a retry with the same key gets the original response, marked with {@value #IDEMPOTENT_REPLAY_HEADER}.
+     * <p>
+     * When asynchronous ingestion is enabled, a request without an idempotency key that sends
+     * {@code Prefer: respond-async} is queued instead and answered with {@code 202 Accepted}, the tracking id
+     * of the employee and a {@code Location} to poll for its outcome.
      *
-     * @param employeeDTO the details of the employee to be saved.
+     * @param employeeDTO    the details of the employee to be saved.
+     * @param idempotencyKey the client-chosen key identifying this request across retries, optional.
+     * @param prefer         the {@code Prefer} header of the request, optional.
      * @return a ResponseEntity indicating the status of the operation.
      */
     @PostMapping("/employees")
-    public ResponseEntity<String> saveEmployee(@Valid @RequestBody  EmployeeDTO employeeDTO) {
-        employeeService.saveEmployee(employeeDTO);
-        return new ResponseEntity<>("Employee details have been saved successfully.", HttpStatus.CREATED);
+    public ResponseEntity<?> saveEmployee(@Valid @RequestBody  EmployeeDTO employeeDTO,
+                                          @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false)
+                                          String idempotencyKey,
+                                          @RequestHeader(name = PREFER_HEADER, required = false) String prefer) {
+        if (idempotencyKey == null && employeeIngestionService.isEnabled() && prefersAsync(prefer)) {
+            IngestionStatus status = employeeIngestionService.submit(employeeDTO);
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/api/employees/ingestions/{id}")
+                            .buildAndExpand(status.getId())
+                            .toUri())
+                    .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                    .body(status);
+        }
+        boolean saved = employeeService.saveEmployee(employeeDTO, idempotencyKey);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (!saved) {
+            response.header(IDEMPOTENT_REPLAY_HEADER, "true");
+        }
+        return response.body("Employee details have been saved successfully.");
+    }
+
+    /**
+     * Retrieves the outcome of an employee accepted for asynchronous ingestion.
+     *
+     * @param id the tracking id returned when the employee was accepted.
+     * @return a ResponseEntity containing the ingestion status.
+     */
+    @GetMapping("/employees/ingestions/{id}")
+    public ResponseEntity<IngestionStatus> getIngestionStatus(@PathVariable String id) {
+        return new ResponseEntity<>(employeeIngestionService.getStatus(id), HttpStatus.OK);
+    }
+
+    /**
+     * Imports employees in bulk. Rows that are invalid or already exist are skipped and reported
+     * individually; the remaining rows are inserted in JDBC batches.
+     *
+     * @param employeeDTOs the employees to import.
+     * @return a ResponseEntity containing the per-row outcome of the import.
+     */
+    @PostMapping("/employees/batch")
+    public ResponseEntity<BatchImportResult> importEmployees(@RequestBody List<EmployeeDTO> employeeDTOs) {
+        BatchImportResult result = employeeImportService.importEmployees(employeeDTOs);
+        return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
     /**
      * Retrieves employees by department name.
      *
      * @param departmentName the name of the department.
-     * @return a ResponseEntity containing a list of employees in the specified department and the HTTP status.
+     * @param cursor         the cursor of the page to fetch.
+     * @param limit          the page size, capped at {@link KeysetPagination#MAX_PAGE_SIZE}.
+     * @param request        the current request, checked against the department's data version.
+     * @return a ResponseEntity containing a page of employees in the specified department and the HTTP status,
+     * or 304 if unchanged.
      */
     @GetMapping("/departments/{departmentName}/employees")
     public ResponseEntity<List<EmployeeDTO>> getEmployeesByDepartment(
-            @PathVariable @NotBlank(message = "Department name cannot be empty") String departmentName) {
-        List<EmployeeDTO> employees = employeeService.getEmployeesByDepartment(departmentName);
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+            @PathVariable @NotBlank(message = "Department name cannot be empty") String departmentName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (checkNotModified(request, dataVersions.departmentTag(departmentName))) {
+            return null;
+        }
+        EmployeePage page = employeeService.getEmployeesByDepartment(departmentName, cursor, limit);
+        return pageResponse(page);
     }
 
     /**
-     * Retrieves employees by salary criteria.
+     * Retrieves employees by salary criteria. With {@code min}, {@code max} or {@code sort} the salary is matched
+     * against the inclusive range [min, max]; otherwise the single {@code salary} threshold applies.
      *
      * @param salary        the salary criteria.
      * @param isGreaterThan flag indicating whether to retrieve employees with salary greater than the specified value.
-     * @return a ResponseEntity containing a list of employees based on the salary criteria and the HTTP status.
+     * @param min           the inclusive lower salary bound.
+     * @param max           the inclusive upper salary bound.
+     * @param sort          the order of the page, {@code id}, {@code salary_asc} or {@code salary_desc}.
+     * @param cursor        the cursor of the page to fetch.
+     * @param limit         the page size, capped at {@link KeysetPagination#MAX_PAGE_SIZE}.
+     * @param request       the current request, checked against the global data version.
+     * @return a ResponseEntity containing a page of employees based on the salary criteria and the HTTP status,
+     * or 304 if unchanged.
      */
     @GetMapping("/employees/salary")
     public ResponseEntity<List<EmployeeDTO>> getEmployeesBySalary(
             @RequestParam(defaultValue = "0") double salary,
-            @RequestParam(defaultValue = "true") boolean isGreaterThan){
-            List<EmployeeDTO> employees = employeeService.getEmployeesBySalary(salary, isGreaterThan);
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+            @RequestParam(defaultValue = "true") boolean isGreaterThan,
+            @RequestParam(required = false) Double min,
+            @RequestParam(required = false) Double max,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request){
+        if (checkNotModified(request, dataVersions.globalTag())) {
+            return null;
+        }
+        EmployeePage page;
+        if (min != null || max != null || sort != null) {
+            SalarySort salarySort = sort == null ? SalarySort.ID : SalarySort.fromName(sort);
+            page = employeeService.getEmployeesBySalaryRange(min, max, salarySort, cursor, limit);
+        } else {
+            page = employeeService.getEmployeesBySalary(salary, isGreaterThan, cursor, limit);
+        }
+        return pageResponse(page);
     }
 
+    /**
+     * Counts the employees whose salary lies in the inclusive range [min, max].
+     *
+     * @param min the inclusive lower salary bound, unbounded if omitted.
+     * @param max the inclusive upper salary bound, unbounded if omitted.
+     * @return a ResponseEntity containing the number of matching employees and the HTTP status.
+     */
+    @GetMapping("/employees/salary/count")
+    public ResponseEntity<Long> countEmployeesBySalary(
+            @RequestParam(required = false) Double min,
+            @RequestParam(required = false) Double max) {
+        return new ResponseEntity<>(employeeService.countEmployeesBySalaryRange(min, max), HttpStatus.OK);
+    }
+
+    /**
+     * Searches employees by name, ignoring case, with prefix and substring matching.
+     *
+     * @param q          the text to search for.
+     * @param department the name of the department to search in, all departments if omitted.
+     * @param limit      the maximum number of results, 20 if omitted, capped at {@link KeysetPagination#MAX_PAGE_SIZE}.
+     * @param request    the current request, checked against the data version of the searched employees.
+     * @return a ResponseEntity containing the best matching employees, best match first, or 304 if unchanged.
+     */
+    @GetMapping("/employees/search")
+    public ResponseEntity<List<EmployeeDTO>> searchEmployees(
+            @RequestParam String q,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        String tag = department == null ? dataVersions.globalTag() : dataVersions.departmentTag(department);
+        if (checkNotModified(request, tag)) {
+            return null;
+        }
+        return new ResponseEntity<>(employeeService.searchEmployeesByName(q, department, limit), HttpStatus.OK);
+    }
 
     @GetMapping("/employees/{id}")
-    public ResponseEntity<EmployeeDTO> getEmployeesById(@PathVariable long id){
+    public ResponseEntity<EmployeeDTO> getEmployeesById(@PathVariable long id, WebRequest request){
+        if (checkNotModified(request, dataVersions.employeeTag())) {
+            return null;
+        }
         EmployeeDTO employee = employeeService.getEmployeeById(id);
         return new ResponseEntity<>(employee, HttpStatus.OK);
     }
+
+    /**
+     * Checks the request against the tag of the data it reads. Each response format is its own representation
+     * with its own strong ETag, so the tag is qualified by the format negotiated from {@code Accept}, and the
+     * response varies by {@code Accept} for shared caches.
+     */
+    private boolean checkNotModified(WebRequest request, String tag) {
+        NativeWebRequest nativeRequest = (NativeWebRequest) request;
+        HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return request.checkNotModified(tag + formatSuffix(nativeRequest));
+    }
+
+    /**
+     * Picks the format the message converters will write, as they do: the first acceptable type, by quality and
+     * specificity, that one of the {@link #RESPONSE_FORMATS} satisfies. JSON keeps the unqualified tag.
+     */
+    private String formatSuffix(NativeWebRequest request) {
+        try {
+            for (MediaType acceptable : contentNegotiationManager.resolveMediaTypes(request)) {
+                for (MediaType format : RESPONSE_FORMATS) {
+                    if (acceptable.isCompatibleWith(format)) {
+                        return format.equals(MediaType.APPLICATION_JSON) ? "" : "-" + format.getSubtype();
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            // An unparsable Accept header fails the request once its response is written.
+        }
+        return "";
+    }
+
+    /**
+     * Whether a {@code Prefer} header asks for {@value #RESPOND_ASYNC} among its comma-separated preferences.
+     */
+    private static boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            String token = preference.split("[;=]", 2)[0].strip();
+            if (token.equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the response for a keyset page. The body stays a plain JSON array; the cursor of the next
+     * page, if any, is returned in the {@value #NEXT_CURSOR_HEADER} header and as a {@code Link rel="next"}.
+     */
+    private ResponseEntity<List<EmployeeDTO>> pageResponse(EmployeePage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            String nextUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                    .header(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+        }
+        return response.body(page.getEmployees());
+    }
 }
@@ -0,0 +1,64 @@
+package com.example.employee_management.controller;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.service.ReactiveEmployeeService;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming variants of the employee listings. Responses are NDJSON written one row at a time; the request
+ * thread is released while the stream is open and the next row is only requested once the previous one has
+ * been written, so slow clients apply backpressure all the way to the database reads.
+ */
+@RestController
+@RequestMapping(value = "/api/reactive", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@AllArgsConstructor
+@Validated
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService reactiveEmployeeService;
+
+    /**
+     * Streams all employees ordered by id.
+     *
+     * @param limit the maximum number of employees to stream, all of them if omitted.
+     * @return the stream of employees.
+     */
+    @GetMapping("/employees")
+    public Flux<EmployeeDTO> streamAllEmployees(@RequestParam(required = false) Long limit) {
+        return reactiveEmployeeService.streamAllEmployees(limit);
+    }
+
+    /**
+     * Streams the employees of a department ordered by id.
+     *
+     * @param departmentName the name of the department.
+     * @param limit          the maximum number of employees to stream, all of them if omitted.
+     * @return the stream of employees in the department.
+     */
+    @GetMapping("/departments/{departmentName}/employees")
+    public Flux<EmployeeDTO> streamEmployeesByDepartment(
+            @PathVariable @NotBlank(message = "Department name cannot be empty") String departmentName,
+            @RequestParam(required = false) Long limit) {
+        return reactiveEmployeeService.streamEmployeesByDepartment(departmentName, limit);
+    }
+
+    /**
+     * Streams the employees whose salary lies in the inclusive range [min, max], ordered by salary.
+     *
+     * @param min   the inclusive lower salary bound, unbounded if omitted.
+     * @param max   the inclusive upper salary bound, unbounded if omitted.
+     * @param limit the maximum number of employees to stream, all of them if omitted.
+     * @return the stream of employees in the salary range.
+     */
+    @GetMapping("/employees/salary")
+    public Flux<EmployeeDTO> streamEmployeesBySalary(@RequestParam(required = false) Double min,
+                                                     @RequestParam(required = false) Double max,
+                                                     @RequestParam(required = false) Long limit) {
+        return reactiveEmployeeService.streamEmployeesBySalary(min, max, limit);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.employee_management.dataset;
+
+import com.example.employee_management.entity.IdSequences;
+import com.example.employee_management.metrics.SqlProfiler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills an empty database with a synthetic, reproducible dataset, so production-sized behaviour can be studied
+ * locally without creating employees one request at a time.
+ * <p>
+ * Department sizes follow a Zipf distribution: the department of rank {@code k} (named {@code "Department k"})
+ * receives employees in proportion to {@code 1 / k^skew}, so a skew of 0 spreads them evenly and with 1 the
+ * first department is about as large as the next three together. Salaries are log-normal around a median that
+ * itself varies by department, rounded to whole units. Employee {@code i} gets id {@code i}, and the same seed
+ * always produces the same rows.
+ * <p>
+ * Rows are inserted with JDBC batches in a single transaction on startup, before the web server accepts requests
+ * and before the in-memory indexes load, and only into an empty database: a snapshot restored on startup takes
+ * precedence. Enabled by setting {@code employee.dataset.employees} above zero.
+ */
+@Slf4j
+@Component
+public class DatasetGenerator implements SmartLifecycle {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final double MIN_SALARY = 1000;
+    /** Spread of the department medians around the configured median. */
+    private static final double DEPARTMENT_SPREAD = 0.25;
+    private static final List<String> FIRST_NAMES = List.of("Aarav", "Ananya", "Arjun", "Diya", "Ishaan", "Kavya",
+            "Rahul", "Priya", "Rohan", "Sachin", "Sneha", "Vikram", "Anil", "Meera", "Nikhil", "Pooja", "Emma",
+            "Liam", "Olivia", "Noah", "Sophia", "Lucas", "Mia", "Ethan");
+    private static final List<String> LAST_NAMES = List.of("Sharma", "Patel", "Iyer", "Reddy", "Nair", "Gupta",
+            "Mehta", "Rao", "Kapoor", "Singh", "Das", "Joshi", "Smith", "Johnson", "Brown", "Garcia", "Miller",
+            "Davis", "Wilson", "Taylor");
+
+    private final DataSource dataSource;
+    private final long employees;
+    private final int departments;
+    private final double departmentSkew;
+    private final double salaryMedian;
+    private final double salarySpread;
+    private final long seed;
+    private volatile boolean running;
+
+    public DatasetGenerator(DataSource dataSource,
+                            @Value("${employee.dataset.employees:0}") long employees,
+                            @Value("${employee.dataset.departments:100}") int departments,
+                            @Value("${employee.dataset.department-skew:1.0}") double departmentSkew,
+                            @Value("${employee.dataset.salary-median:60000}") double salaryMedian,
+                            @Value("${employee.dataset.salary-spread:0.5}") double salarySpread,
+                            @Value("${employee.dataset.seed:42}") long seed) {
+        this.dataSource = dataSource;
+        this.employees = employees;
+        this.departments = departments;
+        this.departmentSkew = departmentSkew;
+        this.salaryMedian = salaryMedian;
+        this.salarySpread = salarySpread;
+        this.seed = seed;
+    }
+
+    @Override
+    public void start() {
+        if (employees > 0) {
+            try {
+                generate();
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Could not generate the dataset", ex);
+            }
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts after every singleton is initialized, so after a snapshot restore, and before the web server.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Generates the configured dataset if the database is empty.
+     *
+     * @return whether a dataset was generated.
+     */
+    public boolean generate() throws SQLException {
+        if (departments < 1) {
+            throw new IllegalStateException("employee.dataset.departments must be at least 1");
+        }
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            if (!IdSequences.isEmpty(connection)) {
+                log.info("Database is not empty; not generating a dataset");
+                return false;
+            }
+            connection.setAutoCommit(false);
+            try (SqlProfiler.Profile ignored = SqlProfiler.startBulk("dataset generation")) {
+                insert(connection);
+                connection.commit();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+        log.info("Generated {} employees in {} departments (skew {}, seed {}) in {} ms", employees, departments,
+                departmentSkew, seed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return true;
+    }
+
+    private void insert(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] medians = new double[departments];
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into department (id, name) values (?, ?)")) {
+            for (int d = 1; d <= departments; d++) {
+                medians[d - 1] = salaryMedian * Math.exp(DEPARTMENT_SPREAD * random.nextGaussian());
+                insert.setLong(1, d);
+                insert.setString(2, departmentName(d));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        double[] cumulative = cumulativeWeights(departments, departmentSkew);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into employee (id, name, salary, department_id) values (?, ?, ?, ?)")) {
+            for (long id = 1; id <= employees; id++) {
+                int department = department(cumulative, random.nextDouble());
+                double salary = Math.max(MIN_SALARY,
+                        Math.rint(medians[department - 1] * Math.exp(salarySpread * random.nextGaussian())));
+                insert.setLong(1, id);
+                insert.setString(2, FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size())) + " "
+                        + LAST_NAMES.get(random.nextInt(LAST_NAMES.size())) + " " + id);
+                insert.setDouble(3, salary);
+                insert.setLong(4, department);
+                insert.addBatch();
+                if (id % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        IdSequences.restartAbove(connection, departments, employees);
+    }
+
+    /**
+     * Name of the department of the given rank, largest first.
+     */
+    public static String departmentName(int rank) {
+        return "Department " + rank;
+    }
+
+    /**
+     * Normalized running totals of the Zipf weights {@code 1 / k^skew} for ranks 1 to {@code departments}.
+     */
+    public static double[] cumulativeWeights(int departments, double skew) {
+        double[] cumulative = new double[departments];
+        double total = 0;
+        for (int k = 1; k <= departments; k++) {
+            total += 1 / Math.pow(k, skew);
+            cumulative[k - 1] = total;
+        }
+        for (int k = 0; k < departments; k++) {
+            cumulative[k] /= total;
+        }
+        return cumulative;
+    }
+
+    /**
+     * The rank whose share of the cumulative weights contains {@code uniform}, a number in [0, 1).
+     */
+    public static int department(double[] cumulative, double uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        return Math.min(cumulative.length, (index >= 0 ? index + 1 : -index - 1) + 1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.employee_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch employee import, with one entry per submitted row in submission order.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchImportResult {
+    private int created;
+    private int conflicts;
+    private int invalid;
+    private List<BatchImportRowResult> results;
+}
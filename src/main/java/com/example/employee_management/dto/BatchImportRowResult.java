@@ -0,0 +1,21 @@
+package com.example.employee_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchImportRowResult {
+
+    public enum Status {
+        CREATED, CONFLICT, INVALID
+    }
+
+    private int index;
+    private Status status;
+    private String message;
+}
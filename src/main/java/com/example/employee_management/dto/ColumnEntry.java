@@ -0,0 +1,7 @@
+package com.example.employee_management.dto;
+
+/**
+ * An employee id with its salary and department id, as loaded into the in-memory employee columns.
+ */
+public record ColumnEntry(long id, double salary, long departmentId) {
+}
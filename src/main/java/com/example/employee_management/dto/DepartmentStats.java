@@ -0,0 +1,38 @@
+package com.example.employee_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * Headcount and salary aggregates of one department. The salary aggregates other than the total are
+ * {@code null} for a department without employees.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentStats {
+    private String department;
+    private long count;
+    private double totalSalary;
+    private Double averageSalary;
+    private Double minSalary;
+    private Double maxSalary;
+
+    /**
+     * Requested salary percentiles keyed by the percentile as given, e.g. {@code "0.95"}; only present when
+     * percentiles were requested.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Double> percentiles;
+
+    public DepartmentStats(String department, Long count, Double totalSalary, Double averageSalary,
+                           Double minSalary, Double maxSalary) {
+        this(department, count, totalSalary, averageSalary, minSalary, maxSalary, null);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.employee_management.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -12,6 +13,12 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 public class EmployeeDTO {
+    /**
+     * Assigned by the database; returned on reads and ignored on writes.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long id;
+
     @NotBlank(message = "Name cannot be empty")
     private String name;
 
@@ -19,4 +26,8 @@ public class EmployeeDTO {
     private String department;
 
     private double salary;
+
+    public EmployeeDTO(String name, String department, double salary) {
+        this(null, name, department, salary);
+    }
 }
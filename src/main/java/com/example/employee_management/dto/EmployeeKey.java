@@ -0,0 +1,7 @@
+package com.example.employee_management.dto;
+
+/**
+ * The (department, name) pair that identifies an employee; no two employees may share one.
+ */
+public record EmployeeKey(Long departmentId, String name) {
+}
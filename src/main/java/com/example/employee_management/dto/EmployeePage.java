@@ -0,0 +1,20 @@
+package com.example.employee_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One keyset page of employees together with the opaque cursor of the next page.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeePage {
+    private List<EmployeeDTO> employees;
+
+    /**
+     * Cursor to pass back to fetch the following page, or {@code null} when this is the last page.
+     */
+    private String nextCursor;
+}
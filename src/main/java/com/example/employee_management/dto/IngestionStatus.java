@@ -0,0 +1,24 @@
+package com.example.employee_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of an employee accepted for asynchronous ingestion, looked up by its tracking id.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IngestionStatus {
+
+    public enum Status {
+        QUEUED, CREATED, CONFLICT, INVALID, FAILED
+    }
+
+    private String id;
+    private Status status;
+    private String message;
+}
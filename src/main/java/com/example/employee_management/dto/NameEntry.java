@@ -0,0 +1,7 @@
+package com.example.employee_management.dto;
+
+/**
+ * An employee id with its name and department id, as loaded into the in-memory name index.
+ */
+public record NameEntry(long id, String name, long departmentId) {
+}
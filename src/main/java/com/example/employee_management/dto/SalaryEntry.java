@@ -0,0 +1,7 @@
+package com.example.employee_management.dto;
+
+/**
+ * An employee id with its salary, as loaded into the in-memory salary index.
+ */
+public record SalaryEntry(long id, double salary) {
+}
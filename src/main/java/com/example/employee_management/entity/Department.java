@@ -3,21 +3,28 @@ package com.example.employee_management.entity;
 import jakarta.annotation.Nonnull;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Department {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.DEPARTMENT)
+    @SequenceGenerator(name = IdSequences.DEPARTMENT, sequenceName = IdSequences.DEPARTMENT,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Nonnull
     private Long id;
     @Nonnull
+    @Column(unique = true)
     private String name;
 
     @OneToMany(mappedBy = "department")
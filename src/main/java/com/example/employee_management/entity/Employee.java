@@ -3,18 +3,35 @@ package com.example.employee_management.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+/**
+ * An employee's name is unique within its department. The constraint's index also serves the duplicate checks
+ * on (name, department).
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_employee_name_department",
+        columnNames = {"name", "department_id"}),
+        indexes = @Index(name = "idx_employee_salary", columnList = "salary, id"))
 @Getter
 @Setter
 public class Employee {
+    /**
+     * Sequence-based ids let Hibernate batch inserts (IDENTITY forces one round trip per row); the pooled
+     * allocation reserves {@link IdSequences#ALLOCATION_SIZE} ids per sequence call.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.EMPLOYEE)
+    @SequenceGenerator(name = IdSequences.EMPLOYEE, sequenceName = IdSequences.EMPLOYEE,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
     private String name;
     private double salary;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     private Department department;
 
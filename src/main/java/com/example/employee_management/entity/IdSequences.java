@@ -0,0 +1,48 @@
+package com.example.employee_management.entity;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The id sequences of {@link Department} and {@link Employee}, shared by their mappings and by the code that
+ * loads rows with plain JDBC and assigns their ids itself.
+ */
+public final class IdSequences {
+
+    /** Ids Hibernate's pooled optimizer reserves per sequence call. */
+    public static final int ALLOCATION_SIZE = 50;
+    public static final String DEPARTMENT = "department_seq";
+    public static final String EMPLOYEE = "employee_seq";
+
+    private IdSequences() {
+    }
+
+    /**
+     * Whether the department and employee tables hold no rows, so no id has been handed out yet.
+     */
+    public static boolean isEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select (select count(*) from department)"
+                     + " + (select count(*) from employee)")) {
+            return rows.next() && rows.getLong(1) == 0;
+        }
+    }
+
+    /**
+     * Restarts both sequences so that the ids Hibernate hands out next are above the given ones. Runs in the
+     * connection's current transaction.
+     *
+     * @param maxDepartmentId the highest department id in use, or 0 if none.
+     * @param maxEmployeeId   the highest employee id in use, or 0 if none.
+     */
+    public static void restartAbove(Connection connection, long maxDepartmentId, long maxEmployeeId)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // The pooled optimizer hands out the ALLOCATION_SIZE ids ending at the value it reads.
+            statement.execute("alter sequence " + DEPARTMENT + " restart with " + (maxDepartmentId + ALLOCATION_SIZE));
+            statement.execute("alter sequence " + EMPLOYEE + " restart with " + (maxEmployeeId + ALLOCATION_SIZE));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.employee_management.event;
+
+/**
+ * Published when an existing department is renamed or deleted, which changes how its employees read.
+ * Listeners use {@code @TransactionalEventListener} to react only once the change has committed.
+ *
+ * @param id   the id of the changed department.
+ * @param name the name of the department as passed to the change.
+ */
+public record DepartmentChangedEvent(Long id, String name) {
+}
@@ -0,0 +1,37 @@
+package com.example.employee_management.event;
+
+import com.example.employee_management.entity.Employee;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published inside the transaction that inserts employees. In-memory read structures listen for it with
+ * {@code @TransactionalEventListener}, so they only see rows once the insert has committed.
+ *
+ * @param employees immutable snapshots of the inserted employees.
+ */
+public record EmployeesCreatedEvent(List<CreatedEmployee> employees) {
+
+    /**
+     * Snapshot of one inserted employee, safe to read after its persistence context is gone.
+     */
+    public record CreatedEmployee(long id, String name, double salary, long departmentId, String departmentName) {
+    }
+
+    /**
+     * Captures snapshots of persisted employees; ids must already be assigned.
+     *
+     * @param employees the inserted employees.
+     * @return the event describing them.
+     */
+    public static EmployeesCreatedEvent of(Collection<Employee> employees) {
+        List<CreatedEmployee> created = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            created.add(new CreatedEmployee(employee.getId(), employee.getName(), employee.getSalary(),
+                    employee.getDepartment().getId(), employee.getDepartment().getName()));
+        }
+        return new EmployeesCreatedEvent(List.copyOf(created));
+    }
+}
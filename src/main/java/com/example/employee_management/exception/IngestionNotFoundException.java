@@ -0,0 +1,7 @@
+package com.example.employee_management.exception;
+
+public class IngestionNotFoundException extends RuntimeException {
+    public IngestionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.employee_management.exception;
+
+public class InvalidPercentileException extends RuntimeException {
+    public InvalidPercentileException(String message) {
+        super(message);
+    }
+}
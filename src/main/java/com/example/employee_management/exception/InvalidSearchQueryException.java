@@ -0,0 +1,7 @@
+package com.example.employee_management.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
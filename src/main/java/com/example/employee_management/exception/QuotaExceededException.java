@@ -0,0 +1,15 @@
+package com.example.employee_management.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class QuotaExceededException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public QuotaExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.employee_management.exception;
+
+public class UnsupportedSortException extends RuntimeException {
+    public UnsupportedSortException(String message) {
+        super(message);
+    }
+}
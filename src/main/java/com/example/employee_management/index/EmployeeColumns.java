@@ -0,0 +1,461 @@
+package com.example.employee_management.index;
+
+import com.example.employee_management.dto.ColumnEntry;
+import com.example.employee_management.dto.DepartmentStats;
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.event.DepartmentChangedEvent;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.repository.DepartmentRepository;
+import com.example.employee_management.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Columnar, in-memory read model of the employee table for department analytics.
+ * <p>
+ * Employees are stored as parallel primitive arrays in id order: {@code long} ids, {@code double} salaries and
+ * {@code int} department codes into a dictionary of department names, about 20 bytes per employee. Aggregates
+ * are plain loops over these arrays that allocate nothing per row, split across the common fork/join pool once
+ * the table is large enough to benefit. Row filters are left to the database, whose indexes serve a page
+ * faster than a scan of the columns.
+ * <p>
+ * New ids are normally above every id present and are appended. Ids committed out of order go to small
+ * id-ordered delta columns instead, merged into the main ones once they grow past {@value #MAX_DELTA} rows, so
+ * an insert never copies the whole table; the id order only serves to skip employees already present.
+ * <p>
+ * The columns are an {@link EmployeeReadModel}, kept in sync from {@link EmployeesCreatedEvent}s and also from
+ * {@link DepartmentChangedEvent}s after their transaction commits. Until loading finishes {@link #isReady()} is
+ * {@code false} and callers fall back to the database.
+ */
+@Component
+public class EmployeeColumns
+        extends EmployeeReadModel<EmployeeColumns.Snapshot, EmployeesCreatedEvent.CreatedEmployee> {
+
+    /** Rows below which an aggregate is computed on the calling thread. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    static final int MAX_DELTA = 4096;
+    private static final int NO_DEPARTMENT = -1;
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+
+    private long[] ids = new long[0];
+    private double[] salaries = new double[0];
+    private int[] departmentCodes = new int[0];
+    private int size;
+    private long[] deltaIds = new long[0];
+    private double[] deltaSalaries = new double[0];
+    private int[] deltaCodes = new int[0];
+    /** Department names by code; {@code null} once a department is deleted. */
+    private String[] departmentNames = new String[0];
+    private int departmentCount;
+    private final Map<Long, Integer> codesByDepartmentId = new HashMap<>();
+
+    public EmployeeColumns(EmployeeRepository employeeRepository,
+                           DepartmentRepository departmentRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${employee.columns.enabled:false}") boolean enabled) {
+        super(transactionManager, enabled);
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+    }
+
+    @Override
+    protected Snapshot read() {
+        List<ColumnEntry> entries;
+        try (Stream<ColumnEntry> stream = employeeRepository.streamColumnEntries()) {
+            entries = stream.toList();
+        }
+        // Read after the employees, so every department they reference is known.
+        return new Snapshot(entries, departmentRepository.findAll());
+    }
+
+    @Override
+    protected void install(Snapshot snapshot, List<EmployeesCreatedEvent.CreatedEmployee> pending) {
+        List<ColumnEntry> entries = snapshot.entries();
+        departmentNames = new String[Math.max(16, snapshot.departments().size())];
+        departmentCount = 0;
+        codesByDepartmentId.clear();
+        for (Department department : snapshot.departments()) {
+            codeOf(department.getId(), department.getName());
+        }
+        ids = new long[entries.size()];
+        salaries = new double[entries.size()];
+        departmentCodes = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            ColumnEntry entry = entries.get(i);
+            ids[i] = entry.id();
+            salaries[i] = entry.salary();
+            Integer code = codesByDepartmentId.get(entry.departmentId());
+            departmentCodes[i] = code == null ? NO_DEPARTMENT : code;
+        }
+        size = entries.size();
+        clearDelta();
+        apply(pending);
+    }
+
+    @Override
+    protected List<EmployeesCreatedEvent.CreatedEmployee> entriesOf(EmployeesCreatedEvent event) {
+        return event.employees();
+    }
+
+    /**
+     * Follows a committed rename or deletion of a department in the dictionary.
+     *
+     * @param event the department that was renamed or deleted.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(LISTENER_ORDER)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        if (!isEnabled() || event.id() == null) {
+            return;
+        }
+        // The event does not say whether the department was renamed or deleted; the committed row does.
+        String name = departmentRepository.findById(event.id()).map(Department::getName).orElse(null);
+        lock.writeLock().lock();
+        try {
+            Integer code = codesByDepartmentId.get(event.id());
+            if (code != null) {
+                departmentNames[code] = name;
+            } else if (name != null) {
+                codeOf(event.id(), name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Computes headcount and salary aggregates per department, including departments without employees.
+     *
+     * @param names the departments to report on, or {@code null}/empty for all of them.
+     * @return the statistics of each matching department, ordered by name.
+     */
+    public List<DepartmentStats> stats(Collection<String> names) {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> codes = selectCodes(names);
+            Totals totals = ForkJoinPool.commonPool().invoke(
+                    new TotalsTask(salaries, departmentCodes, departmentCount, 0, size));
+            totals.merge(new TotalsTask(deltaSalaries, deltaCodes, departmentCount, 0, deltaIds.length).compute());
+            List<DepartmentStats> stats = new ArrayList<>(codes.size());
+            for (Map.Entry<String, Integer> department : codes.entrySet()) {
+                int code = department.getValue();
+                long count = totals.counts[code];
+                stats.add(new DepartmentStats(department.getKey(), count, totals.sums[code],
+                        count == 0 ? null : totals.sums[code] / count,
+                        count == 0 ? null : totals.mins[code],
+                        count == 0 ? null : totals.maxs[code]));
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Computes continuous salary percentiles per department, interpolating between the two nearest salaries
+     * like SQL {@code percentile_cont}.
+     *
+     * @param names       the departments to report on, or {@code null} for all of them.
+     * @param percentiles the percentiles to compute, each within [0, 1].
+     * @return the values in the order of {@code percentiles}, keyed by the name of each department with
+     *         employees.
+     */
+    public Map<String, List<Double>> salaryPercentiles(Collection<String> names, List<Double> percentiles) {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> codes = selectCodes(names);
+            int[] counts = new int[departmentCount];
+            countByCode(departmentCodes, size, counts);
+            countByCode(deltaCodes, deltaCodes.length, counts);
+            double[][] values = new double[departmentCount][];
+            for (int code : codes.values()) {
+                if (counts[code] > 0) {
+                    values[code] = new double[counts[code]];
+                }
+            }
+            int[] filled = new int[departmentCount];
+            collectByCode(salaries, departmentCodes, size, values, filled);
+            collectByCode(deltaSalaries, deltaCodes, deltaCodes.length, values, filled);
+            Map<String, List<Double>> result = new HashMap<>();
+            for (Map.Entry<String, Integer> department : codes.entrySet()) {
+                double[] sorted = values[department.getValue()];
+                if (sorted == null) {
+                    continue;
+                }
+                Arrays.sort(sorted);
+                List<Double> departmentValues = new ArrayList<>(percentiles.size());
+                for (double percentile : percentiles) {
+                    double position = percentile * (sorted.length - 1);
+                    int lower = (int) Math.floor(position);
+                    int upper = (int) Math.ceil(position);
+                    departmentValues.add(sorted[lower] + (position - lower) * (sorted[upper] - sorted[lower]));
+                }
+                result.put(department.getKey(), departmentValues);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of employees in the columns.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size + deltaIds.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void countByCode(int[] codes, int rows, int[] counts) {
+        for (int i = 0; i < rows; i++) {
+            if (codes[i] != NO_DEPARTMENT) {
+                counts[codes[i]]++;
+            }
+        }
+    }
+
+    private static void collectByCode(double[] salaries, int[] codes, int rows, double[][] values, int[] filled) {
+        for (int i = 0; i < rows; i++) {
+            int code = codes[i];
+            if (code != NO_DEPARTMENT && values[code] != null) {
+                values[code][filled[code]++] = salaries[i];
+            }
+        }
+    }
+
+    /**
+     * Resolves the requested department names to codes, ordered by name. Caller holds a lock.
+     */
+    private Map<String, Integer> selectCodes(Collection<String> names) {
+        Map<String, Integer> codes = new TreeMap<>();
+        for (int code = 0; code < departmentCount; code++) {
+            String name = departmentNames[code];
+            if (name != null && (names == null || names.isEmpty() || names.contains(name))) {
+                codes.put(name, code);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Returns the dictionary code of a department, registering it if new. Caller holds the write lock.
+     */
+    private int codeOf(long departmentId, String name) {
+        Integer code = codesByDepartmentId.get(departmentId);
+        if (code != null) {
+            return code;
+        }
+        if (departmentCount == departmentNames.length) {
+            departmentNames = Arrays.copyOf(departmentNames, Math.max(16, departmentCount * 2));
+        }
+        departmentNames[departmentCount] = name;
+        codesByDepartmentId.put(departmentId, departmentCount);
+        return departmentCount++;
+    }
+
+    /**
+     * Adds employees not present yet: ids above every one present are appended to the main columns, others are
+     * merged into the delta columns, which are folded into the main ones once full.
+     */
+    @Override
+    protected void apply(List<EmployeesCreatedEvent.CreatedEmployee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        EmployeesCreatedEvent.CreatedEmployee[] incoming =
+                employees.toArray(new EmployeesCreatedEvent.CreatedEmployee[0]);
+        Arrays.sort(incoming, Comparator.comparingLong(EmployeesCreatedEvent.CreatedEmployee::id));
+        List<EmployeesCreatedEvent.CreatedEmployee> late = new ArrayList<>();
+        for (int i = 0; i < incoming.length; i++) {
+            EmployeesCreatedEvent.CreatedEmployee employee = incoming[i];
+            if (i > 0 && incoming[i - 1].id() == employee.id()) {
+                continue;
+            }
+            if (size == 0 || employee.id() > ids[size - 1]) {
+                append(employee);
+            } else if (Arrays.binarySearch(ids, 0, size, employee.id()) < 0
+                    && Arrays.binarySearch(deltaIds, employee.id()) < 0) {
+                late.add(employee);
+            }
+        }
+        if (!late.isEmpty()) {
+            mergeIntoDelta(late);
+        }
+        if (deltaIds.length > MAX_DELTA) {
+            foldDelta();
+        }
+    }
+
+    private void append(EmployeesCreatedEvent.CreatedEmployee employee) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            salaries = Arrays.copyOf(salaries, capacity);
+            departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+        }
+        ids[size] = employee.id();
+        salaries[size] = employee.salary();
+        departmentCodes[size++] = codeOf(employee.departmentId(), employee.departmentName());
+    }
+
+    /**
+     * Merges employees sorted by id and absent from both columns into the delta columns.
+     */
+    private void mergeIntoDelta(List<EmployeesCreatedEvent.CreatedEmployee> late) {
+        int length = deltaIds.length + late.size();
+        long[] mergedIds = new long[length];
+        double[] mergedSalaries = new double[length];
+        int[] mergedCodes = new int[length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < length; k++) {
+            if (j == late.size() || (i < deltaIds.length && deltaIds[i] < late.get(j).id())) {
+                mergedIds[k] = deltaIds[i];
+                mergedSalaries[k] = deltaSalaries[i];
+                mergedCodes[k] = deltaCodes[i++];
+            } else {
+                EmployeesCreatedEvent.CreatedEmployee employee = late.get(j++);
+                mergedIds[k] = employee.id();
+                mergedSalaries[k] = employee.salary();
+                mergedCodes[k] = codeOf(employee.departmentId(), employee.departmentName());
+            }
+        }
+        deltaIds = mergedIds;
+        deltaSalaries = mergedSalaries;
+        deltaCodes = mergedCodes;
+    }
+
+    /**
+     * Merges the delta columns into the main ones in one pass. Every delta id is below the last main id.
+     */
+    private void foldDelta() {
+        int length = size + deltaIds.length;
+        int capacity = Math.max(16, length + (length >> 1));
+        long[] mergedIds = new long[capacity];
+        double[] mergedSalaries = new double[capacity];
+        int[] mergedCodes = new int[capacity];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < length; k++) {
+            if (j == deltaIds.length || (i < size && ids[i] < deltaIds[j])) {
+                mergedIds[k] = ids[i];
+                mergedSalaries[k] = salaries[i];
+                mergedCodes[k] = departmentCodes[i++];
+            } else {
+                mergedIds[k] = deltaIds[j];
+                mergedSalaries[k] = deltaSalaries[j];
+                mergedCodes[k] = deltaCodes[j++];
+            }
+        }
+        ids = mergedIds;
+        salaries = mergedSalaries;
+        departmentCodes = mergedCodes;
+        size = length;
+        clearDelta();
+    }
+
+    private void clearDelta() {
+        deltaIds = new long[0];
+        deltaSalaries = new double[0];
+        deltaCodes = new int[0];
+    }
+
+    /**
+     * Count, sum, minimum and maximum salary per department code.
+     */
+    private static final class Totals {
+        private final long[] counts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+
+        Totals(int departments) {
+            counts = new long[departments];
+            sums = new double[departments];
+            mins = new double[departments];
+            maxs = new double[departments];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        }
+
+        void merge(Totals other) {
+            for (int code = 0; code < counts.length; code++) {
+                counts[code] += other.counts[code];
+                sums[code] += other.sums[code];
+                mins[code] = Math.min(mins[code], other.mins[code]);
+                maxs[code] = Math.max(maxs[code], other.maxs[code]);
+            }
+        }
+    }
+
+    /**
+     * Aggregates a range of rows, splitting it in halves while it is larger than {@link #PARALLEL_THRESHOLD}.
+     * The arrays are passed in because the task runs on pool threads while the caller holds the read lock.
+     */
+    private static final class TotalsTask extends RecursiveTask<Totals> {
+        private final double[] salaries;
+        private final int[] departmentCodes;
+        private final int departments;
+        private final int from;
+        private final int to;
+
+        TotalsTask(double[] salaries, int[] departmentCodes, int departments, int from, int to) {
+            this.salaries = salaries;
+            this.departmentCodes = departmentCodes;
+            this.departments = departments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                TotalsTask left = new TotalsTask(salaries, departmentCodes, departments, from, middle);
+                left.fork();
+                Totals totals = new TotalsTask(salaries, departmentCodes, departments, middle, to).compute();
+                totals.merge(left.join());
+                return totals;
+            }
+            Totals totals = new Totals(departments);
+            for (int i = from; i < to; i++) {
+                int code = departmentCodes[i];
+                if (code != NO_DEPARTMENT) {
+                    double salary = salaries[i];
+                    totals.counts[code]++;
+                    totals.sums[code] += salary;
+                    totals.mins[code] = Math.min(totals.mins[code], salary);
+                    totals.maxs[code] = Math.max(totals.maxs[code], salary);
+                }
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * The employees and departments read when loading.
+     */
+    record Snapshot(List<ColumnEntry> entries, List<Department> departments) {
+    }
+}
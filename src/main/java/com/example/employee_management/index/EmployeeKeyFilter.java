@@ -0,0 +1,257 @@
+package com.example.employee_management.index;
+
+import com.example.employee_management.dto.EmployeeKey;
+import com.example.employee_management.dto.NameEntry;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter over the (department, name) key of every employee, so that saving or importing an
+ * employee who certainly does not exist yet skips the duplicate lookup.
+ * <p>
+ * Each key sets {@code k} bits of a bit array, chosen by double hashing one 64-bit hash of the key. A key with
+ * any of its bits clear was never added; a key with all of them set probably was, and callers confirm it in the
+ * database. The unique constraint on (name, department) still rejects a duplicate that a concurrent writer
+ * commits between the check and the insert. Employees are never deleted or renamed, so keys never need to be
+ * removed.
+ * <p>
+ * The array is sized for {@code expected-employees} keys, or twice the employees present at startup if more,
+ * at the configured false-positive rate: about 9.6 bits per key at 1%, so 12 MB for ten million employees. Past
+ * that many keys the false-positive rate rises; a restart sizes the filter to the data again. The filter is an
+ * {@link EmployeeReadModel}, kept in sync from {@link EmployeesCreatedEvent}s; until it is ready, every key may be
+ * present.
+ * <p>
+ * Published as {@code employee.duplicate.filter.checks}, tagged {@code absent} for lookups skipped,
+ * {@code false_positive} for lookups that found nothing and {@code duplicate} for lookups that found the
+ * employee, and the {@code employee.duplicate.filter.false.positive.rate} gauge estimated from the bits set.
+ */
+@Component
+public class EmployeeKeyFilter extends EmployeeReadModel<EmployeeKeyFilter.Bits, EmployeeKey> {
+
+    private static final double LN2 = Math.log(2);
+
+    private final EmployeeRepository employeeRepository;
+    private final long expectedEmployees;
+    private final double falsePositiveRate;
+    private final Counter absent;
+    private final Counter falsePositives;
+    private final Counter duplicates;
+
+    private Bits bits = new Bits(64, 1);
+
+    public EmployeeKeyFilter(EmployeeRepository employeeRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${employee.duplicate-filter.enabled:false}") boolean enabled,
+                             @Value("${employee.duplicate-filter.expected-employees:1000000}")
+                             long expectedEmployees,
+                             @Value("${employee.duplicate-filter.false-positive-rate:0.01}")
+                             double falsePositiveRate) {
+        super(transactionManager, enabled);
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected 0 < false-positive-rate < 1");
+        }
+        this.employeeRepository = employeeRepository;
+        this.expectedEmployees = expectedEmployees;
+        this.falsePositiveRate = falsePositiveRate;
+        this.absent = checks(meterRegistry, "absent");
+        this.falsePositives = checks(meterRegistry, "false_positive");
+        this.duplicates = checks(meterRegistry, "duplicate");
+        Gauge.builder("employee.duplicate.filter.false.positive.rate", this,
+                        EmployeeKeyFilter::expectedFalsePositiveRate)
+                .description("False-positive rate of the duplicate-employee filter, estimated from the bits set")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Bits read() {
+        Bits built = Bits.sized(Math.max(expectedEmployees, 2 * employeeRepository.count()), falsePositiveRate);
+        try (Stream<NameEntry> stream = employeeRepository.streamNameEntries()) {
+            stream.forEach(entry -> built.add(entry.departmentId(), entry.name()));
+        }
+        return built;
+    }
+
+    @Override
+    protected void install(Bits loaded, List<EmployeeKey> pending) {
+        bits = loaded;
+        // Adding a key twice changes nothing, so rows committed while loading need no de-duplication.
+        apply(pending);
+    }
+
+    @Override
+    protected void apply(List<EmployeeKey> keys) {
+        for (EmployeeKey key : keys) {
+            bits.add(key.departmentId(), key.name());
+        }
+    }
+
+    @Override
+    protected List<EmployeeKey> entriesOf(EmployeesCreatedEvent event) {
+        List<EmployeeKey> keys = new ArrayList<>(event.employees().size());
+        for (EmployeesCreatedEvent.CreatedEmployee employee : event.employees()) {
+            keys.add(new EmployeeKey(employee.departmentId(), employee.name()));
+        }
+        return keys;
+    }
+
+    /**
+     * Tells whether an employee may exist. A {@code false} answer is certain and counted as a lookup avoided;
+     * after a {@code true} answer the caller looks the employee up and reports the outcome to
+     * {@link #recordLookup(boolean)}.
+     *
+     * @return {@code false} if no employee with the name exists in the department, {@code true} if one may.
+     */
+    public boolean mightContain(long departmentId, String name) {
+        if (!isReady()) {
+            return true;
+        }
+        boolean mightContain;
+        lock.readLock().lock();
+        try {
+            mightContain = bits.mightContain(departmentId, name);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!mightContain) {
+            absent.increment();
+        }
+        return mightContain;
+    }
+
+    /**
+     * Records whether the lookup that followed a {@code true} answer of {@link #mightContain} found the employee.
+     */
+    public void recordLookup(boolean found) {
+        if (isReady()) {
+            (found ? duplicates : falsePositives).increment();
+        }
+    }
+
+    /**
+     * @return the probability that a key never added is reported as present, given the bits set so far.
+     */
+    public double expectedFalsePositiveRate() {
+        lock.readLock().lock();
+        try {
+            return isReady() ? bits.falsePositiveRate() : 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the size of the bit array in bits.
+     */
+    public long bitCount() {
+        lock.readLock().lock();
+        try {
+            return bits.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.duplicate.filter.checks")
+                .description("Duplicate-employee checks by outcome of the Bloom filter and lookup")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The bit array and hash count of a Bloom filter. Not thread-safe.
+     */
+    static final class Bits {
+
+        private final long[] words;
+        private final long size;
+        private final int hashes;
+        private long set;
+
+        Bits(long size, int hashes) {
+            this.words = new long[Math.toIntExact((size + 63) / 64)];
+            this.size = words.length * 64L;
+            this.hashes = hashes;
+        }
+
+        /**
+         * Sizes a filter for {@code keys} keys at the given false-positive rate: {@code -keys * ln(rate) / ln(2)^2}
+         * bits and {@code ln(2)} hashes per bit per key.
+         */
+        static Bits sized(long keys, double falsePositiveRate) {
+            long size = (long) Math.ceil(-Math.max(1, keys) * Math.log(falsePositiveRate) / (LN2 * LN2));
+            int hashes = Math.max(1, (int) Math.round((double) size / Math.max(1, keys) * LN2));
+            return new Bits(size, hashes);
+        }
+
+        void add(long departmentId, String name) {
+            long hash = hash(departmentId, name);
+            long step = step(hash);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(hash + i * step, size);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((words[word] & mask) == 0) {
+                    words[word] |= mask;
+                    set++;
+                }
+            }
+        }
+
+        boolean mightContain(long departmentId, String name) {
+            long hash = hash(departmentId, name);
+            long step = step(hash);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(hash + i * step, size);
+                if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double falsePositiveRate() {
+            return Math.pow((double) set / size, hashes);
+        }
+
+        int hashes() {
+            return hashes;
+        }
+
+        /**
+         * FNV-1a over the name's characters, seeded with the mixed department id and finished with the SplitMix64
+         * mixer so that every bit of the result depends on every input bit.
+         */
+        private static long hash(long departmentId, String name) {
+            long hash = 0xcbf29ce484222325L ^ mix(departmentId);
+            for (int i = 0; i < name.length(); i++) {
+                hash = (hash ^ name.charAt(i)) * 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        /**
+         * The second hash of double hashing, derived from the first and odd so that it is never 0.
+         */
+        private static long step(long hash) {
+            return mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
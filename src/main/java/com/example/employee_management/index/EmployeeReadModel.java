@@ -0,0 +1,161 @@
+package com.example.employee_management.index;
+
+import com.example.employee_management.cache.DataVersions;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.metrics.SqlProfiler;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Base class of the in-memory read models of the employee table, loaded once the application is ready and then
+ * kept in sync from {@link EmployeesCreatedEvent}s after their transaction commits.
+ * <p>
+ * The snapshot is read in a read-only transaction without holding the lock, as bulk work the {@link SqlProfiler}
+ * does not report as slow queries. Employees committed meanwhile are buffered and handed to {@link #install}
+ * together with the snapshot, which may already contain some of them, so none are lost. Until loading finishes
+ * {@link #isReady()} is {@code false} and callers fall back to the database. A failed load leaves the model not
+ * ready.
+ * <p>
+ * Listeners of read models run at {@link #LISTENER_ORDER}, before {@link DataVersions} announces the change, so
+ * a client that sees the new data version also finds the change in every read model.
+ *
+ * @param <S> the snapshot read from the database.
+ * @param <E> an entry added for each committed employee.
+ */
+public abstract class EmployeeReadModel<S, E> {
+
+    /** The order of every read model's committed-change listeners; see the class comment. */
+    protected static final int LISTENER_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    /** Guards the model's state: read-locked by queries, write-locked around {@link #install} and {@link #apply}. */
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private List<E> pending;
+    private boolean loading;
+    private volatile boolean ready;
+
+    protected EmployeeReadModel(PlatformTransactionManager transactionManager, boolean enabled) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return whether the model is loaded and can answer queries.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return whether the model is enabled at all.
+     */
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Loads the model from the database. Invoked once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        S snapshot;
+        try (SqlProfiler.Profile ignored = SqlProfiler.startBulk(getClass().getSimpleName() + " load")) {
+            snapshot = readOnlyTransaction.execute(status -> read());
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            install(snapshot, pending);
+            pending = null;
+            loading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds committed employees to the model.
+     *
+     * @param event the employees inserted by the committed transaction.
+     */
+    @TransactionalEventListener
+    @Order(LISTENER_ORDER)
+    public void onEmployeesCreated(EmployeesCreatedEvent event) {
+        if (enabled) {
+            add(entriesOf(event));
+        }
+    }
+
+    /**
+     * Adds entries for committed employees: buffered while loading, applied once ready, dropped before.
+     *
+     * @param entries the entries to add.
+     */
+    public void add(List<E> entries) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                pending.addAll(entries);
+            } else if (ready) {
+                apply(entries);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the snapshot of the model. Runs in a read-only transaction, without the lock.
+     */
+    protected abstract S read();
+
+    /**
+     * Replaces the model's state with the snapshot plus the entries committed while it was read, which the
+     * snapshot may contain already. Runs under the write lock.
+     */
+    protected abstract void install(S snapshot, List<E> pending);
+
+    /**
+     * Adds entries for committed employees to the loaded model. Runs under the write lock.
+     */
+    protected abstract void apply(List<E> entries);
+
+    /**
+     * @return the entries of the employees in the event.
+     */
+    protected abstract List<E> entriesOf(EmployeesCreatedEvent event);
+}
@@ -0,0 +1,407 @@
+package com.example.employee_management.index;
+
+import com.example.employee_management.dto.NameEntry;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index over employee names for case-insensitive prefix and substring search.
+ * <p>
+ * Lower-cased names live in an array indexed by ordinal, next to parallel {@code long} id and department
+ * arrays. Two sorted arrays of (ordinal, offset) keys point into them: one at the start of every name and one
+ * at the start of every later word. A prefix or word-prefix query is a binary search into each array followed
+ * by a scan that stops after {@code limit} hits, so its cost does not grow with the number of matches. For
+ * substrings inside words, every three-character gram maps to a sorted posting list of ordinals; the lists of
+ * the query's grams are intersected lazily and candidates checked against the name until enough are found.
+ * <p>
+ * Results are ranked in three groups: names starting with the query (an exact match first), then names with a
+ * later word starting with it, then, for queries of three characters or more, any other substring. The first
+ * two groups are in alphabetical order of the matched text, the last in index order.
+ * <p>
+ * New employees go to small sorted delta arrays that are merged into the main arrays once they grow past
+ * {@value #MAX_DELTA} keys, so inserts stay cheap at a million employees. The index is an
+ * {@link EmployeeReadModel}, kept in sync from {@link EmployeesCreatedEvent}s; until it is ready, callers search
+ * the database instead.
+ */
+@Component
+public class NameIndex extends EmployeeReadModel<List<NameEntry>, NameEntry> {
+
+    static final int MAX_DELTA = 4096;
+    /** Word starts are addressed by an 8-bit offset; later words of longer names are not indexed. */
+    private static final int MAX_OFFSET = 255;
+
+    private final EmployeeRepository employeeRepository;
+
+    private long[] ids = new long[0];
+    private long[] departmentIds = new long[0];
+    private String[] names = new String[0];
+    private int size;
+    private Map<Long, Postings> trigrams = new HashMap<>();
+    private final SortedKeys nameStarts = new SortedKeys();
+    private final SortedKeys wordStarts = new SortedKeys();
+
+    public NameIndex(EmployeeRepository employeeRepository,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${employee.name-index.enabled:false}") boolean enabled) {
+        super(transactionManager, enabled);
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    protected List<NameEntry> read() {
+        try (Stream<NameEntry> stream = employeeRepository.streamNameEntries()) {
+            return stream.toList();
+        }
+    }
+
+    @Override
+    protected void install(List<NameEntry> entries, List<NameEntry> pending) {
+        ids = new long[entries.size()];
+        departmentIds = new long[entries.size()];
+        names = new String[entries.size()];
+        size = 0;
+        trigrams = new HashMap<>();
+        List<Long> nameKeys = new ArrayList<>(entries.size());
+        List<Long> wordKeys = new ArrayList<>(entries.size());
+        for (NameEntry entry : entries) {
+            append(entry, nameKeys, wordKeys);
+        }
+        // Rows committed while loading may also be in the snapshot; the snapshot is in id order.
+        int loaded = size;
+        Set<Long> seen = new HashSet<>();
+        for (NameEntry entry : pending) {
+            if (Arrays.binarySearch(ids, 0, loaded, entry.id()) < 0 && seen.add(entry.id())) {
+                append(entry, nameKeys, wordKeys);
+            }
+        }
+        nameStarts.reset(nameKeys);
+        wordStarts.reset(wordKeys);
+    }
+
+    @Override
+    protected void apply(List<NameEntry> entries) {
+        List<Long> nameKeys = new ArrayList<>(entries.size());
+        List<Long> wordKeys = new ArrayList<>(entries.size());
+        for (NameEntry entry : entries) {
+            append(entry, nameKeys, wordKeys);
+        }
+        nameStarts.insert(nameKeys);
+        wordStarts.insert(wordKeys);
+    }
+
+    @Override
+    protected List<NameEntry> entriesOf(EmployeesCreatedEvent event) {
+        List<NameEntry> entries = new ArrayList<>(event.employees().size());
+        for (EmployeesCreatedEvent.CreatedEmployee employee : event.employees()) {
+            entries.add(new NameEntry(employee.id(), employee.name(), employee.departmentId()));
+        }
+        return entries;
+    }
+
+    /**
+     * Finds the best-ranked employees whose name contains the query, ignoring case. Queries shorter than three
+     * characters only match the start of a word.
+     * <p>
+     * The keys and posting lists are shared by all departments, so a department-scoped search walks matches in
+     * rank order and skips those of other departments. It stops at {@code limit} hits like any other search,
+     * but a small department searched for a common prefix may walk every match of the query before it does.
+     *
+     * @param query        the search text.
+     * @param departmentId the department to search in, or {@code null} for all of them.
+     * @param limit        the maximum number of ids to return.
+     * @return the ids of the matching employees, best match first.
+     */
+    public List<Long> search(String query, Long departmentId, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Matches matches = new Matches(departmentId, limit);
+            nameStarts.collect(normalized, matches);
+            if (!matches.isFull()) {
+                wordStarts.collect(normalized, matches);
+            }
+            if (!matches.isFull() && normalized.length() >= 3) {
+                collectSubstrings(normalized, matches);
+            }
+            return matches.ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of employees in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Walks the intersection of the query's trigram posting lists in ordinal order, checking each candidate
+     * against its name, until enough matches are found. Names with a word-start match were all collected
+     * already, since the earlier groups did not fill the result.
+     */
+    private void collectSubstrings(String query, Matches matches) {
+        Postings[] lists = new Postings[query.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = trigrams.get(trigram(query, i));
+            if (lists[i] == null) {
+                return;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] from = new int[lists.length];
+        Postings shortest = lists[0];
+        candidates:
+        for (int i = 0; i < shortest.size && !matches.isFull(); i++) {
+            int ordinal = shortest.ordinals[i];
+            for (int j = 1; j < lists.length; j++) {
+                int position = Arrays.binarySearch(lists[j].ordinals, from[j], lists[j].size, ordinal);
+                if (position < 0) {
+                    from[j] = -position - 1;
+                    if (from[j] == lists[j].size) {
+                        return;
+                    }
+                    continue candidates;
+                }
+                from[j] = position + 1;
+            }
+            if (matches.accepts(ordinal) && names[ordinal].indexOf(query) >= 0) {
+                matches.add(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Appends one employee and its trigrams, and collects its name-start and word-start keys. Caller holds the
+     * write lock.
+     */
+    private void append(NameEntry entry, List<Long> nameKeys, List<Long> wordKeys) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            departmentIds = Arrays.copyOf(departmentIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+        int ordinal = size++;
+        String name = normalize(entry.name());
+        ids[ordinal] = entry.id();
+        departmentIds[ordinal] = entry.departmentId();
+        names[ordinal] = name;
+        nameKeys.add(key(ordinal, 0));
+        for (int offset = 1; offset < Math.min(name.length(), MAX_OFFSET + 1); offset++) {
+            if (isWordStart(name, offset)) {
+                wordKeys.add(key(ordinal, offset));
+            }
+        }
+        long[] grams = new long[Math.max(0, name.length() - 2)];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = trigram(name, i);
+        }
+        Arrays.sort(grams);
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                trigrams.computeIfAbsent(grams[i], gram -> new Postings()).add(ordinal);
+            }
+        }
+    }
+
+    private static boolean isWordStart(String name, int offset) {
+        return Character.isLetterOrDigit(name.charAt(offset)) && !Character.isLetterOrDigit(name.charAt(offset - 1));
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String text, int offset) {
+        return (long) text.charAt(offset) << 32 | (long) text.charAt(offset + 1) << 16 | text.charAt(offset + 2);
+    }
+
+    private static long key(int ordinal, int offset) {
+        return (long) ordinal << 8 | offset;
+    }
+
+    private static int ordinal(long key) {
+        return (int) (key >>> 8);
+    }
+
+    /**
+     * Compares the text at a key with the query; text that starts with the query compares equal.
+     */
+    private int compareToQuery(long key, String query) {
+        String name = names[ordinal(key)];
+        int offset = (int) (key & MAX_OFFSET);
+        int length = Math.min(name.length() - offset, query.length());
+        for (int i = 0; i < length; i++) {
+            int cmp = Character.compare(name.charAt(offset + i), query.charAt(i));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return name.length() - offset >= query.length() ? 0 : -1;
+    }
+
+    /**
+     * Orders keys by the text from their offset to the end of the name, then by ordinal.
+     */
+    private int compareKeys(long a, long b) {
+        String nameA = names[ordinal(a)];
+        String nameB = names[ordinal(b)];
+        int offsetA = (int) (a & MAX_OFFSET);
+        int offsetB = (int) (b & MAX_OFFSET);
+        int lengthA = nameA.length() - offsetA;
+        int lengthB = nameB.length() - offsetB;
+        for (int i = 0; i < Math.min(lengthA, lengthB); i++) {
+            int cmp = Character.compare(nameA.charAt(offsetA + i), nameB.charAt(offsetB + i));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return lengthA != lengthB ? Integer.compare(lengthA, lengthB) : Long.compare(a, b);
+    }
+
+    /**
+     * Keys sorted by the text they point at: a large main array plus a small delta array for recent inserts.
+     */
+    private final class SortedKeys {
+        private long[] main = new long[0];
+        private long[] delta = new long[0];
+
+        void reset(List<Long> keys) {
+            main = keys.stream().sorted(NameIndex.this::compareKeys).mapToLong(Long::longValue).toArray();
+            delta = new long[0];
+        }
+
+        void insert(List<Long> keys) {
+            if (keys.isEmpty()) {
+                return;
+            }
+            long[] added = keys.stream().sorted(NameIndex.this::compareKeys).mapToLong(Long::longValue).toArray();
+            delta = merge(delta, added);
+            if (delta.length > MAX_DELTA) {
+                main = merge(main, delta);
+                delta = new long[0];
+            }
+        }
+
+        /**
+         * Offers every key whose text starts with the query to {@code matches}, in text order, until it is full.
+         */
+        void collect(String query, Matches matches) {
+            int i = lowerBound(main, query);
+            int j = lowerBound(delta, query);
+            while (!matches.isFull()) {
+                boolean inMain = i < main.length && compareToQuery(main[i], query) == 0;
+                boolean inDelta = j < delta.length && compareToQuery(delta[j], query) == 0;
+                long key;
+                if (inMain && (!inDelta || compareKeys(main[i], delta[j]) < 0)) {
+                    key = main[i++];
+                } else if (inDelta) {
+                    key = delta[j++];
+                } else {
+                    return;
+                }
+                int ordinal = ordinal(key);
+                if (matches.accepts(ordinal)) {
+                    matches.add(ordinal);
+                }
+            }
+        }
+
+        private int lowerBound(long[] keys, String query) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareToQuery(keys[mid], query) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private long[] merge(long[] a, long[] b) {
+            long[] merged = new long[a.length + b.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < a.length && j < b.length) {
+                merged[k++] = compareKeys(a[i], b[j]) <= 0 ? a[i++] : b[j++];
+            }
+            System.arraycopy(a, i, merged, k, a.length - i);
+            System.arraycopy(b, j, merged, k + a.length - i, b.length - j);
+            return merged;
+        }
+    }
+
+    /**
+     * The ids collected for one query, in rank order; ordinals from other departments or already collected
+     * are refused.
+     */
+    private final class Matches {
+        private final boolean scoped;
+        private final long departmentId;
+        private final int limit;
+        private final List<Long> ids;
+        private final Set<Integer> ordinals = new HashSet<>();
+
+        Matches(Long departmentId, int limit) {
+            this.scoped = departmentId != null;
+            this.departmentId = scoped ? departmentId : 0L;
+            this.limit = limit;
+            this.ids = new ArrayList<>(Math.min(limit, 64));
+        }
+
+        boolean accepts(int ordinal) {
+            return (!scoped || departmentIds[ordinal] == departmentId) && !ordinals.contains(ordinal);
+        }
+
+        void add(int ordinal) {
+            ordinals.add(ordinal);
+            ids.add(NameIndex.this.ids[ordinal]);
+        }
+
+        boolean isFull() {
+            return ids.size() >= limit;
+        }
+    }
+
+    /**
+     * Growable, sorted list of ordinals.
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size + (size >> 1));
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.employee_management.index;
+
+import com.example.employee_management.dto.SalaryEntry;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * In-memory salary index: every employee's (salary, id) key kept sorted in two parallel primitive arrays.
+ * <p>
+ * Range counts are two binary searches and salary-ordered pages are a binary search plus a slice, so neither
+ * touches the database; callers only fetch the rows of the ids returned. At 16 bytes per employee the index
+ * stays small next to the entities it describes.
+ * <p>
+ * Like {@link NameIndex}, new employees go to small sorted delta arrays that are merged into the main arrays
+ * once they grow past {@value #MAX_DELTA} keys, so an insert copies the delta rather than the whole index.
+ * Queries search both and merge the results.
+ * <p>
+ * The index is an {@link EmployeeReadModel}: loaded once the application is ready and then kept in sync from
+ * {@link EmployeesCreatedEvent}s. Until loading finishes {@link #isReady()} is {@code false} and callers fall
+ * back to the database.
+ */
+@Component
+public class SalaryIndex extends EmployeeReadModel<List<SalaryEntry>, SalaryEntry> {
+
+    static final int MAX_DELTA = 4096;
+
+    private static final Comparator<SalaryEntry> ORDER =
+            Comparator.comparingDouble(SalaryEntry::salary).thenComparingLong(SalaryEntry::id);
+
+    private final EmployeeRepository employeeRepository;
+
+    private Keys main = Keys.EMPTY;
+    private Keys delta = Keys.EMPTY;
+
+    public SalaryIndex(EmployeeRepository employeeRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${employee.salary-index.enabled:false}") boolean enabled) {
+        super(transactionManager, enabled);
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    protected List<SalaryEntry> read() {
+        try (Stream<SalaryEntry> stream = employeeRepository.streamSalaryEntries()) {
+            return stream.sorted(ORDER).toList();
+        }
+    }
+
+    @Override
+    protected void install(List<SalaryEntry> entries, List<SalaryEntry> pending) {
+        main = Keys.of(entries);
+        delta = Keys.EMPTY;
+        apply(pending);
+    }
+
+    @Override
+    protected List<SalaryEntry> entriesOf(EmployeesCreatedEvent event) {
+        List<SalaryEntry> entries = new ArrayList<>(event.employees().size());
+        for (EmployeesCreatedEvent.CreatedEmployee employee : event.employees()) {
+            entries.add(new SalaryEntry(employee.id(), employee.salary()));
+        }
+        return entries;
+    }
+
+    /**
+     * Counts the employees whose salary lies in [min, max].
+     *
+     * @param min the inclusive lower bound.
+     * @param max the inclusive upper bound.
+     * @return the number of matching employees.
+     */
+    public long count(double min, double max) {
+        lock.readLock().lock();
+        try {
+            if (min > max) {
+                return 0;
+            }
+            return main.count(min, max) + delta.count(min, max);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} entries in [min, max] following {@code after} in (salary, id) order.
+     * The first page of a descending query is the top-N by salary.
+     *
+     * @param min        the inclusive lower bound.
+     * @param max        the inclusive upper bound.
+     * @param descending whether to walk from the highest salary down.
+     * @param after      the last key of the previous page, or {@code null} for the first page.
+     * @param limit      the maximum number of entries to return.
+     * @return the matching entries in page order.
+     */
+    public List<SalaryEntry> page(double min, double max, boolean descending, SalaryEntry after, int limit) {
+        lock.readLock().lock();
+        try {
+            int fromMain = main.lowerBound(min);
+            int toMain = main.upperBound(max);
+            int fromDelta = delta.lowerBound(min);
+            int toDelta = delta.upperBound(max);
+            int matching = Math.max(0, toMain - fromMain) + Math.max(0, toDelta - fromDelta);
+            List<SalaryEntry> result = new ArrayList<>(Math.min(limit, matching));
+            if (descending) {
+                int i = after == null ? toMain : Math.min(toMain, main.indexOf(after.salary(), after.id(), false));
+                int j = after == null ? toDelta
+                        : Math.min(toDelta, delta.indexOf(after.salary(), after.id(), false));
+                while (result.size() < limit && (i > fromMain || j > fromDelta)) {
+                    if (j <= fromDelta || (i > fromMain && main.compareAt(i - 1, delta, j - 1) > 0)) {
+                        result.add(main.entry(--i));
+                    } else {
+                        result.add(delta.entry(--j));
+                    }
+                }
+            } else {
+                int i = after == null ? fromMain : Math.max(fromMain, main.indexOf(after.salary(), after.id(), true));
+                int j = after == null ? fromDelta
+                        : Math.max(fromDelta, delta.indexOf(after.salary(), after.id(), true));
+                while (result.size() < limit && (i < toMain || j < toDelta)) {
+                    if (j >= toDelta || (i < toMain && main.compareAt(i, delta, j) < 0)) {
+                        result.add(main.entry(i++));
+                    } else {
+                        result.add(delta.entry(j++));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of employees in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return main.size() + delta.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Merges entries not yet indexed into the delta, and the delta into the main arrays once it is full; entries
+     * already present are ignored.
+     */
+    @Override
+    protected void apply(List<SalaryEntry> entries) {
+        List<SalaryEntry> added = new ArrayList<>(entries.size());
+        for (SalaryEntry entry : entries) {
+            if (!main.contains(entry.salary(), entry.id())) {
+                added.add(entry);
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        added.sort(ORDER);
+        delta = Keys.merge(delta, Keys.of(added));
+        if (delta.size() > MAX_DELTA) {
+            main = Keys.merge(main, delta);
+            delta = Keys.EMPTY;
+        }
+    }
+
+    private static int compare(double salaryA, long idA, double salaryB, long idB) {
+        int cmp = Double.compare(salaryA, salaryB);
+        return cmp != 0 ? cmp : Long.compare(idA, idB);
+    }
+
+    /**
+     * (salary, id) keys sorted in two parallel arrays, without duplicates. Immutable.
+     */
+    private record Keys(double[] salaries, long[] ids) {
+
+        static final Keys EMPTY = new Keys(new double[0], new long[0]);
+
+        /** Keys of entries already sorted in (salary, id) order. */
+        static Keys of(List<SalaryEntry> sorted) {
+            double[] salaries = new double[sorted.size()];
+            long[] ids = new long[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                salaries[i] = sorted.get(i).salary();
+                ids[i] = sorted.get(i).id();
+            }
+            return new Keys(salaries, ids);
+        }
+
+        /** Merges two key sets in one pass, keeping a key present in both once. */
+        static Keys merge(Keys a, Keys b) {
+            double[] salaries = new double[a.size() + b.size()];
+            long[] ids = new long[a.size() + b.size()];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < a.size() || j < b.size()) {
+                int cmp = i == a.size() ? 1 : j == b.size() ? -1 : a.compareAt(i, b, j);
+                if (cmp <= 0) {
+                    salaries[k] = a.salaries[i];
+                    ids[k++] = a.ids[i++];
+                    if (cmp == 0) {
+                        j++;
+                    }
+                } else {
+                    boolean repeated = k > 0 && ids[k - 1] == b.ids[j] && salaries[k - 1] == b.salaries[j];
+                    if (!repeated) {
+                        salaries[k] = b.salaries[j];
+                        ids[k++] = b.ids[j];
+                    }
+                    j++;
+                }
+            }
+            return k == ids.length ? new Keys(salaries, ids) : new Keys(Arrays.copyOf(salaries, k),
+                    Arrays.copyOf(ids, k));
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        SalaryEntry entry(int position) {
+            return new SalaryEntry(ids[position], salaries[position]);
+        }
+
+        boolean contains(double salary, long id) {
+            int position = indexOf(salary, id, false);
+            return position < ids.length && ids[position] == id && salaries[position] == salary;
+        }
+
+        long count(double min, double max) {
+            return upperBound(max) - lowerBound(min);
+        }
+
+        /** Compares the key at {@code position} with the key at {@code otherPosition} of {@code other}. */
+        int compareAt(int position, Keys other, int otherPosition) {
+            return compare(salaries[position], ids[position], other.salaries[otherPosition], other.ids[otherPosition]);
+        }
+
+        /** First position whose salary is {@code >= salary}. */
+        int lowerBound(double salary) {
+            return indexOf(salary, Long.MIN_VALUE, false);
+        }
+
+        /** First position whose salary is {@code > salary}. */
+        int upperBound(double salary) {
+            return indexOf(salary, Long.MAX_VALUE, true);
+        }
+
+        /**
+         * Binary search for the first position whose key is greater than (or, if {@code strictlyAfter} is false,
+         * greater than or equal to) the given (salary, id) key.
+         */
+        int indexOf(double salary, long id, boolean strictlyAfter) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(salaries[mid], ids[mid], salary, id);
+                if (cmp < 0 || (strictlyAfter && cmp == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
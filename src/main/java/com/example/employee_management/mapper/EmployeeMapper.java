@@ -19,6 +19,7 @@ public interface EmployeeMapper {
 
     List<EmployeeDTO> employeesToEmployeeDTOs(List<Employee> employees);
 
+    @Mapping(target = "id", ignore = true)
     @Mapping(target = "department.name", source = "department")
     Employee employeeDTOToEmployee(EmployeeDTO employeeDTO);
 }
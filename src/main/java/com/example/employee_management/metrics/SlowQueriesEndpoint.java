@@ -0,0 +1,25 @@
+package com.example.employee_management.metrics;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Lists the most recent slow SQL statements recorded by the {@link SqlProfiler}, newest first, at
+ * {@code /actuator/slowqueries}.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@AllArgsConstructor
+public class SlowQueriesEndpoint {
+
+    private final SqlProfiler sqlProfiler;
+
+    @ReadOperation
+    public List<SqlProfiler.SlowQuery> slowQueries() {
+        return sqlProfiler.recentSlowQueries();
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.employee_management.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Times every JDBC statement, as a listener of the datasource-proxy wrapping the {@code DataSource}
+ * (MetricsConfig).
+ * <p>
+ * Statements are attributed to the {@link Profile}s open on the executing thread: {@link SqlStatementMetricsFilter}
+ * opens one per request, and tests open one around a call to bound its statement count. A statement taking at
+ * least {@code slow-threshold} is logged and kept among the most recent slow queries, whichever thread ran it,
+ * unless it runs in a {@linkplain #startBulk bulk profile}.
+ * Bind parameters are reported by type only, such as {@code (Long, String)}, so values never reach the logs.
+ * Statements issued over R2DBC by the reactive API bypass the {@code DataSource} and are not seen.
+ */
+@Slf4j
+@Component
+public class SqlProfiler implements QueryExecutionListener {
+
+    static final int SLOWEST_PER_PROFILE = 5;
+    private static final String STARTED_AT = SqlProfiler.class.getName() + ".startedAt";
+    private static final ThreadLocal<List<Profile>> PROFILES = new ThreadLocal<>();
+
+    private final long slowThresholdNanos;
+    private final int recentSlowQueries;
+    private final ArrayDeque<SlowQuery> slowQueries = new ArrayDeque<>();
+
+    public SqlProfiler(@Value("${employee.sql-profiling.slow-threshold:100ms}") Duration slowThreshold,
+                       @Value("${employee.sql-profiling.recent-slow-queries:100}") int recentSlowQueries) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.recentSlowQueries = recentSlowQueries;
+    }
+
+    /**
+     * Opens a profile on the current thread that records every statement the thread executes until it is closed.
+     * Profiles nest: a statement is recorded in each profile open at the time.
+     *
+     * @param name what is being profiled, such as the request, named in the slow query log.
+     */
+    public static Profile start(String name) {
+        return open(new Profile(name, false));
+    }
+
+    /**
+     * Opens a profile around bulk work, such as loading a dataset, whose batches are slow by design. Statements
+     * run while it is open are recorded like in any profile but never reported as slow queries, so one bulk load
+     * does not flood the log or push real slow queries out of the recent list.
+     *
+     * @param name what is being loaded.
+     */
+    public static Profile startBulk(String name) {
+        return open(new Profile(name, true));
+    }
+
+    private static Profile open(Profile profile) {
+        List<Profile> profiles = PROFILES.get();
+        if (profiles == null) {
+            profiles = new ArrayList<>(2);
+            PROFILES.set(profiles);
+        }
+        profiles.add(profile);
+        return profile;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        long nanos = startedAt != null ? System.nanoTime() - startedAt : execInfo.getElapsedTime() * 1_000_000;
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        List<Profile> profiles = PROFILES.get();
+        String parameters = null;
+        boolean bulk = false;
+        if (profiles != null) {
+            parameters = parameterShape(queryInfoList);
+            for (Profile profile : profiles) {
+                profile.record(sql, parameters, nanos);
+                bulk |= profile.bulk;
+            }
+        }
+        if (nanos >= slowThresholdNanos && !bulk) {
+            if (parameters == null) {
+                parameters = parameterShape(queryInfoList);
+            }
+            String request = profiles != null && !profiles.isEmpty() ? profiles.get(0).name : null;
+            SlowQuery slowQuery = new SlowQuery(Instant.now(), request, sql, parameters, nanos / 1e6);
+            log.warn("Slow SQL took {} ms{}: {} {}", Math.round(slowQuery.millis()),
+                    request != null ? " in " + request : "", sql, parameters);
+            synchronized (slowQueries) {
+                if (slowQueries.size() >= recentSlowQueries) {
+                    slowQueries.removeLast();
+                }
+                slowQueries.addFirst(slowQuery);
+            }
+        }
+    }
+
+    /**
+     * @return the most recent statements that took at least the slow threshold, newest first.
+     */
+    public List<SlowQuery> recentSlowQueries() {
+        synchronized (slowQueries) {
+            return List.copyOf(slowQueries);
+        }
+    }
+
+    /**
+     * Describes the bind parameters of a statement by their types in order, {@code null} for a null parameter,
+     * followed by the number of parameter sets of a batch.
+     */
+    static String parameterShape(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.size() != 1) {
+            return "";
+        }
+        List<List<ParameterSetOperation>> parameterSets = queryInfoList.get(0).getParametersList();
+        if (parameterSets.isEmpty()) {
+            return "()";
+        }
+        String shape = parameterSets.get(0).stream()
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(SqlProfiler::parameterType)
+                .collect(Collectors.joining(", ", "(", ")"));
+        return parameterSets.size() > 1 ? shape + " x" + parameterSets.size() : shape;
+    }
+
+    private static String parameterType(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        if (ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2 || args[1] == null) {
+            return "null";
+        }
+        return args[1].getClass().getSimpleName();
+    }
+
+    /**
+     * The statements one thread executed while the profile was open. Not thread-safe: it is only recorded into
+     * by the thread that opened it.
+     */
+    public static final class Profile implements AutoCloseable {
+
+        private final String name;
+        private final boolean bulk;
+        private final Map<String, Integer> executions = new HashMap<>();
+        private final List<Statement> slowest = new ArrayList<>(SLOWEST_PER_PROFILE + 1);
+        private int count;
+        private long nanos;
+
+        private Profile(String name, boolean bulk) {
+            this.name = name;
+            this.bulk = bulk;
+        }
+
+        private void record(String sql, String parameters, long statementNanos) {
+            count++;
+            nanos += statementNanos;
+            executions.merge(sql, 1, Integer::sum);
+            if (slowest.size() < SLOWEST_PER_PROFILE
+                    || statementNanos > slowest.get(slowest.size() - 1).nanos()) {
+                Statement statement = new Statement(sql, parameters, statementNanos);
+                int index = 0;
+                while (index < slowest.size() && slowest.get(index).nanos() >= statementNanos) {
+                    index++;
+                }
+                slowest.add(index, statement);
+                if (slowest.size() > SLOWEST_PER_PROFILE) {
+                    slowest.remove(SLOWEST_PER_PROFILE);
+                }
+            }
+        }
+
+        /**
+         * @return the number of statements executed, counting a batch once.
+         */
+        public int count() {
+            return count;
+        }
+
+        /**
+         * @return the time spent executing statements.
+         */
+        public Duration time() {
+            return Duration.ofNanos(nanos);
+        }
+
+        /**
+         * @return the slowest statements, slowest first.
+         */
+        public List<Statement> slowest() {
+            return List.copyOf(slowest);
+        }
+
+        /**
+         * @return the statement executed most often and how often, or {@code null} if none was executed; a
+         * statement repeated once per row of an earlier result is the signature of an N+1 query.
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return executions.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+
+        /**
+         * Stops recording into this profile.
+         */
+        @Override
+        public void close() {
+            List<Profile> profiles = PROFILES.get();
+            if (profiles != null) {
+                profiles.remove(this);
+                if (profiles.isEmpty()) {
+                    PROFILES.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * A statement executed in a profile, with the shape of its bind parameters.
+     */
+    public record Statement(String sql, String parameters, long nanos) {
+    }
+
+    /**
+     * A statement that took at least the slow threshold, and the request it ran in, if any.
+     */
+    public record SlowQuery(Instant at, String request, String sql, String parameters, double millis) {
+    }
+}
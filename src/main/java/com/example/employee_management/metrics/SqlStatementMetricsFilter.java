@@ -0,0 +1,86 @@
+package com.example.employee_management.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records how many SQL statements each request executed, as the {@code http.server.requests.sql.statements}
+ * distribution tagged with the method and URI pattern. A listing that issues one statement per row shows up
+ * here long before it shows up in latency.
+ * <p>
+ * Statements are counted by the {@link SqlProfiler} profile opened around the request, so nothing is recorded
+ * unless SQL profiling is enabled. The time each request that touched the database spent executing statements
+ * is recorded as the {@code http.server.requests.sql.time} timer, and its count, time, most repeated and slowest
+ * statements are logged at debug level.
+ * <p>
+ * Statements run on another thread, such as the body of a streaming export, are not attributed to the request.
+ */
+@Slf4j
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String METRIC_NAME = "http.server.requests.sql.statements";
+    static final String TIME_METRIC_NAME = "http.server.requests.sql.time";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public SqlStatementMetricsFilter(MeterRegistry meterRegistry,
+                                     @Value("${employee.sql-profiling.enabled:false}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+        SqlProfiler.Profile profile = SqlProfiler.start(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            profile.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("SQL statements executed per HTTP request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(1_000.0)
+                    .register(meterRegistry)
+                    .record(profile.count());
+            if (profile.count() > 0) {
+                Timer.builder(TIME_METRIC_NAME)
+                        .description("Time spent executing SQL statements per HTTP request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri)
+                        .register(meterRegistry)
+                        .record(profile.time());
+                if (log.isDebugEnabled()) {
+                    Map.Entry<String, Integer> mostRepeated = profile.mostRepeated();
+                    log.debug("{} {} executed {} statements in {} ms, {} of them: {}; slowest: {}",
+                            request.getMethod(), uri, profile.count(), profile.time().toMillis(),
+                            mostRepeated.getValue(), mostRepeated.getKey(), profile.slowest());
+                }
+            }
+        }
+    }
+}
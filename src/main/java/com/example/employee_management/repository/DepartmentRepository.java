@@ -1,10 +1,39 @@
 package com.example.employee_management.repository;
 
+import com.example.employee_management.dto.DepartmentStats;
 import com.example.employee_management.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface DepartmentRepository extends JpaRepository<Department, Long> {
+public interface DepartmentRepository extends JpaRepository<Department, Long>, DepartmentStatsRepository {
+    /**
+     * Cached in the query cache: departments are rarely written, so the cached id stays valid and the entity
+     * itself comes from the second-level cache.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Department> findByName(String departmentName);
-}
\ No newline at end of file
+
+    List<Department> findByNameIn(Collection<String> departmentNames);
+
+    /**
+     * Per-department headcount and salary aggregates computed in one GROUP BY. The outer join keeps
+     * departments without employees.
+     */
+    @Query("select new com.example.employee_management.dto.DepartmentStats(d.name, count(e.id), " +
+            "coalesce(sum(e.salary), 0), avg(e.salary), min(e.salary), max(e.salary)) " +
+            "from Department d left join d.employees e group by d.name order by d.name")
+    List<DepartmentStats> findStats();
+
+    @Query("select new com.example.employee_management.dto.DepartmentStats(d.name, count(e.id), " +
+            "coalesce(sum(e.salary), 0), avg(e.salary), min(e.salary), max(e.salary)) " +
+            "from Department d left join d.employees e where d.name in :names group by d.name order by d.name")
+    List<DepartmentStats> findStatsByNameIn(@Param("names") Collection<String> departmentNames);
+}
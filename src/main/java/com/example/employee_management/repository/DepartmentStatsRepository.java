@@ -0,0 +1,20 @@
+package com.example.employee_management.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregations whose shape depends on the request and therefore cannot be declared with {@code @Query}.
+ */
+public interface DepartmentStatsRepository {
+
+    /**
+     * Computes continuous salary percentiles per department in one GROUP BY, one column per percentile.
+     *
+     * @param departmentNames the departments to include, or {@code null} for all of them.
+     * @param percentiles     the percentiles to compute, each within [0, 1].
+     * @return for each department with employees, the percentile values in the order requested.
+     */
+    Map<String, List<Double>> findSalaryPercentiles(Collection<String> departmentNames, List<Double> percentiles);
+}
@@ -0,0 +1,47 @@
+package com.example.employee_management.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.AllArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor
+class DepartmentStatsRepositoryImpl implements DepartmentStatsRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Map<String, List<Double>> findSalaryPercentiles(Collection<String> departmentNames,
+                                                           List<Double> percentiles) {
+        // Percentiles are validated doubles, so inlining them as literals is safe; ordered-set aggregate
+        // arguments must be constants on most databases.
+        StringBuilder hql = new StringBuilder("select d.name");
+        for (double percentile : percentiles) {
+            hql.append(", percentile_cont(").append(percentile).append(") within group (order by e.salary)");
+        }
+        hql.append(" from Employee e join e.department d");
+        if (departmentNames != null) {
+            hql.append(" where d.name in :names");
+        }
+        hql.append(" group by d.name");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(hql.toString(), Object[].class);
+        if (departmentNames != null) {
+            query.setParameter("names", departmentNames);
+        }
+        Map<String, List<Double>> result = new HashMap<>();
+        for (Object[] row : query.getResultList()) {
+            Double[] values = new Double[percentiles.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row[i + 1] == null ? null : ((Number) row[i + 1]).doubleValue();
+            }
+            result.put((String) row[0], Arrays.asList(values));
+        }
+        return result;
+    }
+}
@@ -1,21 +1,155 @@
 package com.example.employee_management.repository;
 
+import com.example.employee_management.dto.ColumnEntry;
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.dto.EmployeeKey;
+import com.example.employee_management.dto.NameEntry;
+import com.example.employee_management.dto.SalaryEntry;
 import com.example.employee_management.entity.Department;
 import com.example.employee_management.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-    Optional<List<Employee>> findByDepartmentName(String departmentName);
+    /*
+     * Read paths select straight into EmployeeDTO with the department joined in the same statement, so a page
+     * costs one query whatever its size and no entities enter the persistence context.
+     */
+    String SELECT_DTO = "select new com.example.employee_management.dto.EmployeeDTO(e.id, e.name, d.name, e.salary) " +
+            "from Employee e join e.department d ";
 
-    Optional<List<Employee>> findBySalaryGreaterThan(double salary);
+    @Query(SELECT_DTO + "where e.id in :ids")
+    List<EmployeeDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
 
-    Optional<List<Employee>> findBySalaryLessThanEqual(double salary);
+    @Query(SELECT_DTO + "where e.id > :id order by e.id")
+    List<EmployeeDTO> findDTOsAfterId(@Param("id") long afterId, Limit limit);
+
+    /**
+     * Cached in the query cache; Hibernate drops the cached pages whenever employee or department is written.
+     */
+    @Query(SELECT_DTO + "where d.name = :departmentName and e.id > :id order by e.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<EmployeeDTO> findDTOsByDepartmentNameAfterId(@Param("departmentName") String departmentName,
+                                                      @Param("id") long afterId, Limit limit);
+
+    @Query(SELECT_DTO + "where e.salary > :salary and e.id > :id order by e.id")
+    List<EmployeeDTO> findDTOsBySalaryGreaterThanAfterId(@Param("salary") double salary,
+                                                         @Param("id") long afterId, Limit limit);
+
+    @Query(SELECT_DTO + "where e.salary <= :salary and e.id > :id order by e.id")
+    List<EmployeeDTO> findDTOsBySalaryLessThanEqualAfterId(@Param("salary") double salary,
+                                                           @Param("id") long afterId, Limit limit);
+
+    @Query(SELECT_DTO + "where e.salary between :min and :max and e.id > :id order by e.id")
+    List<EmployeeDTO> findDTOsBySalaryBetweenAfterId(@Param("min") double min, @Param("max") double max,
+                                                     @Param("id") long afterId, Limit limit);
+
+    /**
+     * Salary range page in ascending (salary, id) order, starting after the given key. Served by the
+     * (salary, id) index as a single range scan.
+     */
+    @Query(SELECT_DTO + "where e.salary between :min and :max " +
+            "and (e.salary > :salary or (e.salary = :salary and e.id > :id)) order by e.salary asc, e.id asc")
+    List<EmployeeDTO> findSalaryRangeAscending(@Param("min") double min, @Param("max") double max,
+                                               @Param("salary") double afterSalary, @Param("id") long afterId,
+                                               Limit limit);
+
+    /**
+     * Salary range page in descending (salary, id) order, starting after the given key.
+     */
+    @Query(SELECT_DTO + "where e.salary between :min and :max " +
+            "and (e.salary < :salary or (e.salary = :salary and e.id < :id)) order by e.salary desc, e.id desc")
+    List<EmployeeDTO> findSalaryRangeDescending(@Param("min") double min, @Param("max") double max,
+                                                @Param("salary") double afterSalary, @Param("id") long afterId,
+                                                Limit limit);
+
+    long countBySalaryBetween(double min, double max);
+
+    /**
+     * Streams every (id, salary) pair to build the in-memory salary index. Must be consumed inside a
+     * transaction and closed after use.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.employee_management.dto.SalaryEntry(e.id, e.salary) from Employee e")
+    Stream<SalaryEntry> streamSalaryEntries();
+
+    /**
+     * Streams every (id, name, department id) triple in id order to build the in-memory name index. Must be
+     * consumed inside a transaction and closed after use.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.employee_management.dto.NameEntry(e.id, e.name, e.department.id) " +
+            "from Employee e order by e.id")
+    Stream<NameEntry> streamNameEntries();
+
+    /**
+     * Streams every employee's (id, salary, department id) in id order to build the in-memory employee
+     * columns. Must be consumed inside a transaction and closed after use.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.employee_management.dto.ColumnEntry(e.id, e.salary, e.department.id) " +
+            "from Employee e order by e.id")
+    Stream<ColumnEntry> streamColumnEntries();
+
+    /**
+     * Case-insensitive name search used until the name index is loaded: exact matches first, then prefix
+     * matches, then any other substring; each group in alphabetical order of the name, then by id.
+     *
+     * @param query          the lower-case search text.
+     * @param pattern        {@code %query%} with LIKE wildcards in the query escaped by {@code \}.
+     * @param prefix         {@code query%}, escaped the same way.
+     * @param departmentName the department to search in, or {@code null} for all of them.
+     */
+    @Query(SELECT_DTO + "where lower(e.name) like :pattern escape '\\' " +
+            "and (:departmentName is null or d.name = :departmentName) " +
+            "order by case when lower(e.name) = :query then 0 " +
+            "when lower(e.name) like :prefix escape '\\' then 1 else 2 end, lower(e.name), e.id")
+    List<EmployeeDTO> searchDTOsByName(@Param("query") String query, @Param("pattern") String pattern,
+                                       @Param("prefix") String prefix,
+                                       @Param("departmentName") String departmentName, Limit limit);
 
     Optional<Employee> findByNameAndDepartment(String name, Department department);
 
+    /**
+     * Set-based duplicate check for bulk imports: returns the keys of existing employees whose department is one
+     * of {@code departmentIds} and whose name is one of {@code names}. Filtering on the employee table alone lets
+     * the (name, department_id) index drive the lookup. The caller picks the exact pairs out of this superset.
+     */
+    @Query("select new com.example.employee_management.dto.EmployeeKey(e.department.id, e.name) " +
+            "from Employee e where e.department.id in :departmentIds and e.name in :names")
+    List<EmployeeKey> findKeysByDepartmentIdsAndNames(@Param("departmentIds") Collection<Long> departmentIds,
+                                                      @Param("names") Collection<String> names);
+
+    /**
+     * Streams all employees as DTOs ordered by id. The projection keeps the persistence context empty and the
+     * JDBC fetch size lets the driver pull rows in chunks instead of buffering the whole result.
+     * Must be consumed inside a transaction and closed after use.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_DTO + "order by e.id")
+    Stream<EmployeeDTO> streamAllAsDTOs();
+
 
-}
\ No newline at end of file
+}
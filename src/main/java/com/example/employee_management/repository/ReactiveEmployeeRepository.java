@@ -0,0 +1,138 @@
+package com.example.employee_management.repository;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Non-blocking read access to employees over R2DBC, against the same database as the JPA repositories.
+ * <p>
+ * Results are read in keyset chunks, each a short query on a pooled connection, and the next chunk is only
+ * queried once the subscriber has asked for more rows. A slow reader therefore holds neither a thread, nor a
+ * connection, nor more than a chunk of rows in memory while it catches up. The connection factory is
+ * deliberately kept private to this class: exposing it as a bean would make Spring Boot back off from
+ * configuring the JDBC {@code DataSource} that JPA needs.
+ * <p>
+ * The connection options are derived from {@code spring.datasource.url}, so both APIs always reach the same
+ * database; the H2 URL, including settings such as {@code DB_CLOSE_DELAY}, is handed to the R2DBC driver as is.
+ * Other databases are rejected at startup.
+ */
+@Repository
+public class ReactiveEmployeeRepository implements DisposableBean {
+
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+    /** Option of the R2DBC H2 driver taking an H2 URL without its {@code jdbc:h2:} prefix. */
+    private static final Option<String> H2_URL = Option.valueOf("url");
+    private static final String SELECT_DTO = "select e.id, e.name, d.name as department, e.salary " +
+            "from employee e join department d on d.id = e.department_id ";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final int chunkSize;
+
+    public ReactiveEmployeeRepository(@Value("${spring.datasource.url}") String jdbcUrl,
+                                      @Value("${spring.datasource.username}") String username,
+                                      @Value("${spring.datasource.password}") String password,
+                                      @Value("${employee.reactive.max-connections:20}") int maxConnections,
+                                      @Value("${employee.reactive.chunk-size:500}") int chunkSize) {
+        ConnectionFactoryOptions options = connectionOptions(jdbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxConnections)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.chunkSize = chunkSize;
+    }
+
+    public Flux<EmployeeDTO> findAll() {
+        return inChunks(last -> databaseClient.sql(SELECT_DTO + "where e.id > :afterId order by e.id limit :limit")
+                .bind("afterId", last == null ? 0L : last.getId()));
+    }
+
+    public Flux<EmployeeDTO> findByDepartmentName(String departmentName) {
+        return inChunks(last -> databaseClient.sql(SELECT_DTO
+                        + "where d.name = :departmentName and e.id > :afterId order by e.id limit :limit")
+                .bind("departmentName", departmentName)
+                .bind("afterId", last == null ? 0L : last.getId()));
+    }
+
+    public Flux<EmployeeDTO> findBySalaryBetween(double min, double max) {
+        return inChunks(last -> {
+            if (last == null) {
+                return databaseClient.sql(SELECT_DTO
+                                + "where e.salary between :min and :max order by e.salary, e.id limit :limit")
+                        .bind("min", min)
+                        .bind("max", max);
+            }
+            return databaseClient.sql(SELECT_DTO + "where e.salary <= :max"
+                            + " and (e.salary > :afterSalary or (e.salary = :afterSalary and e.id > :afterId))"
+                            + " order by e.salary, e.id limit :limit")
+                    .bind("max", max)
+                    .bind("afterSalary", last.getSalary())
+                    .bind("afterId", last.getId());
+        });
+    }
+
+    /**
+     * Builds R2DBC options for the database of a JDBC URL.
+     *
+     * @throws IllegalStateException if the URL is not an H2 one.
+     */
+    static ConnectionFactoryOptions connectionOptions(String jdbcUrl) {
+        if (!jdbcUrl.startsWith(H2_JDBC_PREFIX)) {
+            throw new IllegalStateException("The reactive employee API supports H2 only, but spring.datasource.url is "
+                    + jdbcUrl);
+        }
+        return ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "h2")
+                .option(H2_URL, jdbcUrl.substring(H2_JDBC_PREFIX.length()))
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    /**
+     * Emits the rows of consecutive chunks, each queried after the last row of the previous one. A chunk
+     * shorter than the chunk size ends the stream.
+     *
+     * @param chunkAfter builds the query for the chunk following the given row ({@code null} for the first).
+     */
+    private Flux<EmployeeDTO> inChunks(Function<EmployeeDTO, DatabaseClient.GenericExecuteSpec> chunkAfter) {
+        return fetchChunk(chunkAfter, null)
+                .expand(chunk -> chunk.size() < chunkSize ? Mono.empty()
+                        : fetchChunk(chunkAfter, chunk.get(chunk.size() - 1)))
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    private Mono<List<EmployeeDTO>> fetchChunk(Function<EmployeeDTO, DatabaseClient.GenericExecuteSpec> chunkAfter,
+                                               EmployeeDTO last) {
+        return chunkAfter.apply(last)
+                .bind("limit", chunkSize)
+                .map(ReactiveEmployeeRepository::toEmployeeDTO)
+                .all()
+                .collectList();
+    }
+
+    private static EmployeeDTO toEmployeeDTO(Readable row) {
+        return new EmployeeDTO(row.get("id", Long.class), row.get("name", String.class),
+                row.get("department", String.class), row.get("salary", Double.class));
+    }
+}
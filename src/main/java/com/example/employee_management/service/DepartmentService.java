@@ -1,20 +1,81 @@
 package com.example.employee_management.service;
 
+import com.example.employee_management.dto.DepartmentStats;
 import com.example.employee_management.entity.Department;
+import com.example.employee_management.event.DepartmentChangedEvent;
+import com.example.employee_management.exception.InvalidPercentileException;
+import com.example.employee_management.index.EmployeeColumns;
 import com.example.employee_management.repository.DepartmentRepository;
-import lombok.AllArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Service class for managing department-related operations.
+ * <p>
+ * Departments are read on every employee write but almost never change, so committed departments are kept
+ * in a name&rarr;department Caffeine cache bounded by {@code max-size}. The unique constraint on {@link Department#getName()}
+ * is the backstop when several application instances create the same department at once.
  */
 @Service
-@AllArgsConstructor
+@Timed(value = "department.service", description = "DepartmentService method latency")
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate requiresNewTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeColumns employeeColumns;
+    private final Cache<String, Department> cache;
+    /** Lookups-or-inserts in flight by name, joined by concurrent misses on the same name. */
+    private final ConcurrentHashMap<String, CompletableFuture<Department>> loading = new ConcurrentHashMap<>();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public DepartmentService(DepartmentRepository departmentRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             ApplicationEventPublisher eventPublisher,
+                             EmployeeColumns employeeColumns,
+                             @Value("${employee.department-cache.max-size:10000}") int cacheMaxSize) {
+        this.departmentRepository = departmentRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.employeeColumns = employeeColumns;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                // Evicts on the writing thread, so the bound holds as soon as a department is cached.
+                .executor(Runnable::run)
+                .build();
+        this.cacheHits = Counter.builder("department.cache.requests").tag("result", "hit")
+                .description("Department cache lookups").register(meterRegistry);
+        this.cacheMisses = Counter.builder("department.cache.requests").tag("result", "miss")
+                .description("Department cache lookups").register(meterRegistry);
+        Gauge.builder("department.cache.size", cache, Cache::estimatedSize)
+                .description("Cached departments").register(meterRegistry);
+    }
 
     /**
      * Retrieves all departments from the repository.
@@ -41,13 +102,204 @@ public class DepartmentService {
     }
 
     /**
-     * Saves the given department to the repository.
+     * Returns the persisted department with the given name, creating it if it does not exist yet.
+     * <p>
+     * Cache hits cost no database round trip. On a miss the first caller for a name looks it up and inserts it
+     * if needed, and concurrent misses on the same name wait for its result, so concurrent first writes to a new
+     * department create one row. The database work runs outside the cache's locks, so a slow query never holds
+     * up other names; another instance inserting the same name is caught by the unique constraint. The insert
+     * commits in its own transaction so only committed departments are ever cached; callers should therefore
+     * not hold a transaction (and its connection) open while calling this method.
+     *
+     * @param departmentName the name of the department to find or create.
+     * @return the persisted department.
+     */
+    public Department findOrCreate(String departmentName) {
+        Department department = cache.getIfPresent(departmentName);
+        if (department != null) {
+            cacheHits.increment();
+            return department;
+        }
+        cacheMisses.increment();
+        return load(departmentName, this::loadOrCreate);
+    }
+
+    /**
+     * Resolves departments by name in one query and creates the missing ones as {@link #findOrCreate} does, each
+     * committed on its own and shared with concurrent callers creating the same name. Cached departments are
+     * served without touching the database. Like {@link #findOrCreate}, this should not be called while holding
+     * a transaction open.
+     *
+     * @param departmentNames the names of the departments to find or create.
+     * @return the departments keyed by name.
+     * @throws IllegalArgumentException if a name is null or blank.
+     */
+    public Map<String, Department> findOrCreateByNames(Collection<String> departmentNames) {
+        Map<String, Department> departments = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String departmentName : departmentNames) {
+            if (departmentName == null || departmentName.isBlank()) {
+                throw new IllegalArgumentException("Department name cannot be empty");
+            }
+            Department department = cache.getIfPresent(departmentName);
+            if (department != null) {
+                cacheHits.increment();
+                departments.put(departmentName, department);
+            } else {
+                cacheMisses.increment();
+                uncached.add(departmentName);
+            }
+        }
+        if (uncached.isEmpty()) {
+            return departments;
+        }
+        for (Department department : departmentRepository.findByNameIn(uncached)) {
+            departments.put(department.getName(), department);
+            cache.asMap().putIfAbsent(department.getName(), department);
+        }
+        for (String departmentName : uncached) {
+            if (!departments.containsKey(departmentName)) {
+                // Just looked up and not found, so go straight to the insert.
+                departments.put(departmentName, load(departmentName, this::create));
+            }
+        }
+        return departments;
+    }
+
+    /**
+     * Saves the given department to the repository. A renamed department is evicted from the cache under
+     * both its old and new name, again after the surrounding transaction commits, and announced with a
+     * {@link DepartmentChangedEvent}.
      *
      * @param department the department to save.
      * @return the saved department.
      */
     public Department saveDepartment(Department department) {
+        if (department.getId() != null) {
+            evict(department);
+        }
         Department savedDepartment = departmentRepository.save(department);
+        if (department.getId() != null) {
+            eventPublisher.publishEvent(new DepartmentChangedEvent(department.getId(), department.getName()));
+        }
         return savedDepartment;
     }
+
+    /**
+     * Deletes the given department, evicts it from the cache and announces the change.
+     *
+     * @param department the department to delete.
+     */
+    public void deleteDepartment(Department department) {
+        departmentRepository.delete(department);
+        evict(department);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(department.getId(), department.getName()));
+    }
+
+    /**
+     * Computes headcount and salary aggregates per department. They are scanned from the in-memory
+     * {@link EmployeeColumns} when loaded, and otherwise aggregated in the database so no employee rows are
+     * transferred; there percentiles, when requested, take one additional grouped query.
+     *
+     * @param departmentNames the departments to report on, or {@code null}/empty for all of them.
+     * @param percentiles     the salary percentiles to add, each within [0, 1], or {@code null}/empty for none.
+     * @return the statistics of each matching department, ordered by name.
+     * @throws InvalidPercentileException if a percentile lies outside [0, 1].
+     */
+    public List<DepartmentStats> getDepartmentStats(Collection<String> departmentNames, List<Double> percentiles) {
+        boolean allDepartments = departmentNames == null || departmentNames.isEmpty();
+        boolean withPercentiles = percentiles != null && !percentiles.isEmpty();
+        if (withPercentiles) {
+            for (Double percentile : percentiles) {
+                if (percentile == null || !(percentile >= 0 && percentile <= 1)) {
+                    throw new InvalidPercentileException("Percentile must be between 0 and 1: " + percentile);
+                }
+            }
+        }
+
+        boolean inMemory = employeeColumns.isReady();
+        List<DepartmentStats> stats;
+        if (inMemory) {
+            stats = employeeColumns.stats(allDepartments ? null : departmentNames);
+        } else {
+            stats = allDepartments ? departmentRepository.findStats()
+                    : departmentRepository.findStatsByNameIn(departmentNames);
+        }
+        if (!withPercentiles) {
+            return stats;
+        }
+        Collection<String> names = allDepartments ? null : departmentNames;
+        Map<String, List<Double>> values = inMemory ? employeeColumns.salaryPercentiles(names, percentiles)
+                : departmentRepository.findSalaryPercentiles(names, percentiles);
+        for (DepartmentStats departmentStats : stats) {
+            List<Double> departmentValues = values.get(departmentStats.getDepartment());
+            Map<String, Double> byPercentile = new LinkedHashMap<>();
+            for (int i = 0; i < percentiles.size(); i++) {
+                byPercentile.put(String.valueOf(percentiles.get(i)),
+                        departmentValues == null ? null : departmentValues.get(i));
+            }
+            departmentStats.setPercentiles(byPercentile);
+        }
+        return stats;
+    }
+
+    /**
+     * Runs {@code loader} for a name missing from the cache and caches its result, or joins the caller already
+     * loading the same name.
+     */
+    private Department load(String departmentName, Function<String, Department> loader) {
+        CompletableFuture<Department> own = new CompletableFuture<>();
+        CompletableFuture<Department> existing = loading.putIfAbsent(departmentName, own);
+        if (existing != null) {
+            return Futures.join(existing);
+        }
+        try {
+            Department department = cache.getIfPresent(departmentName);
+            if (department == null) {
+                department = loader.apply(departmentName);
+                cache.put(departmentName, department);
+            }
+            own.complete(department);
+            return department;
+        } catch (RuntimeException | Error ex) {
+            own.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(departmentName, own);
+        }
+    }
+
+    private Department loadOrCreate(String departmentName) {
+        return departmentRepository.findByName(departmentName).orElseGet(() -> create(departmentName));
+    }
+
+    private Department create(String departmentName) {
+        Department newDepartment = new Department();
+        newDepartment.setName(departmentName);
+        try {
+            return requiresNewTransaction.execute(status -> departmentRepository.saveAndFlush(newDepartment));
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance inserted the same name first; the unique constraint rejected our row.
+            return departmentRepository.findByName(departmentName).orElseThrow(() -> ex);
+        }
+    }
+
+    /**
+     * Removes every cache entry for the department's id or name. When a transaction is active the eviction
+     * is repeated after commit, so a concurrent reader cannot re-cache the pre-commit state.
+     */
+    private void evict(Department department) {
+        Runnable eviction = () -> cache.asMap().entrySet().removeIf(entry ->
+                entry.getKey().equals(department.getName())
+                        || (department.getId() != null && department.getId().equals(entry.getValue().getId())));
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
 }
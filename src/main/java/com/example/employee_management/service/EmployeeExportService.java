@@ -0,0 +1,108 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting all employees without materializing them in memory.
+ * <p>
+ * Rows are read through a forward-only {@link Stream} projection and written to the output as they
+ * arrive, so memory stays flat regardless of the number of employees.
+ */
+@Service
+@AllArgsConstructor
+public class EmployeeExportService {
+
+    /**
+     * Number of rows written between explicit flushes. The first row is always flushed immediately.
+     */
+    static final int FLUSH_INTERVAL = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams every employee, ordered by id, to the given output stream.
+     *
+     * @param format       the output format.
+     * @param outputStream the stream to write to; it is flushed but not closed.
+     * @throws IOException if writing to the output stream fails.
+     */
+    @Transactional
+    public void exportEmployees(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<EmployeeDTO> employees = employeeRepository.streamAllAsDTOs()) {
+            switch (format) {
+                case NDJSON -> writeNdjson(employees.iterator(), outputStream);
+                case CSV -> writeCsv(employees.iterator(), outputStream);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<EmployeeDTO> employees, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(EmployeeDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Each record is terminated by a newline below; suppress Jackson's default space separator.
+            generator.setRootValueSeparator(null);
+            long rows = 0;
+            while (employees.hasNext()) {
+                writer.writeValue(generator, employees.next());
+                generator.writeRaw('\n');
+                if (++rows == 1 || rows % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<EmployeeDTO> employees, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("id,name,department,salary\n");
+        long rows = 0;
+        while (employees.hasNext()) {
+            EmployeeDTO employee = employees.next();
+            writer.write(employee.getId() == null ? "" : employee.getId().toString());
+            writer.write(',');
+            writer.write(csvField(employee.getName()));
+            writer.write(',');
+            writer.write(csvField(employee.getDepartment()));
+            writer.write(',');
+            writer.write(Double.toString(employee.getSalary()));
+            writer.write('\n');
+            if (++rows == 1 || rows % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Quotes a CSV field as described in RFC 4180 when it contains a separator, quote or line break.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
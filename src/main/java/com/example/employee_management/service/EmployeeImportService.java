@@ -0,0 +1,175 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.dto.BatchImportResult;
+import com.example.employee_management.dto.BatchImportRowResult;
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.dto.EmployeeKey;
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.entity.Employee;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.exception.BatchTooLargeException;
+import com.example.employee_management.index.EmployeeKeyFilter;
+import com.example.employee_management.mapper.EmployeeMapper;
+import com.example.employee_management.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service class for importing employees in bulk.
+ * <p>
+ * The departments of the whole batch are resolved in one query and the missing ones created, each committed
+ * on its own, before the import transaction starts. Rows are then processed in chunks: each chunk checks for
+ * existing employees in one set-based query, limited to the rows the {@link EmployeeKeyFilter} cannot rule out,
+ * and inserts the new rows in JDBC batches, instead of the round trips per row that
+ * {@link EmployeeService#saveEmployee(EmployeeDTO)} needs.
+ */
+@Service
+@AllArgsConstructor
+public class EmployeeImportService {
+
+    static final int MAX_BATCH_SIZE = 100_000;
+    static final int CHUNK_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentService departmentService;
+    private final EmployeeMapper employeeMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeKeyFilter employeeKeyFilter;
+
+    /**
+     * Imports the given employees, skipping rows that are invalid or already exist in their department.
+     *
+     * @param employeeDTOs the employees to import.
+     * @return the per-row outcome of the import, in submission order.
+     * @throws BatchTooLargeException if more than {@value #MAX_BATCH_SIZE} rows are submitted.
+     */
+    public BatchImportResult importEmployees(List<EmployeeDTO> employeeDTOs) {
+        if (employeeDTOs.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException("A batch may contain at most " + MAX_BATCH_SIZE + " employees");
+        }
+        BatchImportRowResult[] results = new BatchImportRowResult[employeeDTOs.size()];
+        List<Integer> candidates = validate(employeeDTOs, results);
+        if (!candidates.isEmpty()) {
+            Set<String> departmentNames = new HashSet<>();
+            for (int i : candidates) {
+                departmentNames.add(employeeDTOs.get(i).getDepartment());
+            }
+            // Resolved before the transaction starts, as for a single save: a concurrent import or save creating
+            // the same department then shares its row instead of failing this batch on the unique constraint.
+            Map<String, Department> departments = departmentService.findOrCreateByNames(departmentNames);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int start = 0; start < candidates.size(); start += CHUNK_SIZE) {
+                    importChunk(employeeDTOs, candidates.subList(start,
+                            Math.min(start + CHUNK_SIZE, candidates.size())), departments, results);
+                }
+            });
+        }
+
+        BatchImportResult result = new BatchImportResult(0, 0, 0, Arrays.asList(results));
+        for (BatchImportRowResult rowResult : results) {
+            switch (rowResult.getStatus()) {
+                case CREATED -> result.setCreated(result.getCreated() + 1);
+                case CONFLICT -> result.setConflicts(result.getConflicts() + 1);
+                case INVALID -> result.setInvalid(result.getInvalid() + 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reports rows that are invalid or repeat an earlier row of the batch.
+     *
+     * @return the indexes of the remaining rows.
+     */
+    private List<Integer> validate(List<EmployeeDTO> employeeDTOs, BatchImportRowResult[] results) {
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> seenKeys = new HashSet<>();
+        for (int i = 0; i < employeeDTOs.size(); i++) {
+            EmployeeDTO employeeDTO = employeeDTOs.get(i);
+            if (employeeDTO == null) {
+                results[i] = new BatchImportRowResult(i, BatchImportRowResult.Status.INVALID,
+                        "Employee cannot be empty");
+                continue;
+            }
+            Set<ConstraintViolation<EmployeeDTO>> violations = validator.validate(employeeDTO);
+            if (!violations.isEmpty()) {
+                results[i] = new BatchImportRowResult(i, BatchImportRowResult.Status.INVALID,
+                        violations.iterator().next().getMessage());
+            } else if (!seenKeys.add(employeeDTO.getDepartment() + '\u0000' + employeeDTO.getName())) {
+                results[i] = new BatchImportRowResult(i, BatchImportRowResult.Status.CONFLICT,
+                        "Duplicate employee within the batch");
+            } else {
+                candidates.add(i);
+            }
+        }
+        return candidates;
+    }
+
+    private void importChunk(List<EmployeeDTO> employeeDTOs, List<Integer> candidates,
+                             Map<String, Department> departments, BatchImportRowResult[] results) {
+        // Only rows the filter cannot rule out are looked up; a chunk of new hires skips the query entirely.
+        List<EmployeeKey> lookups = new ArrayList<>();
+        Set<Long> departmentIds = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (int i : candidates) {
+            EmployeeDTO employeeDTO = employeeDTOs.get(i);
+            long departmentId = departments.get(employeeDTO.getDepartment()).getId();
+            if (employeeKeyFilter.mightContain(departmentId, employeeDTO.getName())) {
+                lookups.add(new EmployeeKey(departmentId, employeeDTO.getName()));
+                departmentIds.add(departmentId);
+                names.add(employeeDTO.getName());
+            }
+        }
+        Set<EmployeeKey> existingKeys = lookups.isEmpty() ? Set.of()
+                : new HashSet<>(employeeRepository.findKeysByDepartmentIdsAndNames(departmentIds, names));
+        for (EmployeeKey key : lookups) {
+            employeeKeyFilter.recordLookup(existingKeys.contains(key));
+        }
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : candidates) {
+            EmployeeDTO employeeDTO = employeeDTOs.get(i);
+            Department department = departments.get(employeeDTO.getDepartment());
+            if (existingKeys.contains(new EmployeeKey(department.getId(), employeeDTO.getName()))) {
+                results[i] = new BatchImportRowResult(i, BatchImportRowResult.Status.CONFLICT,
+                        "Employee with name " + employeeDTO.getName() + " already exists in department "
+                                + employeeDTO.getDepartment());
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<Employee> employees = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            EmployeeDTO employeeDTO = employeeDTOs.get(i);
+            Employee employee = employeeMapper.employeeDTOToEmployee(employeeDTO);
+            employee.setDepartment(departments.get(employeeDTO.getDepartment()));
+            employees.add(employee);
+            results[i] = new BatchImportRowResult(i, BatchImportRowResult.Status.CREATED, null);
+        }
+        employeeRepository.saveAll(employees);
+        eventPublisher.publishEvent(EmployeesCreatedEvent.of(employees));
+        // Push the chunk out as JDBC batches and drop it from the persistence context so later chunks
+        // do not pay for dirty-checking every row imported so far.
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.dto.BatchImportResult;
+import com.example.employee_management.dto.BatchImportRowResult;
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.dto.IngestionStatus;
+import com.example.employee_management.exception.DuplicateEmployeeException;
+import com.example.employee_management.exception.IngestionNotFoundException;
+import com.example.employee_management.exception.ServiceOverloadedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for ingesting employees asynchronously with group commit.
+ * <p>
+ * Accepted employees are put on a bounded in-memory queue and answered immediately with a tracking id. A
+ * single committer thread drains the queue in batches of up to {@code batch-size} employees, or whatever
+ * arrived within {@code max-delay} of the oldest one, and saves each batch in one transaction through
+ * {@link EmployeeImportService}, so a burst pays for one commit per batch instead of one per employee.
+ * Duplicates are detected as for synchronous saves: against the database and within the batch. If a batch
+ * fails, typically because a concurrent synchronous save won the unique constraint, its employees are saved
+ * one by one so each still gets its own outcome.
+ * <p>
+ * Queued employees live only in memory: they are committed on a graceful shutdown but lost if the process
+ * dies. A full queue is rejected with {@link ServiceOverloadedException} rather than buffered without bound.
+ * <p>
+ * Outcomes can be looked up for {@code status-ttl} after they were last updated, and at most
+ * {@code max-statuses} are kept; past that bound some are evicted early, not necessarily the oldest. Looking up
+ * an expired or evicted status fails with {@link IngestionNotFoundException}, which clients see as 404 Not
+ * Found: the employee has still been saved or rejected, and can be looked for by name.
+ */
+@Slf4j
+@Service
+public class EmployeeIngestionService implements SmartLifecycle {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeService employeeService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final Duration retryAfter;
+    private final BlockingQueue<Ingestion> queue;
+    private final Cache<String, IngestionStatus> statuses;
+    private final Timer commitTimer;
+    private final Timer latencyTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejections;
+    private volatile boolean running;
+    private Thread committer;
+
+    public EmployeeIngestionService(EmployeeImportService employeeImportService,
+                                    EmployeeService employeeService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${employee.ingestion.enabled:false}") boolean enabled,
+                                    @Value("${employee.ingestion.capacity:10000}") int capacity,
+                                    @Value("${employee.ingestion.batch-size:500}") int batchSize,
+                                    @Value("${employee.ingestion.max-delay:20ms}") Duration maxDelay,
+                                    @Value("${employee.ingestion.status-ttl:1h}") Duration statusTtl,
+                                    @Value("${employee.ingestion.max-statuses:100000}") long maxStatuses) {
+        this.employeeImportService = employeeImportService;
+        this.employeeService = employeeService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        // A rejected client should come back once the committer has had time to drain at least one batch.
+        this.retryAfter = maxDelay.compareTo(Duration.ofSeconds(1)) > 0 ? maxDelay : Duration.ofSeconds(1);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusTtl)
+                .maximumSize(maxStatuses)
+                // Evicts on the writing thread, so the bound holds as soon as a status is recorded.
+                .executor(Runnable::run)
+                .build();
+        Gauge.builder("employee.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("Employees waiting to be committed").register(meterRegistry);
+        this.commitTimer = Timer.builder("employee.ingestion.commit")
+                .description("Time to commit one batch of ingested employees").register(meterRegistry);
+        this.latencyTimer = Timer.builder("employee.ingestion.latency")
+                .description("Time from accepting an employee to committing it").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("employee.ingestion.batch.size")
+                .description("Employees committed per batch").register(meterRegistry);
+        this.rejections = Counter.builder("employee.ingestion.rejected")
+                .description("Employees rejected because the ingestion queue was full").register(meterRegistry);
+    }
+
+    /**
+     * Whether asynchronous ingestion is configured; if not, employees are saved synchronously.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an employee to be saved by the committer.
+     *
+     * @param employeeDTO the employee to save.
+     * @return the status of the queued employee, carrying its tracking id.
+     * @throws ServiceOverloadedException if the queue is full or ingestion is not running.
+     */
+    public IngestionStatus submit(EmployeeDTO employeeDTO) {
+        if (!running) {
+            throw new ServiceOverloadedException("Employee ingestion is not accepting employees", retryAfter);
+        }
+        String id = UUID.randomUUID().toString();
+        IngestionStatus status = new IngestionStatus(id, IngestionStatus.Status.QUEUED, null);
+        // Recorded before queueing, so the committer's outcome can never be overwritten by it.
+        statuses.put(id, status);
+        if (!queue.offer(new Ingestion(id, employeeDTO, System.nanoTime()))) {
+            statuses.invalidate(id);
+            rejections.increment();
+            throw new ServiceOverloadedException("Employee ingestion queue is full", retryAfter);
+        }
+        return status;
+    }
+
+    /**
+     * Looks up the status of a queued employee.
+     *
+     * @param id the tracking id returned when the employee was accepted.
+     * @return the current status.
+     * @throws IngestionNotFoundException if the id is unknown or its status has expired or been evicted.
+     */
+    public IngestionStatus getStatus(String id) {
+        IngestionStatus status = statuses.getIfPresent(id);
+        if (status == null) {
+            throw new IngestionNotFoundException("Ingestion not found");
+        }
+        return status;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        committer = Thread.ofPlatform().name("employee-ingestion").daemon().start(this::drain);
+    }
+
+    /**
+     * Stops accepting employees and waits for the committer to commit the ones already queued.
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            committer.join(SHUTDOWN_TIMEOUT);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} queued employees were not committed before shutdown", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so no request is accepted that cannot be committed.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void drain() {
+        List<Ingestion> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Ingestion first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.queuedAt() + maxDelayNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Ingestion next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Failed to commit a batch of {} employees", batch.size(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void commit(List<Ingestion> batch) {
+        long start = System.nanoTime();
+        List<EmployeeDTO> employees = batch.stream().map(Ingestion::employee).toList();
+        try {
+            BatchImportResult result = employeeImportService.importEmployees(employees);
+            for (int i = 0; i < batch.size(); i++) {
+                BatchImportRowResult row = result.getResults().get(i);
+                IngestionStatus.Status status = switch (row.getStatus()) {
+                    case CREATED -> IngestionStatus.Status.CREATED;
+                    case CONFLICT -> IngestionStatus.Status.CONFLICT;
+                    case INVALID -> IngestionStatus.Status.INVALID;
+                };
+                complete(batch.get(i), status, status == IngestionStatus.Status.CONFLICT
+                        ? duplicateMessage(batch.get(i).employee()) : row.getMessage());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Batch of {} employees failed, saving them one by one", batch.size(), ex);
+            for (Ingestion ingestion : batch) {
+                saveOne(ingestion);
+            }
+        }
+        long end = System.nanoTime();
+        commitTimer.record(end - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+        for (Ingestion ingestion : batch) {
+            latencyTimer.record(end - ingestion.queuedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void saveOne(Ingestion ingestion) {
+        try {
+            employeeService.saveEmployee(ingestion.employee());
+            complete(ingestion, IngestionStatus.Status.CREATED, null);
+        } catch (DuplicateEmployeeException ex) {
+            complete(ingestion, IngestionStatus.Status.CONFLICT, ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("Failed to save ingested employee {}", ingestion.id(), ex);
+            complete(ingestion, IngestionStatus.Status.FAILED, "Employee could not be saved");
+        }
+    }
+
+    private void complete(Ingestion ingestion, IngestionStatus.Status status, String message) {
+        statuses.put(ingestion.id(), new IngestionStatus(ingestion.id(), status, message));
+    }
+
+    private static String duplicateMessage(EmployeeDTO employeeDTO) {
+        return "Employee with name " + employeeDTO.getName() + " already exists in department "
+                + employeeDTO.getDepartment();
+    }
+
+    record Ingestion(String id, EmployeeDTO employee, long queuedAt) {
+    }
+}
@@ -1,43 +1,75 @@
 package com.example.employee_management.service;
 
+import com.example.employee_management.cache.DataVersions;
 import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.dto.EmployeePage;
+import com.example.employee_management.dto.SalaryEntry;
 import com.example.employee_management.entity.Department;
 import com.example.employee_management.entity.Employee;
 import com.example.employee_management.exception.DuplicateEmployeeException;
+import com.example.employee_management.event.EmployeesCreatedEvent;
 import com.example.employee_management.exception.EmployeeNotFoundException;
+import com.example.employee_management.exception.IdempotencyKeyReusedException;
+import com.example.employee_management.exception.InvalidSearchQueryException;
+import com.example.employee_management.index.EmployeeKeyFilter;
+import com.example.employee_management.index.NameIndex;
+import com.example.employee_management.index.SalaryIndex;
 import com.example.employee_management.mapper.EmployeeMapper;
 import com.example.employee_management.repository.EmployeeRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service class for managing employees.
+ * <p>
+ * Department and salary pages are read through the {@link ReadCoalescer}, so identical concurrent requests for the
+ * same version of the data share one query.
  */
 @Service
+@Timed(value = "employee.service", description = "EmployeeService method latency")
 @AllArgsConstructor
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
     private final EmployeeMapper employeeMapper;
     private final DepartmentService departmentService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SalaryIndex salaryIndex;
+    private final NameIndex nameIndex;
+    private final IdempotentRequests idempotentRequests;
+    private final DataVersions dataVersions;
+    private final ReadCoalescer readCoalescer;
+    private final EmployeeKeyFilter employeeKeyFilter;
+
+    static final int DEFAULT_SEARCH_LIMIT = 20;
 
     /**
-     * Retrieve all employees from the database.
+     * Retrieve one keyset page of employees ordered by id.
      *
-     * @return A list of all employees as DTOs.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested page size, clamped to {@link KeysetPagination#MAX_PAGE_SIZE}.
+     * @return The page of employees as DTOs and the cursor of the next page.
      */
-    public List<EmployeeDTO> getAllEmployees() {
-        return Optional.of(employeeRepository.findAll())
-                .map(employees -> employees.stream()
-                        .map(employeeMapper::employeeToEmployeeDTO)
-                        .collect(Collectors.toList()))
-                .orElseGet(Collections::emptyList);
+    public EmployeePage getAllEmployees(String cursor, Integer limit) {
+        int pageSize = KeysetPagination.pageSize(limit);
+        List<EmployeeDTO> employees = employeeRepository.findDTOsAfterId(
+                KeysetPagination.decode(cursor), KeysetPagination.probeLimit(pageSize));
+        return toPage(employees, pageSize);
     }
 
     /**
@@ -46,57 +78,269 @@ public class EmployeeService {
      * @param employeeDTO The DTO representing the employee to be saved.
      * @throws DuplicateEmployeeException if an employee with the same name already exists in the department.
      */
-    @Transactional
     public void saveEmployee(EmployeeDTO employeeDTO) throws DuplicateEmployeeException {
-        Department department = departmentService.findByName(employeeDTO.getDepartment());
-        department = departmentService.saveDepartment(department);
-
-        Optional<Employee> existingEmployee = employeeRepository
-                .findByNameAndDepartment(employeeDTO.getName(), department);
-        existingEmployee.ifPresent(emp -> {
-            throw new DuplicateEmployeeException("Employee with name " + employeeDTO.getName() +
-                    " already exists in department " + employeeDTO.getDepartment());
-        });
-        Employee employee = employeeMapper.employeeDTOToEmployee(employeeDTO);
-        employee.setDepartment(department);
-        employeeRepository.save(employee);
+        saveEmployee(employeeDTO, null);
+    }
+
+    /**
+     * Save a new employee to the database, at most once per idempotency key.
+     * <p>
+     * Saves take no application lock. When concurrent saves of the same employee, here or on another instance,
+     * all pass the duplicate lookup, the unique constraint on (name, department) lets exactly one of them commit
+     * and the others are reported as duplicates. The duplicate lookup is skipped for employees the
+     * {@link EmployeeKeyFilter} rules out, which is almost every new hire.
+     *
+     * @param employeeDTO    The DTO representing the employee to be saved.
+     * @param idempotencyKey The client-supplied key of the request, or null. A retry with the key of a request
+     *                       that succeeded returns without saving again.
+     * @return true if this call saved the employee, false if it replayed an earlier request with the same key.
+     * @throws DuplicateEmployeeException if an employee with the same name already exists in the department.
+     * @throws IdempotencyKeyReusedException if the key was already used for a different employee.
+     */
+    public boolean saveEmployee(EmployeeDTO employeeDTO, String idempotencyKey) throws DuplicateEmployeeException {
+        List<Object> fingerprint = List.of(employeeDTO.getName(), employeeDTO.getDepartment(),
+                employeeDTO.getSalary());
+        return idempotentRequests.runOnce(idempotencyKey, fingerprint, () -> insertEmployee(employeeDTO));
+    }
+
+    private void insertEmployee(EmployeeDTO employeeDTO) {
+        // Resolved before the transaction starts: a new department commits on its own, so the employee
+        // transaction never holds one connection while waiting for another.
+        Department department = departmentService.findOrCreate(employeeDTO.getDepartment());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (employeeKeyFilter.mightContain(department.getId(), employeeDTO.getName())) {
+                    Optional<Employee> existingEmployee = employeeRepository
+                            .findByNameAndDepartment(employeeDTO.getName(), department);
+                    employeeKeyFilter.recordLookup(existingEmployee.isPresent());
+                    existingEmployee.ifPresent(emp -> {
+                        throw duplicateEmployee(employeeDTO);
+                    });
+                }
+                Employee employee = employeeMapper.employeeDTOToEmployee(employeeDTO);
+                employee.setDepartment(department);
+                Employee savedEmployee = employeeRepository.save(employee);
+                eventPublisher.publishEvent(EmployeesCreatedEvent.of(List.of(savedEmployee)));
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Lost a race to a concurrent save; report it as a duplicate only if that is what it was.
+            if (employeeRepository.findByNameAndDepartment(employeeDTO.getName(), department).isPresent()) {
+                throw duplicateEmployee(employeeDTO);
+            }
+            throw ex;
+        }
+    }
+
+    private static DuplicateEmployeeException duplicateEmployee(EmployeeDTO employeeDTO) {
+        return new DuplicateEmployeeException("Employee with name " + employeeDTO.getName() +
+                " already exists in department " + employeeDTO.getDepartment());
     }
 
     /**
-     * Retrieve employees by department name.
+     * Retrieve one keyset page of employees by department name.
      *
      * @param department The name of the department to filter employees.
-     * @return A list of employees in the specified department as DTOs.
+     * @param cursor     The cursor returned with the previous page, or null for the first page.
+     * @param limit      The requested page size, clamped to {@link KeysetPagination#MAX_PAGE_SIZE}.
+     * @return The page of employees in the specified department as DTOs and the cursor of the next page.
      */
-    public List<EmployeeDTO> getEmployeesByDepartment(String department) {
-        return employeeRepository.findByDepartmentName(department)
-                .map(employees -> employees.stream()
-                        .map(employeeMapper::employeeToEmployeeDTO)
-                        .collect(Collectors.toList()))
-                .orElseGet(Collections::emptyList);
+    public EmployeePage getEmployeesByDepartment(String department, String cursor, Integer limit) {
+        int pageSize = KeysetPagination.pageSize(limit);
+        long afterId = KeysetPagination.decode(cursor);
+        return readCoalescer.execute("department",
+                List.of(dataVersions.departmentTag(department), department, afterId, pageSize), () -> {
+                    List<EmployeeDTO> employees = employeeRepository.findDTOsByDepartmentNameAfterId(
+                            department, afterId, KeysetPagination.probeLimit(pageSize));
+                    return toPage(employees, pageSize);
+                });
     }
 
     /**
-     * Retrieve employees by salary, optionally filtered by whether it's greater than or equal to the specified value.
+     * Retrieve one keyset page of employees by salary, filtered by whether it's greater than or
+     * less than or equal to the specified value.
      *
      * @param salary        The salary threshold for filtering employees.
      * @param isGreaterThan A flag indicating whether to filter employees with salary greater than the threshold.
-     * @return A list of employees meeting the specified salary criteria as DTOs.
+     * @param cursor        The cursor returned with the previous page, or null for the first page.
+     * @param limit         The requested page size, clamped to {@link KeysetPagination#MAX_PAGE_SIZE}.
+     * @return The page of employees meeting the specified salary criteria as DTOs and the cursor of the next page.
+     */
+    public EmployeePage getEmployeesBySalary(double salary, boolean isGreaterThan, String cursor, Integer limit) {
+        int pageSize = KeysetPagination.pageSize(limit);
+        long afterId = KeysetPagination.decode(cursor);
+        return readCoalescer.execute("salary",
+                List.of(dataVersions.globalTag(), salary, isGreaterThan, afterId, pageSize),
+                () -> findEmployeesBySalary(salary, isGreaterThan, afterId, pageSize));
+    }
+
+    private EmployeePage findEmployeesBySalary(double salary, boolean isGreaterThan, long afterId, int pageSize) {
+        Limit probeLimit = KeysetPagination.probeLimit(pageSize);
+        List<EmployeeDTO> employees = isGreaterThan ?
+                employeeRepository.findDTOsBySalaryGreaterThanAfterId(salary, afterId, probeLimit) :
+                employeeRepository.findDTOsBySalaryLessThanEqualAfterId(salary, afterId, probeLimit);
+        return toPage(employees, pageSize);
+    }
+
+    /**
+     * Retrieve one keyset page of employees whose salary lies in [min, max].
+     * <p>
+     * Salary-ordered pages are answered from the in-memory {@link SalaryIndex} when it is loaded, so only the
+     * rows on the page are read from the database; otherwise the (salary, id) index serves them.
+     * The first page of {@link SalarySort#SALARY_DESC} is the top-N earners in the range.
+     *
+     * @param min    The inclusive lower salary bound, or null for no lower bound.
+     * @param max    The inclusive upper salary bound, or null for no upper bound.
+     * @param sort   The order of the page.
+     * @param cursor The cursor returned with the previous page of the same query, or null for the first page.
+     * @param limit  The requested page size, clamped to {@link KeysetPagination#MAX_PAGE_SIZE}.
+     * @return The page of employees in the salary range as DTOs and the cursor of the next page.
+     */
+    public EmployeePage getEmployeesBySalaryRange(Double min, Double max, SalarySort sort, String cursor,
+                                                  Integer limit) {
+        int pageSize = KeysetPagination.pageSize(limit);
+        double lower = min == null ? -Double.MAX_VALUE : min;
+        double upper = max == null ? Double.MAX_VALUE : max;
+        // Decoded so that equivalent cursors share a read, and a malformed one fails before joining any.
+        Object after = sort == SalarySort.ID
+                ? KeysetPagination.decode(cursor) : KeysetPagination.decodeSalaryKey(cursor);
+        return readCoalescer.execute("salary-range",
+                Arrays.asList(dataVersions.globalTag(), lower, upper, sort, after, pageSize),
+                () -> findEmployeesBySalaryRange(lower, upper, sort, cursor, pageSize));
+    }
+
+    private EmployeePage findEmployeesBySalaryRange(double lower, double upper, SalarySort sort, String cursor,
+                                                    int pageSize) {
+        Limit probeLimit = KeysetPagination.probeLimit(pageSize);
+        if (sort == SalarySort.ID) {
+            long afterId = KeysetPagination.decode(cursor);
+            List<EmployeeDTO> employees =
+                    employeeRepository.findDTOsBySalaryBetweenAfterId(lower, upper, afterId, probeLimit);
+            return toPage(employees, pageSize);
+        }
+
+        boolean descending = sort == SalarySort.SALARY_DESC;
+        SalaryEntry after = KeysetPagination.decodeSalaryKey(cursor);
+        List<EmployeeDTO> employees;
+        if (salaryIndex.isReady()) {
+            List<SalaryEntry> entries = salaryIndex.page(lower, upper, descending, after, pageSize + 1);
+            employees = findAllInOrder(entries.stream().map(SalaryEntry::id).toList());
+        } else if (descending) {
+            employees = employeeRepository.findSalaryRangeDescending(lower, upper,
+                    after == null ? Double.MAX_VALUE : after.salary(),
+                    after == null ? Long.MAX_VALUE : after.id(), probeLimit);
+        } else {
+            employees = employeeRepository.findSalaryRangeAscending(lower, upper,
+                    after == null ? -Double.MAX_VALUE : after.salary(),
+                    after == null ? Long.MIN_VALUE : after.id(), probeLimit);
+        }
+
+        boolean hasNext = employees.size() > pageSize;
+        List<EmployeeDTO> pageContent = hasNext ? employees.subList(0, pageSize) : employees;
+        EmployeeDTO last = hasNext ? pageContent.get(pageSize - 1) : null;
+        String nextCursor = last != null ? KeysetPagination.encode(last.getSalary(), last.getId()) : null;
+        return new EmployeePage(pageContent, nextCursor);
+    }
+
+    /**
+     * Count the employees whose salary lies in [min, max], from the in-memory {@link SalaryIndex} when loaded.
+     *
+     * @param min The inclusive lower salary bound, or null for no lower bound.
+     * @param max The inclusive upper salary bound, or null for no upper bound.
+     * @return The number of employees in the range.
      */
-    public List<EmployeeDTO> getEmployeesBySalary(double salary, boolean isGreaterThan) {
-        List<Employee> employees = isGreaterThan ?
-                employeeRepository.findBySalaryGreaterThan(salary).orElse(Collections.emptyList()) :
-                employeeRepository.findBySalaryLessThanEqual(salary).orElse(Collections.emptyList());
-
-        return employees.stream()
-                .map(employeeMapper::employeeToEmployeeDTO)
-                .collect(Collectors.toList());
+    public long countEmployeesBySalaryRange(Double min, Double max) {
+        double lower = min == null ? -Double.MAX_VALUE : min;
+        double upper = max == null ? Double.MAX_VALUE : max;
+        if (salaryIndex.isReady()) {
+            return salaryIndex.count(lower, upper);
+        }
+        return employeeRepository.countBySalaryBetween(lower, upper);
     }
 
+    /**
+     * Retrieve an employee by id. The employee and its department are loaded as entities so both can be
+     * served from the second-level cache; a fully cached read issues no SQL.
+     *
+     * @param employeeId The id of the employee.
+     * @return The employee as a DTO.
+     * @throws EmployeeNotFoundException if no employee has the given id.
+     */
     public EmployeeDTO getEmployeeById(long employeeId) {
-        Employee employee= employeeRepository.findById(employeeId)
+        return transactionTemplate.execute(status -> employeeRepository.findById(employeeId)
+                        .map(employeeMapper::employeeToEmployeeDTO))
                 .orElseThrow(()->new EmployeeNotFoundException("Employee not found"));
-        return employeeMapper.employeeToEmployeeDTO(employee);
+    }
+
+    /**
+     * Search employees by name, ignoring case, best match first.
+     * <p>
+     * Answered from the in-memory {@link NameIndex} when it is loaded, so only the returned rows are read from
+     * the database. The index ranks names starting with the query first (an exact match first), then names with
+     * a later word starting with it, both in alphabetical order of the matched text, then any other substring in
+     * index order; queries shorter than three characters match the start of a word only. Until the index is
+     * loaded the database ranks the exact name first, then names starting with the query, then any other
+     * substring, each group in alphabetical order of the name and then by id.
+     * <p>
+     * A department-scoped search walks the matches of every department and skips the others, see
+     * {@link NameIndex#search}.
+     *
+     * @param query      The text to search for.
+     * @param department The name of the department to search in, or null for all departments.
+     * @param limit      The maximum number of results, {@value #DEFAULT_SEARCH_LIMIT} if null, clamped to
+     *                   {@link KeysetPagination#MAX_PAGE_SIZE}.
+     * @return The best matching employees as DTOs, best match first.
+     * @throws InvalidSearchQueryException if the query is blank.
+     */
+    public List<EmployeeDTO> searchEmployeesByName(String query, String department, Integer limit) {
+        int size = KeysetPagination.pageSize(limit == null ? DEFAULT_SEARCH_LIMIT : limit);
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException("Search text cannot be empty");
+        }
+        String normalized = query.strip().toLowerCase(Locale.ROOT);
+        if (!nameIndex.isReady()) {
+            String escaped = normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            return employeeRepository.searchDTOsByName(normalized, "%" + escaped + "%", escaped + "%", department,
+                    Limit.of(size));
+        }
+        Long departmentId = null;
+        if (department != null) {
+            departmentId = departmentService.findByName(department).getId();
+            if (departmentId == null) {
+                return List.of();
+            }
+        }
+        return findAllInOrder(nameIndex.search(normalized, departmentId, size));
+    }
+
+    /**
+     * Loads the employees for index entries in one query, keeping the index order. Ids whose row is gone are
+     * skipped.
+     */
+    private List<EmployeeDTO> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EmployeeDTO> employeesById = employeeRepository.findDTOsByIdIn(ids).stream()
+                .collect(Collectors.toMap(EmployeeDTO::getId, Function.identity()));
+        List<EmployeeDTO> employees = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EmployeeDTO employee = employeesById.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Trims the probe row off a keyset query result and derives the next cursor from it.
+     */
+    private EmployeePage toPage(List<EmployeeDTO> employees, int pageSize) {
+        boolean hasNext = employees.size() > pageSize;
+        List<EmployeeDTO> pageContent = hasNext ? employees.subList(0, pageSize) : employees;
+        String nextCursor = hasNext ? KeysetPagination.encode(pageContent.get(pageSize - 1).getId()) : null;
+        return new EmployeePage(pageContent, nextCursor);
     }
 
 }
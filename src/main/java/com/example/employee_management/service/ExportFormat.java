@@ -0,0 +1,38 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.exception.UnsupportedExportFormatException;
+import org.springframework.http.MediaType;
+
+/**
+ * Output formats supported by the streaming employee export.
+ */
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves a format by its case-insensitive name.
+     *
+     * @param name the requested format, e.g. {@code ndjson} or {@code csv}.
+     * @return the matching format.
+     * @throws UnsupportedExportFormatException if no format matches.
+     */
+    public static ExportFormat fromName(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new UnsupportedExportFormatException("Unsupported export format: " + name);
+    }
+}
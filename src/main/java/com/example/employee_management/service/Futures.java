@@ -0,0 +1,31 @@
+package com.example.employee_management.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers for callers that wait on another caller's in-flight work.
+ */
+final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Waits for the future and returns its result, rethrowing the exception it failed with as is rather than
+     * wrapped in a {@link CompletionException}, so a joined caller fails exactly like the one doing the work.
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
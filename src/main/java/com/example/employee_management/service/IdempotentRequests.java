@@ -0,0 +1,85 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.exception.IdempotencyKeyReusedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Remembers the requests completed under a client-supplied {@code Idempotency-Key}, so a retried request is
+ * answered with the original outcome instead of running its transaction again.
+ * <p>
+ * A retry that arrives while the original is still running waits for it. Only successful runs are recorded:
+ * when the original fails, the key is released and the retry runs the action itself. Keys are kept in a
+ * bounded local cache and expire after the configured TTL.
+ */
+@Component
+public class IdempotentRequests {
+
+    private final Cache<String, Execution> executions;
+    private final Counter replays;
+
+    public IdempotentRequests(MeterRegistry meterRegistry,
+                              @Value("${employee.idempotency.max-size:100000}") long maxSize,
+                              @Value("${employee.idempotency.ttl:24h}") Duration ttl) {
+        this.executions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.replays = Counter.builder("employee.idempotency.replays")
+                .description("Requests answered from an earlier run with the same idempotency key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the action unless a request with the same key already ran it.
+     *
+     * @param key         the client-supplied idempotency key, or null to always run the action.
+     * @param fingerprint identifies the request; a key may only be reused for an equal fingerprint.
+     * @param action      the work to run at most once per key.
+     * @return true if this call ran the action, false if it replayed an earlier run.
+     * @throws IdempotencyKeyReusedException if the key was already used for a different request.
+     */
+    public boolean runOnce(String key, Object fingerprint, Runnable action) {
+        if (key == null) {
+            action.run();
+            return true;
+        }
+        Execution execution = new Execution(fingerprint, new CompletableFuture<>());
+        Execution original = executions.asMap().putIfAbsent(key, execution);
+        if (original != null) {
+            if (!original.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(
+                        "Idempotency key " + key + " was already used for a different request");
+            }
+            try {
+                original.completion().join();
+            } catch (CompletionException ex) {
+                // The original run failed and released the key; this retry takes it over.
+                return runOnce(key, fingerprint, action);
+            }
+            replays.increment();
+            return false;
+        }
+
+        try {
+            action.run();
+        } catch (RuntimeException | Error ex) {
+            executions.asMap().remove(key, execution);
+            execution.completion().completeExceptionally(ex);
+            throw ex;
+        }
+        execution.completion().complete(null);
+        return true;
+    }
+
+    private record Execution(Object fingerprint, CompletableFuture<Void> completion) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.dto.SalaryEntry;
+import com.example.employee_management.exception.InvalidCursorException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Helpers for keyset (cursor) pagination ordered by employee id.
+ * <p>
+ * A cursor is the URL-safe Base64 encoding of the last id returned, so the next page
+ * is fetched with {@code id > lastId ORDER BY id LIMIT n}. Unlike OFFSET paging the
+ * database seeks straight to the key, so deep pages cost the same as the first one.
+ * Pages ordered by salary use a composite (salary, id) cursor instead.
+ */
+public final class KeysetPagination {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * Resolves the requested page size, falling back to the default and clamping it to [1, MAX_PAGE_SIZE].
+     *
+     * @param limit the requested page size, may be {@code null}.
+     * @return the effective page size.
+     */
+    public static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Query limit for a page: one row more than the page size so the presence of a next page can be detected.
+     *
+     * @param pageSize the effective page size.
+     * @return the limit to pass to the repository.
+     */
+    public static Limit probeLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    /**
+     * Decodes a cursor into the id after which the page starts.
+     *
+     * @param cursor the opaque cursor, may be {@code null} or blank for the first page.
+     * @return the last id seen, or 0 for the first page.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            byte[] bytes = DECODER.decode(cursor);
+            if (bytes.length != Long.BYTES) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return ByteBuffer.wrap(bytes).getLong();
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encodes the last id of a page into an opaque cursor.
+     *
+     * @param lastId the id of the last row on the page.
+     * @return the cursor for the next page.
+     */
+    public static String encode(long lastId) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastId).array());
+    }
+
+    /**
+     * Decodes a salary-ordered cursor into the (salary, id) key of the last row seen.
+     *
+     * @param cursor the opaque cursor, may be {@code null} or blank for the first page.
+     * @return the last key seen, or {@code null} for the first page.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    public static SalaryEntry decodeSalaryKey(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] bytes = DECODER.decode(cursor);
+            if (bytes.length != Double.BYTES + Long.BYTES) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            double salary = buffer.getDouble();
+            return new SalaryEntry(buffer.getLong(), salary);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encodes the (salary, id) key of the last row of a salary-ordered page into an opaque cursor.
+     *
+     * @param lastSalary the salary of the last row on the page.
+     * @param lastId     the id of the last row on the page.
+     * @return the cursor for the next page.
+     */
+    public static String encode(double lastSalary, long lastId) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Double.BYTES + Long.BYTES)
+                .putDouble(lastSalary).putLong(lastId).array());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.repository.ReactiveEmployeeRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service class for streaming employee reads over the reactive repository.
+ */
+@Service
+@AllArgsConstructor
+public class ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+    /**
+     * Stream every employee ordered by id.
+     *
+     * @param limit The maximum number of employees to emit, or null for all of them.
+     * @return The employees as DTOs.
+     */
+    public Flux<EmployeeDTO> streamAllEmployees(Long limit) {
+        return limit(reactiveEmployeeRepository.findAll(), limit);
+    }
+
+    /**
+     * Stream the employees of a department ordered by id.
+     *
+     * @param department The name of the department.
+     * @param limit      The maximum number of employees to emit, or null for all of them.
+     * @return The employees in the department as DTOs.
+     */
+    public Flux<EmployeeDTO> streamEmployeesByDepartment(String department, Long limit) {
+        return limit(reactiveEmployeeRepository.findByDepartmentName(department), limit);
+    }
+
+    /**
+     * Stream the employees whose salary lies in [min, max], ordered by salary.
+     *
+     * @param min   The inclusive lower salary bound, or null for no lower bound.
+     * @param max   The inclusive upper salary bound, or null for no upper bound.
+     * @param limit The maximum number of employees to emit, or null for all of them.
+     * @return The employees in the salary range as DTOs.
+     */
+    public Flux<EmployeeDTO> streamEmployeesBySalary(Double min, Double max, Long limit) {
+        return limit(reactiveEmployeeRepository.findBySalaryBetween(
+                min == null ? -Double.MAX_VALUE : min, max == null ? Double.MAX_VALUE : max), limit);
+    }
+
+    /**
+     * Caps the stream; cancelling upstream after the last row lets the driver stop reading early.
+     */
+    private static Flux<EmployeeDTO> limit(Flux<EmployeeDTO> employees, Long limit) {
+        return limit == null ? employees : employees.take(Math.max(0, limit), true);
+    }
+}
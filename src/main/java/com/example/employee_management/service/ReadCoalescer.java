@@ -0,0 +1,88 @@
+package com.example.employee_management.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent reads into one execution ("single flight"): the first caller for a key runs the
+ * read, and callers arriving with the same key while it is in flight wait for it and share its result, or its
+ * exception, instead of running their own query. Nothing is kept once the read completes, so this is not a cache:
+ * a caller arriving afterwards starts a new execution.
+ * <p>
+ * Callers include the {@link com.example.employee_management.cache.DataVersions data tag} they read before the
+ * key in it, so a caller that has seen a newer version of the data never joins a read that started before it.
+ * <p>
+ * Published as {@code employee.reads} counters tagged by operation and by whether the caller executed the read
+ * or was collapsed onto another caller's.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final ConcurrentHashMap<Flight, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public ReadCoalescer(MeterRegistry meterRegistry,
+                         @Value("${employee.read-coalescing.enabled:false}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Runs a read, or joins the identical one already in flight.
+     *
+     * @param operation the name of the read, also the metric tag.
+     * @param key       the normalized parameters and data tag of the read; equal keys must give equal results.
+     * @param read      the read to run if none is in flight.
+     * @return the result of the read, shared with every caller collapsed onto it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, List<?> key, Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+        Flight flight = new Flight(operation, key);
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flight, own);
+        if (existing != null) {
+            counter(operation, "collapsed").increment();
+            return (T) Futures.join(existing);
+        }
+        counter(operation, "executed").increment();
+        try {
+            T result = read.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            own.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flight, own);
+        }
+    }
+
+    /**
+     * Reads in flight, for tests.
+     */
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private Counter counter(String operation, String result) {
+        return Counter.builder("employee.reads")
+                .description("Reads executed or collapsed onto an identical read in flight")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Flight(String operation, List<?> key) {
+    }
+}
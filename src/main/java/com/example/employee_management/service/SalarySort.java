@@ -0,0 +1,27 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.exception.UnsupportedSortException;
+
+/**
+ * Orderings supported by the salary range query. {@link #ID} pages by id; the salary orderings page by
+ * (salary, id) so ties are broken deterministically.
+ */
+public enum SalarySort {
+    ID, SALARY_ASC, SALARY_DESC;
+
+    /**
+     * Resolves a sort order by its case-insensitive name.
+     *
+     * @param name the requested order, e.g. {@code id}, {@code salary_asc} or {@code salary_desc}.
+     * @return the matching sort order.
+     * @throws UnsupportedSortException if no order matches.
+     */
+    public static SalarySort fromName(String name) {
+        for (SalarySort sort : values()) {
+            if (sort.name().equalsIgnoreCase(name)) {
+                return sort;
+            }
+        }
+        throw new UnsupportedSortException("Unsupported sort: " + name);
+    }
+}
@@ -0,0 +1,468 @@
+package com.example.employee_management.snapshot;
+
+import com.example.employee_management.cache.DataVersions;
+import com.example.employee_management.entity.IdSequences;
+import com.example.employee_management.metrics.SqlProfiler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshots of the department and employee tables, so the in-memory database survives a restart.
+ * <p>
+ * A snapshot is written periodically, when the data has changed since the previous one, and again on shutdown.
+ * Rows are read in one repeatable-read transaction and encoded into a direct buffer that is flushed through a
+ * {@link FileChannel} to a temporary file, which then atomically replaces the previous snapshot. The file is a
+ * header with the row counts, the departments, the employees and a CRC32C of the header followed by the CRC32C of
+ * the rows, so that the row counts are verified along with the rows.
+ * <p>
+ * On startup, before the web server accepts requests and before the in-memory indexes load, an empty database
+ * is restored from the snapshot: the file is memory-mapped, verified against its checksum and inserted with JDBC
+ * batches in a single transaction, after which the id sequences are moved past the restored ids. Any failure rolls
+ * the whole restore back, so the database is either fully restored or still empty. Maintaining the
+ * employee indexes row by row dominates a large restore, so they are dropped for the load and rebuilt afterwards.
+ * A snapshot that fails verification is renamed aside rather than overwritten.
+ * <p>
+ * Write and restore durations are published as the {@code employee.snapshot} timer, tagged by operation.
+ */
+@Slf4j
+@Component
+public class DatabaseSnapshot implements SmartInitializingSingleton {
+
+    static final String FILE_NAME = "employees.snapshot";
+    private static final int MAGIC = 0x454D5053; // "EMPS"
+    private static final int VERSION = 2;
+    /** Magic, version, creation time, department count and employee count. */
+    static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int BATCH_SIZE = 1000;
+    private static final long NO_DEPARTMENT = -1;
+
+    private final DataSource dataSource;
+    private final DataVersions dataVersions;
+    private final Path file;
+    private final boolean enabled;
+    private final Timer writeTimer;
+    private final Timer restoreTimer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private String snapshotVersion;
+
+    public DatabaseSnapshot(DataSource dataSource,
+                            DataVersions dataVersions,
+                            MeterRegistry meterRegistry,
+                            @Value("${employee.snapshot.directory:data}") Path directory,
+                            @Value("${employee.snapshot.enabled:false}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.dataVersions = dataVersions;
+        this.file = directory.resolve(FILE_NAME);
+        this.enabled = enabled;
+        this.writeTimer = Timer.builder("employee.snapshot").tag("operation", "write")
+                .description("Time to write or restore a database snapshot").register(meterRegistry);
+        this.restoreTimer = Timer.builder("employee.snapshot").tag("operation", "restore")
+                .description("Time to write or restore a database snapshot").register(meterRegistry);
+    }
+
+    /**
+     * Restores the snapshot once the schema exists, before the application starts serving.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            restore();
+        }
+    }
+
+    /**
+     * Writes a snapshot if the data changed since the last one.
+     */
+    @Scheduled(fixedDelayString = "${employee.snapshot.interval:PT10M}",
+            initialDelayString = "${employee.snapshot.interval:PT10M}")
+    public void snapshotIfChanged() {
+        if (enabled) {
+            snapshot(false);
+        }
+    }
+
+    /**
+     * Writes a final snapshot while the data source is still open.
+     */
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (enabled) {
+            snapshot(false);
+        }
+    }
+
+    /**
+     * Writes a snapshot of both tables.
+     *
+     * @param force whether to write even if no change was recorded since the last snapshot.
+     * @return whether a snapshot was written.
+     */
+    public boolean snapshot(boolean force) {
+        lock.lock();
+        try {
+            // Read before the rows, like an ETag: a change racing with the snapshot triggers another one.
+            String version = dataVersions.globalTag();
+            if (!force && version.equals(snapshotVersion)) {
+                return false;
+            }
+            long start = System.nanoTime();
+            long[] counts;
+            try (SqlProfiler.Profile ignored = SqlProfiler.startBulk("snapshot")) {
+                counts = write();
+            }
+            long elapsed = System.nanoTime() - start;
+            writeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            snapshotVersion = version;
+            log.info("Wrote snapshot of {} departments and {} employees to {} in {} ms",
+                    counts[0], counts[1], file, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write snapshot " + file, ex);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not read the database for snapshot " + file, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Loads the snapshot into the database if there is one and the database is empty.
+     *
+     * @return whether a snapshot was restored.
+     */
+    public boolean restore() {
+        lock.lock();
+        try {
+            if (!Files.exists(file)) {
+                return false;
+            }
+            long start = System.nanoTime();
+            long[] counts;
+            try (Connection connection = dataSource.getConnection()) {
+                if (!IdSequences.isEmpty(connection)) {
+                    log.info("Database is not empty; not restoring snapshot {}", file);
+                    return false;
+                }
+                try (SqlProfiler.Profile ignored = SqlProfiler.startBulk("snapshot restore")) {
+                    counts = restore(connection);
+                }
+            } catch (CorruptSnapshotException ex) {
+                Path aside = file.resolveSibling(FILE_NAME + ".corrupt-" + System.currentTimeMillis());
+                Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+                log.error("Snapshot {} is unreadable ({}); moved it to {} and starting empty",
+                        file, ex.getMessage(), aside);
+                return false;
+            }
+            long elapsed = System.nanoTime() - start;
+            restoreTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            snapshotVersion = dataVersions.globalTag();
+            log.info("Restored {} departments and {} employees from {} in {} ms",
+                    counts[0], counts[1], file, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read snapshot " + file, ex);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not restore snapshot " + file, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long[] write() throws IOException, SQLException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temporary = file.resolveSibling(FILE_NAME + ".tmp");
+        long[] counts = new long[2];
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            // Both tables must come from the same point in time, or employees could reference missing departments.
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            SnapshotWriter writer = new SnapshotWriter(channel);
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(BATCH_SIZE);
+                try (ResultSet rows = statement.executeQuery("select id, name from department order by id")) {
+                    while (rows.next()) {
+                        writer.ensureRoom(8 + 4 + 4 * lengthOf(rows.getString(2)));
+                        writer.buffer.putLong(rows.getLong(1));
+                        writer.putString(rows.getString(2));
+                        counts[0]++;
+                    }
+                }
+                try (ResultSet rows = statement.executeQuery(
+                        "select id, name, salary, department_id from employee order by id")) {
+                    while (rows.next()) {
+                        String name = rows.getString(2);
+                        long departmentId = rows.getLong(4);
+                        if (rows.wasNull()) {
+                            departmentId = NO_DEPARTMENT;
+                        }
+                        writer.ensureRoom(8 + 8 + 8 + 4 + 4 * lengthOf(name));
+                        writer.buffer.putLong(rows.getLong(1));
+                        writer.buffer.putDouble(rows.getDouble(3));
+                        writer.buffer.putLong(departmentId);
+                        writer.putString(name);
+                        counts[1]++;
+                    }
+                }
+            } finally {
+                connection.commit();
+            }
+            writer.finish(counts[0], counts[1]);
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return counts;
+    }
+
+    private long[] restore(Connection connection) throws IOException, SQLException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new CorruptSnapshotException("larger than 2 GB");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        long departments;
+        long employees;
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new CorruptSnapshotException("not a version " + VERSION + " snapshot");
+            }
+            buffer.getLong(); // creation time
+            departments = buffer.getLong();
+            employees = buffer.getLong();
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(HEADER_SIZE, buffer.limit() - HEADER_SIZE - 8));
+            if (checksum(buffer.slice(0, HEADER_SIZE), crc.getValue()) != buffer.getLong(buffer.limit() - 8)) {
+                throw new CorruptSnapshotException("checksum mismatch");
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new CorruptSnapshotException("truncated");
+        }
+
+        List<String> deferredIndexes = dropEmployeeIndexes(connection);
+        try (Statement statement = connection.createStatement()) {
+            // The rows come from one consistent snapshot, so foreign keys need not be checked row by row.
+            statement.execute("set referential_integrity false");
+        }
+        connection.setAutoCommit(false);
+        try {
+            long maxDepartmentId = 0;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into department (id, name) values (?, ?)")) {
+                for (long i = 1; i <= departments; i++) {
+                    long id = buffer.getLong();
+                    insert.setLong(1, id);
+                    insert.setString(2, getString(buffer));
+                    insert.addBatch();
+                    maxDepartmentId = Math.max(maxDepartmentId, id);
+                    if (i % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            long maxEmployeeId = 0;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into employee (id, salary, department_id, name) values (?, ?, ?, ?)")) {
+                for (long i = 1; i <= employees; i++) {
+                    long id = buffer.getLong();
+                    insert.setLong(1, id);
+                    insert.setDouble(2, buffer.getDouble());
+                    long departmentId = buffer.getLong();
+                    if (departmentId == NO_DEPARTMENT) {
+                        insert.setNull(3, Types.BIGINT);
+                    } else {
+                        insert.setLong(3, departmentId);
+                    }
+                    insert.setString(4, getString(buffer));
+                    insert.addBatch();
+                    maxEmployeeId = Math.max(maxEmployeeId, id);
+                    if (i % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            if (buffer.remaining() != 8) {
+                throw new CorruptSnapshotException("unexpected data after the rows");
+            }
+            IdSequences.restartAbove(connection, maxDepartmentId, maxEmployeeId);
+            connection.commit();
+        } catch (SQLException | IOException | RuntimeException ex) {
+            // Leaving auto-commit below would commit whatever was inserted so far.
+            connection.rollback();
+            if (ex instanceof BufferUnderflowException) {
+                throw new CorruptSnapshotException("truncated");
+            }
+            throw ex;
+        } finally {
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set referential_integrity true");
+                for (String index : deferredIndexes) {
+                    statement.execute(index);
+                }
+            }
+        }
+        return new long[]{departments, employees};
+    }
+
+    /**
+     * Drops the plain secondary indexes of the employee table and returns the statements that recreate them.
+     * Building an index over loaded rows sorts them once, instead of inserting every row into each B-tree.
+     * Indexes backing constraints are kept.
+     */
+    private static List<String> dropEmployeeIndexes(Connection connection) throws SQLException {
+        Map<String, List<String>> columnsByIndex = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select i.index_name, c.column_name, c.ordering_specification"
+                     + " from information_schema.indexes i join information_schema.index_columns c"
+                     + " on c.index_schema = i.index_schema and c.index_name = i.index_name"
+                     + " and c.table_name = i.table_name"
+                     + " where i.table_schema = schema() and i.table_name = 'EMPLOYEE'"
+                     + " and i.index_type_name = 'INDEX' and not i.is_generated"
+                     + " order by i.index_name, c.ordinal_position")) {
+            while (rows.next()) {
+                columnsByIndex.computeIfAbsent(rows.getString(1), name -> new ArrayList<>())
+                        .add('"' + rows.getString(2) + "\" " + rows.getString(3));
+            }
+        }
+        List<String> creates = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, List<String>> index : columnsByIndex.entrySet()) {
+                statement.execute("drop index \"" + index.getKey() + '"');
+                creates.add("create index \"" + index.getKey() + "\" on employee ("
+                        + String.join(", ", index.getValue()) + ')');
+            }
+        }
+        return creates;
+    }
+
+    /**
+     * The checksum stored at the end of a snapshot: a CRC32C of the header followed by the CRC32C of the rows.
+     */
+    static long checksum(ByteBuffer header, long rowsCrc) {
+        CRC32C crc = new CRC32C();
+        crc.update(header.duplicate());
+        crc.update(ByteBuffer.allocate(8).putLong(0, rowsCrc));
+        return crc.getValue();
+    }
+
+    private static int lengthOf(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes rows into a direct buffer, flushing it to the channel when full and keeping a running checksum of
+     * the rows.
+     */
+    private static final class SnapshotWriter {
+        private final FileChannel channel;
+        private final CRC32C crc = new CRC32C();
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        SnapshotWriter(FileChannel channel) throws IOException {
+            this.channel = channel;
+            channel.position(HEADER_SIZE);
+        }
+
+        void ensureRoom(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+                if (buffer.capacity() < bytes) {
+                    buffer = ByteBuffer.allocateDirect(bytes);
+                }
+            }
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                buffer.putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void finish(long departments, long employees) throws IOException {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis())
+                    .putLong(departments).putLong(employees)
+                    .flip();
+            buffer.putLong(checksum(header, crc.getValue())).flip();
+            writeFully(buffer, channel.position());
+            writeFully(header, 0);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            writeFully(buffer, channel.position());
+            buffer.clear();
+        }
+
+        private void writeFully(ByteBuffer source, long position) throws IOException {
+            while (source.hasRemaining()) {
+                position += channel.write(source, position);
+            }
+            channel.position(Math.max(channel.position(), position));
+        }
+    }
+
+    /**
+     * The snapshot file exists but cannot be trusted.
+     */
+    private static final class CorruptSnapshotException extends IOException {
+        CorruptSnapshotException(String message) {
+            super(message);
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.example.employee_management;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "employee.snapshot.enabled=false")
 class EmployeeManagementSystemApplicationTests {
 
 	@Test
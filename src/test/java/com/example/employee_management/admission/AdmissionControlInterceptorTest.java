@@ -0,0 +1,89 @@
+package com.example.employee_management.admission;
+
+import com.example.employee_management.exception.QuotaExceededException;
+import com.example.employee_management.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void preHandle_shouldRejectRequestsOverTheLimitOfTheirPool() {
+        AdmissionControlInterceptor interceptor = interceptor(false);
+        MockHttpServletRequest first = request("GET", "a");
+        assertTrue(interceptor.preHandle(first, response, null));
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(request("GET", "a"), response, null));
+        assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+        // Writes have their own pool.
+        assertTrue(interceptor.preHandle(request("POST", "a"), response, null));
+        assertEquals(1, meterRegistry.get("http.admission.rejected").tag("pool", "read").tag("reason", "limit")
+                .counter().count());
+
+        interceptor.afterCompletion(first, response, null, null);
+        assertTrue(interceptor.preHandle(request("GET", "a"), response, null));
+    }
+
+    @Test
+    void afterConcurrentHandlingStarted_shouldReleaseThePermitOfAStreamingResponse() {
+        AdmissionControlInterceptor interceptor = interceptor(false);
+        MockHttpServletRequest export = request("GET", "a");
+        interceptor.preHandle(export, response, null);
+
+        interceptor.afterConcurrentHandlingStarted(export, response, null);
+        export.setDispatcherType(DispatcherType.ASYNC);
+
+        assertTrue(interceptor.preHandle(export, response, null));
+        assertTrue(interceptor.preHandle(request("GET", "a"), response, null));
+        assertEquals(1, meterRegistry.get("http.admission.in.flight").tag("pool", "read").gauge().value());
+    }
+
+    @Test
+    void preHandle_shouldRejectClientsOverTheirQuota() {
+        AdmissionControlInterceptor interceptor = interceptor(true);
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = request("GET", "a");
+            interceptor.preHandle(request, response, null);
+            interceptor.afterCompletion(request, response, null, null);
+        }
+
+        QuotaExceededException ex = assertThrows(QuotaExceededException.class,
+                () -> interceptor.preHandle(request("GET", "a"), response, null));
+        assertTrue(ex.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertTrue(interceptor.preHandle(request("GET", "b"), response, null));
+        assertEquals(1, meterRegistry.get("http.admission.rejected").tag("pool", "read").tag("reason", "quota")
+                .counter().count());
+    }
+
+    @Test
+    void preHandle_shouldAdmitEverything_whenDisabled() {
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(meterRegistry, false,
+                Duration.ofSeconds(1), 1, 1, 1, 1, 1, 1, true, 1, 1);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(interceptor.preHandle(request("GET", "a"), response, null));
+        }
+    }
+
+    private AdmissionControlInterceptor interceptor(boolean quotas) {
+        return new AdmissionControlInterceptor(meterRegistry, true, Duration.ofSeconds(1),
+                1, 1, 1, 1, 1, 1, quotas, 0.01, 2);
+    }
+
+    private static MockHttpServletRequest request(String method, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/employees");
+        request.addHeader(AdmissionControlInterceptor.CLIENT_ID_HEADER, client);
+        return request;
+    }
+}
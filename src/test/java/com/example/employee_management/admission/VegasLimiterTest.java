@@ -0,0 +1,89 @@
+package com.example.employee_management.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VegasLimiterTest {
+
+    private static final long MILLI = 1_000_000;
+    private static final String ROUTE = "GET /api/employees/{id}";
+
+    @Test
+    void tryAcquire_shouldAdmitUpToTheLimit() {
+        VegasLimiter limiter = new VegasLimiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(ROUTE, MILLI, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void release_shouldGrowTheLimit_whileLatencyStaysAtItsMinimum() {
+        VegasLimiter limiter = new VegasLimiter(10, 1, 20);
+
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limiter, 10 * MILLI);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void release_shouldShrinkTheLimit_whenRequestsQueue() {
+        VegasLimiter limiter = new VegasLimiter(100, 5, 100);
+        saturateAndRelease(limiter, 10 * MILLI);
+
+        for (int i = 0; i < 200; i++) {
+            saturateAndRelease(limiter, 50 * MILLI);
+        }
+
+        // Settles where about beta = 6 requests are estimated to queue: limit * (1 - 10 / 50) ~ 6.
+        assertTrue(limiter.getLimit() >= 6 && limiter.getLimit() <= 8, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void release_shouldJudgeEachRouteAgainstItsOwnMinimumLatency() {
+        VegasLimiter limiter = new VegasLimiter(10, 1, 20);
+
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limiter, ROUTE, MILLI);
+            saturateAndRelease(limiter, "GET /api/employees", 50 * MILLI);
+        }
+
+        // Pages taking 50 times as long as lookups by id are slower, not queued.
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void release_shouldNotGrowTheLimit_whenMostOfItIsUnused() {
+        VegasLimiter limiter = new VegasLimiter(10, 1, 20);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(ROUTE, 10 * MILLI, true);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    /**
+     * Fills the limit and releases one permit with the given latency, leaving the rest released unsampled.
+     */
+    private static void saturateAndRelease(VegasLimiter limiter, long rttNanos) {
+        saturateAndRelease(limiter, ROUTE, rttNanos);
+    }
+
+    private static void saturateAndRelease(VegasLimiter limiter, String route, long rttNanos) {
+        int permits = 0;
+        while (limiter.tryAcquire()) {
+            permits++;
+        }
+        limiter.release(route, rttNanos, true);
+        for (int i = 1; i < permits; i++) {
+            limiter.release(route, rttNanos, false);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.employee_management.cache;
+
+import com.example.employee_management.event.DepartmentChangedEvent;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class DataVersionsTest {
+
+    private final DataVersions dataVersions = new DataVersions();
+
+    @Test
+    void onEmployeesCreated_shouldOnlyChangeTheAffectedDepartmentsAndSingleEmployees() {
+        String global = dataVersions.globalTag();
+        String it = dataVersions.departmentTag("IT");
+        String hr = dataVersions.departmentTag("HR");
+        String employee = dataVersions.employeeTag();
+
+        dataVersions.onEmployeesCreated(new EmployeesCreatedEvent(List.of(
+                new EmployeesCreatedEvent.CreatedEmployee(1L, "Rahul", 50000, 1L, "IT"))));
+
+        assertNotEquals(global, dataVersions.globalTag());
+        assertNotEquals(it, dataVersions.departmentTag("IT"));
+        assertEquals(hr, dataVersions.departmentTag("HR"));
+        assertNotEquals(employee, dataVersions.employeeTag());
+    }
+
+    @Test
+    void onDepartmentChanged_shouldChangeEveryTag() {
+        String global = dataVersions.globalTag();
+        String hr = dataVersions.departmentTag("HR");
+        String employee = dataVersions.employeeTag();
+
+        dataVersions.onDepartmentChanged(new DepartmentChangedEvent(1L, "IT"));
+
+        assertNotEquals(global, dataVersions.globalTag());
+        assertNotEquals(hr, dataVersions.departmentTag("HR"));
+        assertNotEquals(employee, dataVersions.employeeTag());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.employee_management.cache;
+
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "[" + "{\"name\":\"Sachin\",\"department\":\"IT\"},".repeat(50) + "{}]";
+
+    private final DataVersions dataVersions = new DataVersions();
+    private final ResponseCache responseCache = new ResponseCache(new SimpleMeterRegistry(), true,
+            DataSize.ofMegabytes(1));
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(responseCache, dataVersions,
+            DataSize.ofKilobytes(1));
+    private final AtomicInteger calls = new AtomicInteger();
+    private final FilterChain controller = (req, res) -> {
+        calls.incrementAndGet();
+        HttpServletResponse response = (HttpServletResponse) res;
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, "\"" + dataVersions.departmentTag("IT") + "\"");
+        response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Test
+    void doFilter_shouldServeRepeatedRequestsFromTheCache() throws Exception {
+        MockHttpServletResponse first = get(null);
+        MockHttpServletResponse second = get(null);
+
+        assertEquals(1, calls.get());
+        assertEquals(BODY, second.getContentAsString());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, second.getContentType());
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, second.getHeaders(HttpHeaders.ETAG).size());
+    }
+
+    @Test
+    void doFilter_shouldRebuildTheResponse_whenTheDepartmentChanged() throws Exception {
+        get(null);
+        dataVersions.onEmployeesCreated(new EmployeesCreatedEvent(List.of(
+                new EmployeesCreatedEvent.CreatedEmployee(1L, "Rahul", 50000, 1L, "IT"))));
+
+        get(null);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doFilter_shouldStoreGzipBodies_forClientsAcceptingThem() throws Exception {
+        MockHttpServletResponse first = get("gzip, deflate");
+        MockHttpServletResponse second = get("gzip, deflate");
+
+        assertEquals(1, calls.get());
+        assertEquals("gzip", second.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(second.getHeader(HttpHeaders.ETAG).startsWith("W/"));
+        assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(second.getContentAsByteArray()))) {
+            assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        // Plain and compressed bodies are separate entries.
+        assertEquals(BODY, get(null).getContentAsString());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doFilter_shouldLeaveConditionalRequestsToTheController() throws Exception {
+        get(null);
+        MockHttpServletRequest request = request(null);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"0\"");
+
+        filter.doFilter(request, new MockHttpServletResponse(), controller);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void acceptsGzip_shouldHonourZeroQuality() {
+        assertTrue(ResponseCacheFilter.acceptsGzip("deflate, gzip;q=0.5"));
+        assertFalse(ResponseCacheFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(ResponseCacheFilter.acceptsGzip("br"));
+        assertFalse(ResponseCacheFilter.acceptsGzip(null));
+        assertFalse(ResponseCacheFilter.acceptsGzip("gzip;q=high"));
+        assertFalse(ResponseCacheFilter.acceptsGzip("gzip;q="));
+    }
+
+    private MockHttpServletResponse get(String acceptEncoding) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(acceptEncoding), response, controller);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/departments/IT/employees");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+}
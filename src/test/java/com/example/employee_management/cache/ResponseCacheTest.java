@@ -0,0 +1,79 @@
+package com.example.employee_management.cache;
+
+import com.example.employee_management.event.DepartmentChangedEvent;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCache responseCache = new ResponseCache(meterRegistry, true,
+            DataSize.ofBytes(3 * (ResponseCache.ENTRY_OVERHEAD + 100)));
+
+    @Test
+    void get_shouldOnlyReturnResponsesBuiltAtTheCurrentTag() {
+        ResponseCache.Key key = new ResponseCache.Key("IT", "/api/departments/IT/employees");
+        responseCache.put(key, response("1"));
+
+        assertNotNull(responseCache.get(key, "1"));
+        assertNull(responseCache.get(key, "2"));
+        assertEquals(0, responseCache.size());
+        assertEquals(1, meterRegistry.get("response.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("response.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void put_shouldEvict_whenOverBudget() {
+        for (String department : List.of("IT", "HR", "Finance", "Sales")) {
+            responseCache.put(new ResponseCache.Key(department, "a"), response("1"));
+        }
+
+        assertEquals(3, responseCache.size());
+        assertEquals(3 * (ResponseCache.ENTRY_OVERHEAD + 100), responseCache.bytes());
+        assertEquals(1, meterRegistry.get("response.cache.evictions").counter().count());
+    }
+
+    @Test
+    void put_shouldSkipResponsesLargerThanTheBudget() {
+        responseCache.put(new ResponseCache.Key("IT", "a"),
+                new ResponseCache.CachedResponse("1", List.of(), new byte[4 * (ResponseCache.ENTRY_OVERHEAD + 100)]));
+
+        assertEquals(0, responseCache.size());
+        assertEquals(0, responseCache.bytes());
+    }
+
+    @Test
+    void onEmployeesCreated_shouldOnlyDropTheAffectedDepartments() {
+        responseCache.put(new ResponseCache.Key("IT", "a"), response("1"));
+        responseCache.put(new ResponseCache.Key("IT", "b"), response("1"));
+        responseCache.put(new ResponseCache.Key("HR", "a"), response("1"));
+
+        responseCache.onEmployeesCreated(new EmployeesCreatedEvent(List.of(
+                new EmployeesCreatedEvent.CreatedEmployee(1L, "Rahul", 50000, 1L, "IT"))));
+
+        assertEquals(1, responseCache.size());
+        assertNotNull(responseCache.get(new ResponseCache.Key("HR", "a"), "1"));
+        assertEquals(ResponseCache.ENTRY_OVERHEAD + 100, responseCache.bytes());
+    }
+
+    @Test
+    void onDepartmentChanged_shouldDropEverything() {
+        responseCache.put(new ResponseCache.Key("IT", "a"), response("1"));
+        responseCache.put(new ResponseCache.Key("HR", "a"), response("1"));
+
+        responseCache.onDepartmentChanged(new DepartmentChangedEvent(1L, "IT"));
+
+        assertEquals(0, responseCache.size());
+        assertEquals(0, responseCache.bytes());
+    }
+
+    private static ResponseCache.CachedResponse response(String tag) {
+        return new ResponseCache.CachedResponse(tag, List.of(), new byte[100]);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.employee_management.config;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.entity.Employee;
+import com.example.employee_management.repository.DepartmentRepository;
+import com.example.employee_management.repository.EmployeeRepository;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs without a test transaction: the second-level cache only holds rows once they have committed.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterBinder secondLevelCacheHitRatio;
+
+    private Statistics statistics;
+    private long employeeId;
+
+    @BeforeEach
+    void setUp() {
+        Department department = new Department();
+        department.setName("IT");
+        departmentRepository.save(department);
+        Employee employee = new Employee();
+        employee.setName("Rahul");
+        employee.setSalary(50000);
+        employee.setDepartment(department);
+        employeeId = employeeRepository.save(employee).getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    void findById_shouldServeEmployeeAndDepartmentWithoutSql() {
+        String department = new TransactionTemplate(transactionManager).execute(status ->
+                employeeRepository.findById(employeeId).orElseThrow().getDepartment().getName());
+
+        assertEquals("IT", department);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findByName_shouldServeRepeatedLookupsFromQueryCache() {
+        departmentRepository.findByName("IT").orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        departmentRepository.findByName("IT").orElseThrow();
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void findDTOsByDepartmentNameAfterId_shouldBeInvalidatedByInserts() {
+        employeeRepository.findDTOsByDepartmentNameAfterId("IT", 0L, Limit.of(10));
+        Employee employee = new Employee();
+        employee.setName("Sachin");
+        employee.setSalary(30000);
+        employee.setDepartment(departmentRepository.findByName("IT").orElseThrow());
+        employeeRepository.save(employee);
+
+        List<EmployeeDTO> employees = employeeRepository.findDTOsByDepartmentNameAfterId("IT", 0L, Limit.of(10));
+
+        assertEquals(2, employees.size());
+    }
+
+    @Test
+    void secondLevelCacheHitRatio_shouldReportHitsPerRegion() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheHitRatio.bindTo(registry);
+
+        employeeRepository.findById(employeeId).orElseThrow();
+
+        assertEquals(1.0, registry.get("hibernate.second.level.cache.hit.ratio")
+                .tag("region", SecondLevelCacheConfig.EMPLOYEE_REGION).gauge().value());
+    }
+}
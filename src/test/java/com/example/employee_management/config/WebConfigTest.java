@@ -0,0 +1,37 @@
+package com.example.employee_management.config;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the size of a page of employees in the binary formats against JSON, so the encoded sizes are tracked
+ * by a test rather than printed by {@code SerializationBenchmark}.
+ */
+class WebConfigTest {
+
+    private final WebConfig webConfig = new WebConfig(null);
+
+    @Test
+    void binaryConverters_shouldEncodeAPageSmallerThanJson() throws Exception {
+        List<EmployeeDTO> page = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            page.add(new EmployeeDTO(id, "Employee " + id, "Department " + id % 100, 50_000 + id));
+        }
+        int json = new Jackson2ObjectMapperBuilder().build().writeValueAsBytes(page).length;
+        ObjectMapper smile = webConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+        ObjectMapper cbor = webConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+        int smileSize = smile.writeValueAsBytes(page).length;
+        int cborSize = cbor.writeValueAsBytes(page).length;
+
+        assertTrue(smileSize < json, "Smile " + smileSize + " bytes, JSON " + json);
+        assertTrue(cborSize < json, "CBOR " + cborSize + " bytes, JSON " + json);
+    }
+}
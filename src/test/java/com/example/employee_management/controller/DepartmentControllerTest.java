@@ -0,0 +1,70 @@
+package com.example.employee_management.controller;
+
+import com.example.employee_management.dto.DepartmentStats;
+import com.example.employee_management.exception.GlobalExceptionHandler;
+import com.example.employee_management.exception.InvalidPercentileException;
+import com.example.employee_management.service.DepartmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentControllerTest {
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @InjectMocks
+    private DepartmentController departmentController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(departmentController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Get department statistics for selected departments with percentiles")
+    void getDepartmentStats_Success() throws Exception {
+        DepartmentStats stats = new DepartmentStats("IT", 2L, 3000.0, 1500.0, 1000.0, 2000.0);
+        stats.setPercentiles(Map.of("0.5", 1500.0));
+        when(departmentService.getDepartmentStats(List.of("IT", "HR"), List.of(0.5))).thenReturn(List.of(stats));
+
+        mockMvc.perform(get("/api/departments/stats")
+                        .param("departments", "IT,HR")
+                        .param("percentiles", "0.5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].department").value("IT"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].totalSalary").value(3000.0))
+                .andExpect(jsonPath("$[0].percentiles['0.5']").value(1500.0));
+    }
+
+    @Test
+    void getDepartmentStats_Failure_InvalidPercentile() throws Exception {
+        when(departmentService.getDepartmentStats(any(), any()))
+                .thenThrow(new InvalidPercentileException("Percentile must be between 0 and 1: 2.0"));
+
+        mockMvc.perform(get("/api/departments/stats").param("percentiles", "2"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.employee_management.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.StringJoiner;
+import java.util.UUID;
+
+import static com.example.employee_management.metrics.SqlStatementAssertions.assertMaxStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bounds the SQL statements each endpoint executes against the real database. The bounds do not depend on how
+ * many employees a page holds, so a page loading its rows one by one fails here.
+ */
+@SpringBootTest(properties = "employee.snapshot.enabled=false")
+@AutoConfigureMockMvc
+class EmployeeApiStatementCountTest {
+
+    private static final int EMPLOYEES = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String department;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        department = "Statements " + UUID.randomUUID();
+        StringJoiner employees = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(employee("Employee " + i, department, 1000 + i));
+        }
+        mockMvc.perform(post("/api/employees/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content(employees.toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void saveEmployee_shouldCheckForDuplicateAndInsert() throws Throwable {
+        assertMaxStatements(3, () -> mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(employee("New employee", department, 2000)))
+                .andExpect(status().isCreated()));
+    }
+
+    /**
+     * Existing rows are looked up in one query and new departments and employees inserted in one batch each;
+     * the id sequences may each be advanced once.
+     */
+    @Test
+    void importEmployees_shouldNotQueryPerRow() throws Throwable {
+        StringJoiner employees = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(employee("Imported " + i, i % 2 == 0 ? department : department + " 2", 3000));
+        }
+        assertMaxStatements(6, () -> mockMvc.perform(post("/api/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(employees.toString()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getEmployeeById_shouldRunAtMostOneQuery() throws Throwable {
+        Long id = jdbcTemplate.queryForObject("select min(e.id) from employee e join department d "
+                + "on d.id = e.department_id where d.name = ?", Long.class, department);
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/employees/" + id))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void listEndpoints_shouldRunAtMostOneQueryPerPage() throws Throwable {
+        String[] urls = {
+                "/api/employees?limit=20",
+                "/api/departments/" + department + "/employees?limit=20",
+                "/api/employees/salary?min=1000&max=1029&limit=20",
+                "/api/employees/salary?min=1000&max=1029&sort=salary_desc&limit=20",
+                "/api/employees/salary/count?min=1000&max=1029",
+                "/api/departments/stats"
+        };
+        for (String url : urls) {
+            assertMaxStatements(1, () -> mockMvc.perform(get(url)).andExpect(status().isOk()));
+        }
+    }
+
+    @Test
+    void searchEmployees_shouldLookUpTheDepartmentAndLoadMatchesInOneQuery() throws Throwable {
+        assertMaxStatements(2, () -> mockMvc.perform(get("/api/employees/search")
+                        .param("q", "Employee")
+                        .param("department", department))
+                .andExpect(status().isOk()));
+    }
+
+    private static String employee(String name, String department, double salary) {
+        return "{\"name\":\"" + name + "\",\"department\":\"" + department + "\",\"salary\":" + salary + "}";
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.employee_management.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks conditional GETs against the real data versions, across the writes that change them.
+ */
+@SpringBootTest(properties = "employee.snapshot.enabled=false")
+@AutoConfigureMockMvc
+class EmployeeConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getEmployeeById_shouldNotKeepA404Valid_afterTheEmployeeIsCreated() throws Exception {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from employee", Long.class);
+        long missingId = maxId + 1_000_000;
+        String tag = mockMvc.perform(get("/api/employees/" + missingId))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String name = "Conditional " + UUID.randomUUID();
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"department\":\"IT\",\"salary\":1000}"))
+                .andExpect(status().isCreated());
+        Long id = jdbcTemplate.queryForObject("select id from employee where name = ?", Long.class, name);
+
+        mockMvc.perform(get("/api/employees/" + id).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(name));
+        mockMvc.perform(get("/api/employees/" + missingId).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotFound());
+    }
+}
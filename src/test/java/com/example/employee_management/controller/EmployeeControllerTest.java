@@ -1,29 +1,64 @@
 package com.example.employee_management.controller;
 
+import com.example.employee_management.cache.DataVersions;
+import com.example.employee_management.admission.AdmissionControlInterceptor;
+import com.example.employee_management.dto.BatchImportResult;
+import com.example.employee_management.dto.BatchImportRowResult;
 import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.dto.EmployeePage;
+import com.example.employee_management.dto.IngestionStatus;
+import com.example.employee_management.exception.BatchTooLargeException;
 import com.example.employee_management.exception.EmployeeNotFoundException;
 import com.example.employee_management.exception.GlobalExceptionHandler;
+import com.example.employee_management.exception.IdempotencyKeyReusedException;
+import com.example.employee_management.exception.IngestionNotFoundException;
+import com.example.employee_management.exception.InvalidCursorException;
+import com.example.employee_management.exception.InvalidSearchQueryException;
+import com.example.employee_management.exception.ServiceOverloadedException;
+import com.example.employee_management.service.EmployeeExportService;
+import com.example.employee_management.service.EmployeeImportService;
+import com.example.employee_management.service.EmployeeIngestionService;
 import com.example.employee_management.service.EmployeeService;
+import com.example.employee_management.service.ExportFormat;
+import com.example.employee_management.service.SalarySort;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +69,21 @@ class EmployeeControllerTest {
     @Mock
     private EmployeeService employeeService;
 
+    @Mock
+    private EmployeeExportService employeeExportService;
+
+    @Mock
+    private EmployeeImportService employeeImportService;
+
+    @Mock
+    private EmployeeIngestionService employeeIngestionService;
+
+    @Mock
+    private DataVersions dataVersions;
+
+    @Spy
+    private ContentNegotiationManager contentNegotiationManager = new ContentNegotiationManager();
+
     @InjectMocks
     private EmployeeController employeeController;
 
@@ -52,7 +102,7 @@ class EmployeeControllerTest {
     @DisplayName("Get all employees")
     void getAllEmployees_Success() throws Exception {
         // Mocking the service response
-        when(employeeService.getAllEmployees()).thenReturn(Collections.emptyList());
+        when(employeeService.getAllEmployees(any(), any())).thenReturn(new EmployeePage(Collections.emptyList(), null));
 
         // Performing the request and asserting the response
         mockMvc.perform(get("/api/employees"))
@@ -62,11 +112,46 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    @DisplayName("Get all employees: next page cursor is returned in headers")
+    void getAllEmployees_Success_NextCursor() throws Exception {
+        EmployeeDTO employee = new EmployeeDTO("John Doe", "Engineering", 60000);
+        when(employeeService.getAllEmployees(eq("abc"), eq(1)))
+                .thenReturn(new EmployeePage(List.of(employee), "def"));
+
+        mockMvc.perform(get("/api/employees")
+                        .param("cursor", "abc")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(header().string("Link", containsString("cursor=def")));
+    }
+
+    @Test
+    @DisplayName("Export employees as CSV")
+    void exportEmployees_Success() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("id,name,department,salary\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeExportService).exportEmployees(eq(ExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/employees/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("id,name,department,salary\n"));
+    }
+
     @Test
     @DisplayName("Save employee details")
     void saveEmployee_Success() throws Exception {
         // Mocking the service response
-        doNothing().when(employeeService).saveEmployee(any(EmployeeDTO.class));
+        when(employeeService.saveEmployee(any(EmployeeDTO.class), isNull())).thenReturn(true);
 
         // Performing the request and asserting the response
         mockMvc.perform(post("/api/employees")
@@ -74,14 +159,237 @@ class EmployeeControllerTest {
                         .content("""
                                 { "name" : "Sachin" , "department": "IT", "salary": 50000}
                                 """))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    }
+
+    @Test
+    void saveEmployee_shouldMarkReplayedResponse_whenIdempotencyKeyWasUsed() throws Exception {
+        when(employeeService.saveEmployee(any(EmployeeDTO.class), eq("key-1"))).thenReturn(false);
+
+        mockMvc.perform(post("/api/employees")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "name" : "Sachin" , "department": "IT", "salary": 50000}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+    }
+
+    @Test
+    void saveEmployee_shouldQueueEmployee_whenAsyncResponsePreferred() throws Exception {
+        when(employeeIngestionService.isEnabled()).thenReturn(true);
+        when(employeeIngestionService.submit(any(EmployeeDTO.class)))
+                .thenReturn(new IngestionStatus("abc", IngestionStatus.Status.QUEUED, null));
+
+        mockMvc.perform(post("/api/employees")
+                        .header("Prefer", "wait=5, respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "name" : "Sachin" , "department": "IT", "salary": 50000}
+                                """))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/employees/ingestions/abc"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.id").value("abc"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+        verify(employeeService, never()).saveEmployee(any(EmployeeDTO.class), any());
+    }
+
+    @Test
+    void saveEmployee_shouldSaveSynchronously_whenAsyncIngestionIsDisabled() throws Exception {
+        when(employeeIngestionService.isEnabled()).thenReturn(false);
+        when(employeeService.saveEmployee(any(EmployeeDTO.class), isNull())).thenReturn(true);
+
+        mockMvc.perform(post("/api/employees")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "name" : "Sachin" , "department": "IT", "salary": 50000}
+                                """))
                 .andExpect(status().isCreated());
+        verify(employeeIngestionService, never()).submit(any(EmployeeDTO.class));
+    }
+
+    @Test
+    void saveEmployee_Failure_IngestionQueueFull() throws Exception {
+        when(employeeIngestionService.isEnabled()).thenReturn(true);
+        when(employeeIngestionService.submit(any(EmployeeDTO.class)))
+                .thenThrow(new ServiceOverloadedException("Employee ingestion queue is full", Duration.ofMillis(1500)));
+
+        mockMvc.perform(post("/api/employees")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "name" : "Sachin" , "department": "IT", "salary": 50000}
+                                """))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+    }
+
+    @Test
+    void getIngestionStatus_Failure_ClientQuotaExceeded() throws Exception {
+        AdmissionControlInterceptor admissionControl = new AdmissionControlInterceptor(new SimpleMeterRegistry(),
+                true, Duration.ofSeconds(1), 10, 1, 10, 10, 1, 10, true, 0.5, 1);
+        MockMvc limitedMockMvc = MockMvcBuilders.standaloneSetup(employeeController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(admissionControl)
+                .build();
+        when(employeeIngestionService.getStatus("abc"))
+                .thenReturn(new IngestionStatus("abc", IngestionStatus.Status.CREATED, null));
+
+        limitedMockMvc.perform(get("/api/employees/ingestions/abc").header("X-Client-Id", "batch-job"))
+                .andExpect(status().isOk());
+        limitedMockMvc.perform(get("/api/employees/ingestions/abc").header("X-Client-Id", "batch-job"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+    }
+
+    @Test
+    void getIngestionStatus_Success() throws Exception {
+        when(employeeIngestionService.getStatus("abc"))
+                .thenReturn(new IngestionStatus("abc", IngestionStatus.Status.CONFLICT, "Duplicate"));
+
+        mockMvc.perform(get("/api/employees/ingestions/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFLICT"));
+    }
+
+    @Test
+    void getIngestionStatus_Failure_NotFound() throws Exception {
+        when(employeeIngestionService.getStatus("abc")).thenThrow(new IngestionNotFoundException("Ingestion not found"));
+
+        mockMvc.perform(get("/api/employees/ingestions/abc"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void saveEmployee_Failure_IdempotencyKeyReused() throws Exception {
+        when(employeeService.saveEmployee(any(EmployeeDTO.class), eq("key-1")))
+                .thenThrow(new IdempotencyKeyReusedException("Idempotency key key-1 was already used"));
+
+        mockMvc.perform(post("/api/employees")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "name" : "Rahul" , "department": "IT", "salary": 50000}
+                                """))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("Import employees in bulk")
+    void importEmployees_Success() throws Exception {
+        BatchImportResult result = new BatchImportResult(1, 1, 0, List.of(
+                new BatchImportRowResult(0, BatchImportRowResult.Status.CREATED, null),
+                new BatchImportRowResult(1, BatchImportRowResult.Status.CONFLICT, "Duplicate employee within the batch")));
+        when(employeeImportService.importEmployees(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{ "name" : "Sachin" , "department": "IT", "salary": 50000},
+                                 { "name" : "Sachin" , "department": "IT", "salary": 50000}]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.conflicts").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("CONFLICT"));
+    }
+
+    @Test
+    @DisplayName("Get all employees: ETag is returned and a matching If-None-Match is answered with 304")
+    void getAllEmployees_NotModified() throws Exception {
+        when(dataVersions.globalTag()).thenReturn("v1-3");
+        when(employeeService.getAllEmployees(any(), any())).thenReturn(new EmployeePage(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1-3\""));
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, "\"v1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(employeeService, times(1)).getAllEmployees(any(), any());
+    }
+
+    @Test
+    @DisplayName("Get all employees: CBOR when Accept asks for it, with its own ETag")
+    void getAllEmployees_Cbor() throws Exception {
+        when(dataVersions.globalTag()).thenReturn("v1-3");
+        when(employeeService.getAllEmployees(any(), any())).thenReturn(new EmployeePage(
+                List.of(new EmployeeDTO(1L, "Sachin", "IT", 50000)), null));
+
+        MvcResult result = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1-3-cbor\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn();
+        EmployeeDTO[] employees = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(),
+                EmployeeDTO[].class);
+        assertEquals("Sachin", employees[0].getName());
+
+        // A JSON tag does not validate the CBOR representation.
+        mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1-3\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1-3-cbor\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Get employee by id: Smile when Accept prefers it over JSON")
+    void getEmployeesById_Smile() throws Exception {
+        when(dataVersions.employeeTag()).thenReturn("v1");
+        when(employeeService.getEmployeeById(1L)).thenReturn(new EmployeeDTO(1L, "Sachin", "IT", 50000));
+
+        MvcResult result = mockMvc.perform(get("/api/employees/1")
+                        .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1-x-jackson-smile\""))
+                .andReturn();
+        EmployeeDTO employee = new SmileMapper().readValue(result.getResponse().getContentAsByteArray(),
+                EmployeeDTO.class);
+        assertEquals(50000, employee.getSalary());
+    }
+
+    @Test
+    @DisplayName("Get employees by department: 304 when the department's version is unchanged")
+    void getEmployeesByDepartment_NotModified() throws Exception {
+        when(dataVersions.departmentTag("IT")).thenReturn("v1-0-2");
+
+        mockMvc.perform(get("/api/departments/IT/employees").header(HttpHeaders.IF_NONE_MATCH, "\"v1-0-2\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    @DisplayName("Search employees by name")
+    void searchEmployees_Success() throws Exception {
+        when(employeeService.searchEmployeesByName("sach", "IT", 5))
+                .thenReturn(List.of(new EmployeeDTO(3L, "Sachin", "IT", 50000)));
+
+        mockMvc.perform(get("/api/employees/search")
+                        .param("q", "sach")
+                        .param("department", "IT")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[0].name").value("Sachin"));
     }
 
     @Test
     @DisplayName("Get employees by valid department name")
     void getEmployeesByDepartment_Success() throws Exception {
         // Mocking the service response
-        when(employeeService.getEmployeesByDepartment(anyString())).thenReturn(Collections.emptyList());
+        when(employeeService.getEmployeesByDepartment(anyString(), any(), any()))
+                .thenReturn(new EmployeePage(Collections.emptyList(), null));
 
         // Performing the request and asserting the response
         mockMvc.perform(get("/api/departments/IT/employees"))
@@ -100,7 +408,8 @@ class EmployeeControllerTest {
         List<EmployeeDTO> employeeList = Arrays.asList(employee1, employee2);
 
         // Mocking the service response to return a list of two EmployeeDTO objects
-        when(employeeService.getEmployeesBySalary(anyDouble(), anyBoolean())).thenReturn(employeeList);
+        when(employeeService.getEmployeesBySalary(anyDouble(), anyBoolean(), any(), any()))
+                .thenReturn(new EmployeePage(employeeList, null));
 
         // Performing the request and asserting the response
         mockMvc.perform(get("/api/employees/salary")
@@ -122,7 +431,8 @@ class EmployeeControllerTest {
     @DisplayName("Get employees by salary greater than: Empty result")
     void getEmployeesBySalaryGreaterThan_Success_Case2() throws Exception {
         // Mocking the service response
-        when(employeeService.getEmployeesBySalary(anyDouble(), anyBoolean())).thenReturn(Collections.emptyList());
+        when(employeeService.getEmployeesBySalary(anyDouble(), anyBoolean(), any(), any()))
+                .thenReturn(new EmployeePage(Collections.emptyList(), null));
 
         // Performing the request and asserting the response
         mockMvc.perform(get("/api/employees/salary")
@@ -146,7 +456,8 @@ class EmployeeControllerTest {
         List<EmployeeDTO> employeeList = Arrays.asList(employee1, employee2);
 
         // Mocking the service response to return a list of two EmployeeDTO objects
-        when(employeeService.getEmployeesBySalary(anyDouble(), anyBoolean())).thenReturn(employeeList);
+        when(employeeService.getEmployeesBySalary(anyDouble(), anyBoolean(), any(), any()))
+                .thenReturn(new EmployeePage(employeeList, null));
 
         // Performing the request and asserting the response
         mockMvc.perform(get("/api/employees/salary")
@@ -169,7 +480,8 @@ class EmployeeControllerTest {
     @DisplayName("Get employees by salary greater than: Empty result")
     void getEmployeesBySalaryLessThan_Success_Case2() throws Exception {
         // Mocking the service response
-        when(employeeService.getEmployeesBySalary(anyDouble(), anyBoolean())).thenReturn(Collections.emptyList());
+        when(employeeService.getEmployeesBySalary(anyDouble(), anyBoolean(), any(), any()))
+                .thenReturn(new EmployeePage(Collections.emptyList(), null));
 
         // Performing the request and asserting the response
         mockMvc.perform(get("/api/employees/salary")
@@ -181,6 +493,34 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    @DisplayName("Get employees by salary range, highest first")
+    void getEmployeesBySalaryRange_Success() throws Exception {
+        List<EmployeeDTO> employees = List.of(new EmployeeDTO("Sachin", "IT", 90000));
+        when(employeeService.getEmployeesBySalaryRange(40000.0, 100000.0, SalarySort.SALARY_DESC, null, 1))
+                .thenReturn(new EmployeePage(employees, "next"));
+
+        mockMvc.perform(get("/api/employees/salary")
+                        .param("min", "40000")
+                        .param("max", "100000")
+                        .param("sort", "salary_desc")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].salary").value(90000))
+                .andExpect(header().string("X-Next-Cursor", "next"));
+    }
+
+    @Test
+    @DisplayName("Count employees by salary range")
+    void countEmployeesBySalary_Success() throws Exception {
+        when(employeeService.countEmployeesBySalaryRange(40000.0, null)).thenReturn(12L);
+
+        mockMvc.perform(get("/api/employees/salary/count").param("min", "40000"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("12"));
+    }
+
     @Test
     void getEmployeesById_Success() throws Exception {
         // Mocking the service response
@@ -228,6 +568,16 @@ class EmployeeControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @Test
+    void searchEmployees_Failure_BlankQuery() throws Exception {
+        when(employeeService.searchEmployeesByName(eq(" "), any(), any()))
+                .thenThrow(new InvalidSearchQueryException("Search text cannot be empty"));
+
+        mockMvc.perform(get("/api/employees/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Search text cannot be empty"));
+    }
+
     @Test
     void getEmployeesBySalary_Failure_InvalidSalary() throws Exception {
         // Performing the request with invalid salary value and expecting bad request status
@@ -237,6 +587,36 @@ class EmployeeControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getEmployeesBySalaryRange_Failure_UnsupportedSort() throws Exception {
+        mockMvc.perform(get("/api/employees/salary").param("sort", "name"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllEmployees_Failure_InvalidCursor() throws Exception {
+        when(employeeService.getAllEmployees(any(), any())).thenThrow(new InvalidCursorException("Invalid cursor: x"));
+
+        mockMvc.perform(get("/api/employees").param("cursor", "x"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportEmployees_Failure_UnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/employees/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importEmployees_Failure_BatchTooLarge() throws Exception {
+        when(employeeImportService.importEmployees(anyList())).thenThrow(new BatchTooLargeException("too large"));
+
+        mockMvc.perform(post("/api/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
     @Test
     void getEmployeesById_Failure_NotFound() throws Exception {
         // Mocking the service response with EmployeeNotFoundException
@@ -0,0 +1,73 @@
+package com.example.employee_management.controller;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveEmployeeControllerTest {
+
+    @Mock
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    @InjectMocks
+    private ReactiveEmployeeController reactiveEmployeeController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reactiveEmployeeController).build();
+    }
+
+    @Test
+    @DisplayName("Stream employees as NDJSON")
+    void streamAllEmployees_Success() throws Exception {
+        when(reactiveEmployeeService.streamAllEmployees(2L)).thenReturn(Flux.just(
+                new EmployeeDTO(1L, "Rahul", "IT", 50000.0),
+                new EmployeeDTO(2L, "Sachin", "HR", 30000.0)));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/employees").param("limit", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"Rahul\",\"department\":\"IT\",\"salary\":50000.0}\n"
+                                + "{\"id\":2,\"name\":\"Sachin\",\"department\":\"HR\",\"salary\":30000.0}\n"));
+    }
+
+    @Test
+    @DisplayName("Stream employees in a salary range")
+    void streamEmployeesBySalary_Success() throws Exception {
+        when(reactiveEmployeeService.streamEmployeesBySalary(40000.0, null, null))
+                .thenReturn(Flux.just(new EmployeeDTO(1L, "Rahul", "IT", 50000.0)));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/employees/salary").param("min", "40000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"Rahul\",\"department\":\"IT\",\"salary\":50000.0}\n"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.employee_management.dataset;
+
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.repository.DepartmentRepository;
+import com.example.employee_management.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a test transaction: the generator commits through its own connection.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatasetGeneratorTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void generate_shouldLoadSkewedDepartmentsAndMoveSequencesPastThem() throws SQLException {
+        assertTrue(generator(42).generate());
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertEquals(5000, employeeRepository.count());
+        assertEquals(10, departmentRepository.count());
+        List<Long> sizes = jdbc.queryForList("select count(*) from employee group by department_id"
+                + " order by department_id", Long.class);
+        assertEquals(10, sizes.size());
+        assertTrue(sizes.get(0) > 3 * sizes.get(9), "Department sizes should follow the skew: " + sizes);
+        assertTrue(jdbc.queryForObject("select min(salary) from employee", Double.class) >= 1000);
+        assertEquals(5000 + 50, jdbc.queryForObject("values next value for employee_seq", Long.class));
+
+        assertTrue(departmentRepository.findByName(DatasetGenerator.departmentName(1)).isPresent());
+    }
+
+    @Test
+    void generate_shouldBeReproducibleForASeed() throws SQLException {
+        generator(7).generate();
+        List<Map<String, Object>> first = rows();
+        tearDown();
+
+        generator(7).generate();
+
+        assertEquals(first, rows());
+    }
+
+    @Test
+    void generate_shouldLeaveNonEmptyDatabaseAlone() throws SQLException {
+        Department department = new Department();
+        department.setName("IT");
+        departmentRepository.save(department);
+
+        assertFalse(generator(42).generate());
+        assertEquals(0, employeeRepository.count());
+    }
+
+    @Test
+    void department_shouldMapUniformValuesOntoRanks() {
+        double[] cumulative = DatasetGenerator.cumulativeWeights(4, 0);
+
+        assertEquals(1, DatasetGenerator.department(cumulative, 0.0));
+        assertEquals(2, DatasetGenerator.department(cumulative, 0.25));
+        assertEquals(3, DatasetGenerator.department(cumulative, 0.6));
+        assertEquals(4, DatasetGenerator.department(cumulative, 0.999));
+    }
+
+    private DatasetGenerator generator(long seed) {
+        return new DatasetGenerator(dataSource, 5000, 10, 1.0, 60000, 0.5, seed);
+    }
+
+    private List<Map<String, Object>> rows() {
+        return new JdbcTemplate(dataSource).queryForList(
+                "select id, name, salary, department_id from employee order by id");
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.employee_management.index;
+
+import com.example.employee_management.dto.ColumnEntry;
+import com.example.employee_management.dto.DepartmentStats;
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.event.DepartmentChangedEvent;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.repository.DepartmentRepository;
+import com.example.employee_management.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeColumnsTest {
+
+    private EmployeeRepository employeeRepository;
+    private DepartmentRepository departmentRepository;
+    private EmployeeColumns employeeColumns;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        departmentRepository = mock(DepartmentRepository.class);
+        employeeColumns = new EmployeeColumns(employeeRepository, departmentRepository,
+                mock(PlatformTransactionManager.class), true);
+        when(departmentRepository.findAll()).thenReturn(List.of(
+                new Department(1L, "IT", null),
+                new Department(2L, "HR", null),
+                new Department(3L, "Empty", null)));
+        when(employeeRepository.streamColumnEntries()).thenReturn(Stream.of(
+                new ColumnEntry(1L, 1000, 1L),
+                new ColumnEntry(2L, 4000, 1L),
+                new ColumnEntry(3L, 3000, 2L),
+                new ColumnEntry(4L, 2000, 1L),
+                new ColumnEntry(5L, 5000, 2L)));
+    }
+
+    @Test
+    void isReady_shouldBeFalseUntilLoaded() {
+        assertFalse(employeeColumns.isReady());
+
+        employeeColumns.load();
+
+        assertTrue(employeeColumns.isReady());
+        assertEquals(5, employeeColumns.size());
+    }
+
+    @Test
+    void stats_shouldAggregatePerDepartmentOrderedByName() {
+        employeeColumns.load();
+
+        List<DepartmentStats> stats = employeeColumns.stats(null);
+
+        assertEquals(List.of("Empty", "HR", "IT"), stats.stream().map(DepartmentStats::getDepartment).toList());
+        assertEquals(0, stats.get(0).getCount());
+        assertNull(stats.get(0).getAverageSalary());
+        DepartmentStats it = stats.get(2);
+        assertEquals(3, it.getCount());
+        assertEquals(7000, it.getTotalSalary());
+        assertEquals(7000 / 3.0, it.getAverageSalary());
+        assertEquals(1000, it.getMinSalary());
+        assertEquals(4000, it.getMaxSalary());
+        assertEquals(List.of("HR"), employeeColumns.stats(List.of("HR", "Unknown")).stream()
+                .map(DepartmentStats::getDepartment).toList());
+    }
+
+    @Test
+    void stats_shouldMatchAcrossParallelSplits() {
+        employeeColumns.load();
+        List<EmployeesCreatedEvent.CreatedEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < 3 * EmployeeColumns.PARALLEL_THRESHOLD; i++) {
+            employees.add(new EmployeesCreatedEvent.CreatedEmployee(100L + i, "E" + i, i % 1000, 2L, "HR"));
+        }
+        employeeColumns.add(employees);
+
+        DepartmentStats hr = employeeColumns.stats(List.of("HR")).get(0);
+
+        assertEquals(2 + 3L * EmployeeColumns.PARALLEL_THRESHOLD, hr.getCount());
+        assertEquals(0, hr.getMinSalary());
+        assertEquals(5000, hr.getMaxSalary());
+    }
+
+    @Test
+    void salaryPercentiles_shouldInterpolateLikePercentileCont() {
+        employeeColumns.load();
+
+        Map<String, List<Double>> percentiles = employeeColumns.salaryPercentiles(null, List.of(0.0, 0.5, 0.75, 1.0));
+
+        assertEquals(List.of(1000.0, 2000.0, 3000.0, 4000.0), percentiles.get("IT"));
+        assertEquals(List.of(3000.0, 4000.0, 4500.0, 5000.0), percentiles.get("HR"));
+        assertFalse(percentiles.containsKey("Empty"));
+    }
+
+    @Test
+    void onEmployeesCreated_shouldMergeOutOfOrderAndIgnoreKnownIds() {
+        employeeColumns.load();
+
+        employeeColumns.onEmployeesCreated(new EmployeesCreatedEvent(List.of(
+                new EmployeesCreatedEvent.CreatedEmployee(7L, "Anil", 6000, 4L, "Sales"),
+                new EmployeesCreatedEvent.CreatedEmployee(4L, "Rahul", 2000, 1L, "IT"))));
+        employeeColumns.onEmployeesCreated(new EmployeesCreatedEvent(List.of(
+                new EmployeesCreatedEvent.CreatedEmployee(6L, "Ravi", 7000, 1L, "IT"))));
+
+        assertEquals(7, employeeColumns.size());
+        assertEquals(4, employeeColumns.stats(List.of("IT")).get(0).getCount());
+        assertEquals(7000, employeeColumns.stats(List.of("IT")).get(0).getMaxSalary());
+        assertEquals(List.of("Empty", "HR", "IT", "Sales"), employeeColumns.stats(null).stream()
+                .map(DepartmentStats::getDepartment).toList());
+    }
+
+    @Test
+    void add_shouldSkipKnownIdsAcrossDeltaMerges() {
+        employeeColumns.load();
+        employeeColumns.add(List.of(new EmployeesCreatedEvent.CreatedEmployee(
+                10L + 2 * EmployeeColumns.MAX_DELTA, "Last", 1000, 2L, "HR")));
+        List<EmployeesCreatedEvent.CreatedEmployee> late = new ArrayList<>();
+        for (int i = 0; i <= EmployeeColumns.MAX_DELTA; i++) {
+            late.add(new EmployeesCreatedEvent.CreatedEmployee(10L + 2 * i, "Late " + i, 1000, 2L, "HR"));
+        }
+
+        employeeColumns.add(late.subList(0, 10));
+        employeeColumns.add(late.subList(5, 15));
+        assertEquals(6 + 15, employeeColumns.size());
+        // The last of them is the id already appended.
+        employeeColumns.add(late);
+        employeeColumns.add(List.of(new EmployeesCreatedEvent.CreatedEmployee(11L, "Odd", 1000, 2L, "HR")));
+        employeeColumns.add(late.subList(0, 10));
+
+        assertEquals(6 + EmployeeColumns.MAX_DELTA + 1, employeeColumns.size());
+        assertEquals(2 + EmployeeColumns.MAX_DELTA + 2, employeeColumns.stats(List.of("HR")).get(0).getCount());
+        assertEquals(1000, employeeColumns.salaryPercentiles(List.of("HR"), List.of(0.5)).get("HR").get(0));
+    }
+
+    @Test
+    void onEmployeesCreated_shouldBeBufferedWhileLoading() {
+        when(employeeRepository.streamColumnEntries()).thenAnswer(invocation -> {
+            // Committed while the snapshot is being read: seen both by the query and as an event.
+            employeeColumns.add(List.of(
+                    new EmployeesCreatedEvent.CreatedEmployee(1L, "Sachin", 1000, 1L, "IT"),
+                    new EmployeesCreatedEvent.CreatedEmployee(6L, "Ravi", 7000, 1L, "IT")));
+            return Stream.of(new ColumnEntry(1L, 1000, 1L));
+        });
+
+        employeeColumns.load();
+
+        assertEquals(2, employeeColumns.size());
+        assertEquals(2, employeeColumns.stats(List.of("IT")).get(0).getCount());
+    }
+
+    @Test
+    void onDepartmentChanged_shouldFollowRenamesAndDeletions() {
+        employeeColumns.load();
+        when(departmentRepository.findById(2L)).thenReturn(Optional.of(new Department(2L, "People", null)));
+        when(departmentRepository.findById(3L)).thenReturn(Optional.empty());
+
+        employeeColumns.onDepartmentChanged(new DepartmentChangedEvent(2L, "People"));
+        employeeColumns.onDepartmentChanged(new DepartmentChangedEvent(3L, "Empty"));
+
+        List<DepartmentStats> stats = employeeColumns.stats(null);
+        assertEquals(List.of("IT", "People"), stats.stream().map(DepartmentStats::getDepartment).toList());
+        assertEquals(2, stats.get(1).getCount());
+    }
+}
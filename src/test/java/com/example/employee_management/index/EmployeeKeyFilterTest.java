@@ -0,0 +1,105 @@
+package com.example.employee_management.index;
+
+import com.example.employee_management.dto.NameEntry;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeKeyFilterTest {
+
+    private EmployeeRepository employeeRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeKeyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new EmployeeKeyFilter(employeeRepository, mock(PlatformTransactionManager.class), meterRegistry,
+                true, 1000, 0.01);
+        when(employeeRepository.count()).thenReturn(2L);
+        when(employeeRepository.streamNameEntries()).thenReturn(Stream.of(
+                new NameEntry(1L, "Sachin", 1L),
+                new NameEntry(2L, "Rahul", 2L)));
+    }
+
+    @Test
+    void mightContain_shouldAnswerTrueUntilLoaded() {
+        assertTrue(filter.mightContain(9L, "Nobody"));
+
+        filter.load();
+
+        assertTrue(filter.isReady());
+        assertTrue(filter.mightContain(1L, "Sachin"));
+        assertTrue(filter.mightContain(2L, "Rahul"));
+        assertFalse(filter.mightContain(2L, "Sachin"));
+        assertEquals(1, meterRegistry.get("employee.duplicate.filter.checks").tag("result", "absent")
+                .counter().count());
+    }
+
+    @Test
+    void onEmployeesCreated_shouldAddCommittedEmployees() {
+        filter.load();
+
+        filter.onEmployeesCreated(new EmployeesCreatedEvent(List.of(
+                new EmployeesCreatedEvent.CreatedEmployee(3L, "Anil", 40000, 1L, "IT"))));
+
+        assertTrue(filter.mightContain(1L, "Anil"));
+    }
+
+    @Test
+    void recordLookup_shouldCountFalsePositivesAndDuplicates() {
+        filter.recordLookup(false);
+        filter.load();
+
+        filter.recordLookup(false);
+        filter.recordLookup(true);
+
+        assertEquals(1, meterRegistry.get("employee.duplicate.filter.checks").tag("result", "false_positive")
+                .counter().count());
+        assertEquals(1, meterRegistry.get("employee.duplicate.filter.checks").tag("result", "duplicate")
+                .counter().count());
+    }
+
+    @Test
+    void bits_shouldStayNearTheConfiguredFalsePositiveRate() {
+        int keys = 100_000;
+        EmployeeKeyFilter.Bits bits = EmployeeKeyFilter.Bits.sized(keys, 0.01);
+        for (int i = 0; i < keys; i++) {
+            bits.add(i % 100, "Employee " + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = keys; i < 2 * keys; i++) {
+            if (bits.mightContain(i % 100, "Employee " + i)) {
+                falsePositives++;
+            }
+        }
+        for (int i = 0; i < keys; i += 97) {
+            assertTrue(bits.mightContain(i % 100, "Employee " + i));
+        }
+
+        assertEquals(7, bits.hashes());
+        assertTrue(falsePositives < keys * 0.015, "false positives " + falsePositives);
+        assertEquals(0.01, bits.falsePositiveRate(), 0.002);
+    }
+
+    @Test
+    void load_shouldSizeForTwiceTheEmployeesPresent_whenMoreThanExpected() {
+        when(employeeRepository.count()).thenReturn(10_000L);
+
+        filter.load();
+
+        // 20,000 keys at 1% take about 9.6 bits each.
+        assertEquals(191_744, filter.bitCount(), 64);
+    }
+}
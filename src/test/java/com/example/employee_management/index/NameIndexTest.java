@@ -0,0 +1,119 @@
+package com.example.employee_management.index;
+
+import com.example.employee_management.dto.NameEntry;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NameIndexTest {
+
+    private EmployeeRepository employeeRepository;
+    private NameIndex nameIndex;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        nameIndex = new NameIndex(employeeRepository, mock(PlatformTransactionManager.class), true);
+        when(employeeRepository.streamNameEntries()).thenReturn(Stream.of(
+                new NameEntry(1L, "Sachin Tendulkar", 1L),
+                new NameEntry(2L, "Rahul Dravid", 1L),
+                new NameEntry(3L, "Sachin", 2L),
+                new NameEntry(4L, "Anil Kumble", 2L),
+                new NameEntry(5L, "Rahul Sachinwala", 2L),
+                new NameEntry(6L, "Vikram Rathour", 1L)));
+    }
+
+    @Test
+    void isReady_shouldBeFalseUntilLoaded() {
+        assertFalse(nameIndex.isReady());
+
+        nameIndex.load();
+
+        assertTrue(nameIndex.isReady());
+        assertEquals(6, nameIndex.size());
+    }
+
+    @Test
+    void search_shouldRankExactThenPrefixThenWordPrefix() {
+        nameIndex.load();
+
+        assertEquals(List.of(3L, 1L, 5L), nameIndex.search("SACHIN", null, 10));
+    }
+
+    @Test
+    void search_shouldMatchSubstringsInsideWords() {
+        nameIndex.load();
+
+        assertEquals(List.of(2L, 5L), nameIndex.search("hul", null, 10));
+        assertEquals(List.of(2L), nameIndex.search("avi", null, 10));
+        assertEquals(List.of(), nameIndex.search("xyz", null, 10));
+    }
+
+    @Test
+    void search_shouldMatchShortQueriesAtWordStarts() {
+        nameIndex.load();
+
+        // "rahul" starts both names 2 and 5; "rathour" is the second word of name 6.
+        assertEquals(List.of(2L, 5L, 6L), nameIndex.search("ra", null, 10));
+        assertEquals(List.of(4L), nameIndex.search("k", null, 10));
+    }
+
+    @Test
+    void search_shouldApplyDepartmentAndLimit() {
+        nameIndex.load();
+
+        assertEquals(List.of(3L, 5L), nameIndex.search("sachin", 2L, 10));
+        assertEquals(List.of(3L, 1L), nameIndex.search("sachin", null, 2));
+    }
+
+    @Test
+    void onEmployeesCreated_shouldMakeNewEmployeesSearchable() {
+        nameIndex.load();
+
+        nameIndex.onEmployeesCreated(new EmployeesCreatedEvent(List.of(
+                new EmployeesCreatedEvent.CreatedEmployee(7L, "Sachin Dev", 40000, 1L, "IT"))));
+
+        assertEquals(7, nameIndex.size());
+        assertEquals(List.of(7L), nameIndex.search("sachin d", null, 10));
+    }
+
+    @Test
+    void add_shouldKeepOrderAcrossDeltaMerges() {
+        nameIndex.load();
+        List<NameEntry> entries = new ArrayList<>();
+        for (int i = 0; i < NameIndex.MAX_DELTA; i++) {
+            entries.add(new NameEntry(100L + i, "Zed " + i, 1L));
+        }
+
+        nameIndex.add(entries.subList(0, 10));
+        nameIndex.add(entries.subList(10, entries.size()));
+        nameIndex.add(List.of(new NameEntry(99L, "Sachin Aaron", 1L)));
+
+        assertEquals(6 + NameIndex.MAX_DELTA + 1, nameIndex.size());
+        assertEquals(List.of(3L, 99L, 1L, 5L), nameIndex.search("sachin", null, 10));
+        assertEquals(List.of(100L, 101L, 110L), nameIndex.search("zed", null, 3));
+    }
+
+    @Test
+    void onEmployeesCreated_shouldBeBufferedWhileLoading() {
+        when(employeeRepository.streamNameEntries()).thenAnswer(invocation -> {
+            // Committed while the snapshot is being read: seen both by the query and as an event.
+            nameIndex.add(List.of(new NameEntry(4L, "Anil Kumble", 2L), new NameEntry(7L, "Anil Dev", 1L)));
+            return Stream.of(new NameEntry(4L, "Anil Kumble", 2L));
+        });
+
+        nameIndex.load();
+
+        assertEquals(2, nameIndex.size());
+        assertEquals(List.of(7L, 4L), nameIndex.search("anil", null, 10));
+    }
+}
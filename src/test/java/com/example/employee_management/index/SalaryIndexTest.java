@@ -0,0 +1,126 @@
+package com.example.employee_management.index;
+
+import com.example.employee_management.dto.SalaryEntry;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SalaryIndexTest {
+
+    private EmployeeRepository employeeRepository;
+    private SalaryIndex salaryIndex;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        salaryIndex = new SalaryIndex(employeeRepository, mock(PlatformTransactionManager.class), true);
+        when(employeeRepository.streamSalaryEntries()).thenReturn(Stream.of(
+                new SalaryEntry(1L, 50000),
+                new SalaryEntry(2L, 30000),
+                new SalaryEntry(3L, 50000),
+                new SalaryEntry(4L, 90000)));
+    }
+
+    @Test
+    void isReady_shouldBeFalseUntilLoaded() {
+        assertFalse(salaryIndex.isReady());
+
+        salaryIndex.load();
+
+        assertTrue(salaryIndex.isReady());
+        assertEquals(4, salaryIndex.size());
+    }
+
+    @Test
+    void count_shouldIncludeBothBounds() {
+        salaryIndex.load();
+
+        assertEquals(3, salaryIndex.count(30000, 50000));
+        assertEquals(1, salaryIndex.count(50001, Double.MAX_VALUE));
+        assertEquals(0, salaryIndex.count(60000, 40000));
+    }
+
+    @Test
+    void page_shouldWalkAscendingAfterCursor() {
+        salaryIndex.load();
+
+        List<SalaryEntry> first = salaryIndex.page(0, 100000, false, null, 2);
+        List<SalaryEntry> second = salaryIndex.page(0, 100000, false, first.get(1), 2);
+
+        assertEquals(List.of(new SalaryEntry(2L, 30000), new SalaryEntry(1L, 50000)), first);
+        assertEquals(List.of(new SalaryEntry(3L, 50000), new SalaryEntry(4L, 90000)), second);
+    }
+
+    @Test
+    void page_shouldReturnTopNDescending() {
+        salaryIndex.load();
+
+        List<SalaryEntry> top = salaryIndex.page(0, 60000, true, null, 2);
+        List<SalaryEntry> rest = salaryIndex.page(0, 60000, true, top.get(1), 2);
+
+        assertEquals(List.of(new SalaryEntry(3L, 50000), new SalaryEntry(1L, 50000)), top);
+        assertEquals(List.of(new SalaryEntry(2L, 30000)), rest);
+    }
+
+    @Test
+    void onEmployeesCreated_shouldMergeNewEmployeesAndIgnoreKnownOnes() {
+        salaryIndex.load();
+
+        salaryIndex.onEmployeesCreated(new EmployeesCreatedEvent(List.of(
+                new EmployeesCreatedEvent.CreatedEmployee(5L, "Rahul", 40000, 1L, "IT"),
+                new EmployeesCreatedEvent.CreatedEmployee(4L, "Sachin", 90000, 1L, "IT"))));
+
+        assertEquals(5, salaryIndex.size());
+        assertEquals(List.of(new SalaryEntry(2L, 30000), new SalaryEntry(5L, 40000)),
+                salaryIndex.page(0, 45000, false, null, 10));
+    }
+
+    @Test
+    void add_shouldKeepOrderAcrossDeltaMerges() {
+        salaryIndex.load();
+        List<SalaryEntry> entries = new ArrayList<>();
+        for (int i = 0; i < SalaryIndex.MAX_DELTA; i++) {
+            entries.add(new SalaryEntry(100L + i, 60000 + i % 7));
+        }
+
+        salaryIndex.add(List.of(new SalaryEntry(5L, 50000), new SalaryEntry(6L, 95000)));
+        assertEquals(List.of(new SalaryEntry(6L, 95000), new SalaryEntry(4L, 90000)),
+                salaryIndex.page(0, 100000, true, null, 2));
+        assertEquals(List.of(new SalaryEntry(5L, 50000), new SalaryEntry(4L, 90000)),
+                salaryIndex.page(0, 90000, false, new SalaryEntry(3L, 50000), 2));
+
+        salaryIndex.add(entries.subList(0, 10));
+        salaryIndex.add(entries.subList(10, entries.size()));
+        salaryIndex.add(List.of(new SalaryEntry(7L, 50000), new SalaryEntry(100L, 60000)));
+
+        assertEquals(6 + SalaryIndex.MAX_DELTA + 1, salaryIndex.size());
+        assertEquals(4, salaryIndex.count(50000, 50000));
+        assertEquals(List.of(new SalaryEntry(7L, 50000), new SalaryEntry(100L, 60000), new SalaryEntry(107L, 60000)),
+                salaryIndex.page(0, 100000, false, new SalaryEntry(5L, 50000), 3));
+        assertEquals(List.of(new SalaryEntry(5L, 50000), new SalaryEntry(3L, 50000)),
+                salaryIndex.page(0, 100000, true, new SalaryEntry(7L, 50000), 2));
+    }
+
+    @Test
+    void onEmployeesCreated_shouldBeBufferedWhileLoading() {
+        when(employeeRepository.streamSalaryEntries()).thenAnswer(invocation -> {
+            // Committed while the snapshot is being read: seen both by the query and as an event.
+            salaryIndex.add(List.of(new SalaryEntry(4L, 90000), new SalaryEntry(6L, 70000)));
+            return Stream.of(new SalaryEntry(4L, 90000));
+        });
+
+        salaryIndex.load();
+
+        assertEquals(2, salaryIndex.size());
+        assertEquals(2, salaryIndex.count(0, Double.MAX_VALUE));
+    }
+}
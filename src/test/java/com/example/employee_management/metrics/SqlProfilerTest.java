@@ -0,0 +1,123 @@
+package com.example.employee_management.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlProfilerTest {
+
+    private final SqlProfiler profiler = new SqlProfiler(Duration.ofHours(1), 2);
+
+    @Test
+    void afterQuery_shouldRecordStatementsInEveryOpenProfile() {
+        SqlProfiler.Profile outer = SqlProfiler.start("outer");
+        SqlProfiler.Profile inner = SqlProfiler.start("inner");
+        execute(profiler, query("select * from employee where id = ?", List.of(setLong(1, 7))));
+        inner.close();
+        execute(profiler, query("select * from department", List.of()));
+        outer.close();
+        execute(profiler, query("select 1", List.of()));
+
+        assertEquals(1, inner.count());
+        assertEquals(2, outer.count());
+        SqlProfiler.Statement slowest = inner.slowest().get(0);
+        assertEquals("select * from employee where id = ?", slowest.sql());
+        assertEquals("(Long)", slowest.parameters());
+    }
+
+    @Test
+    void mostRepeated_shouldNameTheStatementExecutedMostOften() {
+        try (SqlProfiler.Profile profile = SqlProfiler.start("request")) {
+            assertNull(profile.mostRepeated());
+            execute(profiler, query("select * from employee", List.of()));
+            for (int i = 0; i < 3; i++) {
+                execute(profiler, query("select * from department where id = ?", List.of(setLong(1, i))));
+            }
+
+            assertEquals("select * from department where id = ?", profile.mostRepeated().getKey());
+            assertEquals(3, profile.mostRepeated().getValue());
+            assertEquals(4, profile.count());
+        }
+    }
+
+    @Test
+    void parameterShape_shouldListTypesInOrder_andCountBatches() throws Exception {
+        ParameterSetOperation name = new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setString", int.class, String.class), new Object[]{2, "Ann"});
+        ParameterSetOperation department = new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setNull", int.class, int.class), new Object[]{3, Types.BIGINT});
+
+        assertEquals("(Long, String, null)",
+                SqlProfiler.parameterShape(List.of(query("insert", List.of(department, setLong(1, 1), name)))));
+        assertEquals("(Long) x3", SqlProfiler.parameterShape(
+                List.of(query("delete", List.of(setLong(1, 1)), List.of(setLong(1, 2)), List.of(setLong(1, 3))))));
+        assertEquals("()", SqlProfiler.parameterShape(List.of(query("select 1"))));
+    }
+
+    @Test
+    void afterQuery_shouldKeepTheMostRecentSlowQueries() {
+        SqlProfiler slowLog = new SqlProfiler(Duration.ZERO, 2);
+        try (SqlProfiler.Profile ignored = SqlProfiler.start("GET /api/employees")) {
+            execute(slowLog, query("select 1", List.of()));
+            execute(slowLog, query("select 2", List.of()));
+        }
+        execute(slowLog, query("select 3", List.of()));
+
+        List<SqlProfiler.SlowQuery> slowQueries = slowLog.recentSlowQueries();
+        assertEquals(List.of("select 3", "select 2"), slowQueries.stream().map(SqlProfiler.SlowQuery::sql).toList());
+        assertNull(slowQueries.get(0).request());
+        assertEquals("GET /api/employees", slowQueries.get(1).request());
+        assertTrue(slowQueries.get(1).millis() >= 0);
+        assertTrue(profiler.recentSlowQueries().isEmpty());
+    }
+
+    @Test
+    void afterQuery_shouldNotReportSlowStatementsOfBulkWork() {
+        SqlProfiler slowLog = new SqlProfiler(Duration.ZERO, 2);
+        try (SqlProfiler.Profile request = SqlProfiler.start("POST /api/employees/batch");
+             SqlProfiler.Profile bulk = SqlProfiler.startBulk("dataset generation")) {
+            execute(slowLog, query("insert into employee values (?)", List.of(setLong(1, 1))));
+
+            assertEquals(1, request.count());
+            assertEquals(1, bulk.count());
+        }
+        execute(slowLog, query("select 1", List.of()));
+
+        assertEquals(List.of("select 1"),
+                slowLog.recentSlowQueries().stream().map(SqlProfiler.SlowQuery::sql).toList());
+    }
+
+    private static void execute(SqlProfiler profiler, QueryInfo query) {
+        ExecutionInfo info = new ExecutionInfo();
+        profiler.beforeQuery(info, List.of(query));
+        profiler.afterQuery(info, List.of(query));
+    }
+
+    @SafeVarargs
+    private static QueryInfo query(String sql, List<ParameterSetOperation>... parameterSets) {
+        QueryInfo query = new QueryInfo(sql);
+        for (List<ParameterSetOperation> parameterSet : parameterSets) {
+            query.getParametersList().add(parameterSet);
+        }
+        return query;
+    }
+
+    private static ParameterSetOperation setLong(int index, long value) {
+        try {
+            return new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class),
+                    new Object[]{index, value});
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
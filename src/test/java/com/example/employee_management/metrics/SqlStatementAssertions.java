@@ -0,0 +1,39 @@
+package com.example.employee_management.metrics;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Bounds the SQL statements a piece of code executes, so that an endpoint starting to issue one query per row
+ * fails the build. Needs a context with SQL profiling enabled, and counts the statements executed on the calling
+ * thread, which includes a request performed through {@code MockMvc}.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Runs the action and fails if it executed more than {@code max} statements, naming the most repeated one.
+     *
+     * @return the result of the action.
+     */
+    public static <T> T assertMaxStatements(int max, ThrowingSupplier<T> action) throws Throwable {
+        T result;
+        SqlProfiler.Profile profile = SqlProfiler.start("test");
+        try {
+            result = action.get();
+        } finally {
+            profile.close();
+        }
+        if (profile.count() > max) {
+            Map.Entry<String, Integer> mostRepeated = profile.mostRepeated();
+            fail("Expected at most " + max + " SQL statements but " + profile.count() + " were executed; "
+                    + mostRepeated.getValue() + " of them: " + mostRepeated.getKey());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.employee_management.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SqlStatementMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(meterRegistry, true);
+    private final SqlProfiler profiler = new SqlProfiler(Duration.ofHours(1), 10);
+
+    @Test
+    void doFilter_shouldRecordStatementsPerRequestByUriPattern() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/7");
+
+        // A statement executed on this thread outside the request must not be attributed to it.
+        execute("select 1");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            execute("select e from employee e");
+            execute("select d from department d");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees/{id}");
+        });
+
+        DistributionSummary summary = meterRegistry.get(SqlStatementMetricsFilter.METRIC_NAME)
+                .tag("uri", "/api/employees/{id}").tag("method", "GET").summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+    }
+
+    @Test
+    void doFilter_shouldRecordSqlTimeOfRequestsThatExecutedStatements() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/7"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    execute("select d from department d");
+                    req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees/{id}");
+                });
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/count"), new MockHttpServletResponse(),
+                (req, res) -> req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees/count"));
+
+        assertEquals(1, meterRegistry.get(SqlStatementMetricsFilter.TIME_METRIC_NAME)
+                .tag("uri", "/api/employees/{id}").timer().count());
+        assertNull(meterRegistry.find(SqlStatementMetricsFilter.TIME_METRIC_NAME)
+                .tag("uri", "/api/employees/count").timer());
+        // A request that ran no statements still counts, as zero.
+        DistributionSummary summary = meterRegistry.get(SqlStatementMetricsFilter.METRIC_NAME)
+                .tag("uri", "/api/employees/count").summary();
+        assertEquals(1, summary.count());
+        assertEquals(0, summary.totalAmount());
+    }
+
+    @Test
+    void doFilter_shouldRecordNothing_whenProfilingIsDisabled() throws Exception {
+        SqlStatementMetricsFilter disabled = new SqlStatementMetricsFilter(meterRegistry, false);
+
+        disabled.doFilter(new MockHttpServletRequest("GET", "/api/employees/7"), new MockHttpServletResponse(),
+                (req, res) -> execute("select d from department d"));
+
+        assertNull(meterRegistry.find(SqlStatementMetricsFilter.METRIC_NAME).summary());
+    }
+
+    private void execute(String sql) {
+        QueryInfo query = new QueryInfo(sql);
+        ExecutionInfo info = new ExecutionInfo();
+        profiler.beforeQuery(info, List.of(query));
+        profiler.afterQuery(info, List.of(query));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.employee_management.repository;
+
+import com.example.employee_management.dto.DepartmentStats;
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.entity.Employee;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class DepartmentRepositoryTest {
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Department it = department("IT");
+        department("Empty");
+        Department hr = department("HR");
+        for (int salary : new int[]{1000, 2000, 3000, 4000}) {
+            employee("IT " + salary, salary, it);
+        }
+        employee("HR 500", 500, hr);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findStats_shouldAggregatePerDepartment() {
+        List<DepartmentStats> stats = departmentRepository.findStats();
+
+        assertEquals(List.of("Empty", "HR", "IT"), stats.stream().map(DepartmentStats::getDepartment).toList());
+        DepartmentStats it = stats.get(2);
+        assertEquals(4, it.getCount());
+        assertEquals(10000, it.getTotalSalary());
+        assertEquals(2500, it.getAverageSalary());
+        assertEquals(1000, it.getMinSalary());
+        assertEquals(4000, it.getMaxSalary());
+        DepartmentStats empty = stats.get(0);
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getTotalSalary());
+        assertNull(empty.getAverageSalary());
+    }
+
+    @Test
+    void findStatsByNameIn_shouldOnlyIncludeRequestedDepartments() {
+        List<DepartmentStats> stats = departmentRepository.findStatsByNameIn(List.of("HR"));
+
+        assertEquals(1, stats.size());
+        assertEquals(500, stats.get(0).getTotalSalary());
+    }
+
+    @Test
+    void findSalaryPercentiles_shouldInterpolatePerDepartment() {
+        Map<String, List<Double>> percentiles = departmentRepository.findSalaryPercentiles(null, List.of(0.5, 1.0));
+
+        assertEquals(List.of(2500.0, 4000.0), percentiles.get("IT"));
+        assertEquals(List.of(500.0, 500.0), percentiles.get("HR"));
+        assertFalse(percentiles.containsKey("Empty"));
+    }
+
+    private Department department(String name) {
+        Department department = new Department();
+        department.setName(name);
+        entityManager.persist(department);
+        return department;
+    }
+
+    private void employee(String name, double salary, Department department) {
+        Employee employee = new Employee();
+        employee.setName(name);
+        employee.setSalary(salary);
+        employee.setDepartment(department);
+        entityManager.persist(employee);
+    }
+}
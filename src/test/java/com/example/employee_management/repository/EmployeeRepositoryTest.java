@@ -0,0 +1,114 @@
+package com.example.employee_management.repository;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EmployeeRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int d = 0; d < 5; d++) {
+            Department department = new Department();
+            department.setName("Department " + d);
+            entityManager.persist(department);
+            for (int e = 0; e < 4; e++) {
+                Employee employee = new Employee();
+                employee.setName("Employee " + d + "-" + e);
+                employee.setSalary(1000 * (e + 1));
+                employee.setDepartment(department);
+                entityManager.persist(employee);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findDTOsAfterId_shouldLoadPageWithOneStatement() {
+        List<EmployeeDTO> employees = employeeRepository.findDTOsAfterId(0L, Limit.of(100));
+
+        assertEquals(20, employees.size());
+        assertEquals("Department 0", employees.get(0).getDepartment());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findDTOsByDepartmentNameAfterId_shouldLoadPageWithOneStatement() {
+        List<EmployeeDTO> employees = employeeRepository.findDTOsByDepartmentNameAfterId("Department 3", 0L,
+                Limit.of(100));
+
+        assertEquals(4, employees.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findSalaryRangeDescending_shouldLoadPageWithOneStatement() {
+        List<EmployeeDTO> employees = employeeRepository.findSalaryRangeDescending(2000, 3000, Double.MAX_VALUE,
+                Long.MAX_VALUE, Limit.of(100));
+
+        assertEquals(10, employees.size());
+        assertEquals(3000, employees.get(0).getSalary());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void saveAndFlush_shouldRejectSecondEmployeeWithSameNameInDepartment() {
+        Department department = entityManager.createQuery("from Department where name = 'Department 2'",
+                Department.class).getSingleResult();
+        Employee duplicate = new Employee();
+        duplicate.setName("Employee 2-1");
+        duplicate.setDepartment(department);
+
+        assertThrows(DataIntegrityViolationException.class, () -> employeeRepository.saveAndFlush(duplicate));
+    }
+
+    @Test
+    void searchDTOsByName_shouldRankPrefixMatchesFirst() {
+        Department department = new Department();
+        department.setName("Search");
+        entityManager.persist(department);
+        for (String name : List.of("Ravi Sachin", "Sachin Tendulkar", "Sachin")) {
+            Employee employee = new Employee();
+            employee.setName(name);
+            employee.setDepartment(department);
+            entityManager.persist(employee);
+        }
+        entityManager.flush();
+
+        List<EmployeeDTO> employees = employeeRepository.searchDTOsByName("sachin", "%sachin%", "sachin%",
+                "Search", Limit.of(10));
+
+        assertEquals(List.of("Sachin", "Sachin Tendulkar", "Ravi Sachin"),
+                employees.stream().map(EmployeeDTO::getName).toList());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.employee_management.repository;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReactiveEmployeeRepositoryTest {
+
+    private Connection connection;
+    private ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Keeps the in-memory database alive for the R2DBC connections opened by the repository.
+        connection = DriverManager.getConnection("jdbc:h2:mem:reactive_repository_test", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table department (id bigint primary key, name varchar(255))");
+            statement.execute("create table employee (id bigint primary key, name varchar(255), "
+                    + "salary double precision, department_id bigint references department)");
+            statement.execute("insert into department values (1, 'IT'), (2, 'HR')");
+            statement.execute("insert into employee values (1, 'Rahul', 50000, 1), (2, 'Sachin', 30000, 2), "
+                    + "(3, 'Ravi', 50000, 1), (4, 'Amit', 90000, 1), (5, 'Vijay', 50000, 2)");
+        }
+        // A chunk size of 2 makes every query below span several chunks.
+        reactiveEmployeeRepository = new ReactiveEmployeeRepository(
+                "jdbc:h2:mem:reactive_repository_test;DB_CLOSE_DELAY=-1", "sa", "", 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        reactiveEmployeeRepository.destroy();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Test
+    void findAll_shouldStreamEveryChunkInIdOrder() {
+        List<EmployeeDTO> employees = reactiveEmployeeRepository.findAll().collectList().block();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), employees.stream().map(EmployeeDTO::getId).toList());
+        assertEquals("HR", employees.get(1).getDepartment());
+    }
+
+    @Test
+    void findByDepartmentName_shouldStreamOnlyThatDepartment() {
+        List<EmployeeDTO> employees = reactiveEmployeeRepository.findByDepartmentName("IT").collectList().block();
+
+        assertEquals(List.of(1L, 3L, 4L), employees.stream().map(EmployeeDTO::getId).toList());
+    }
+
+    @Test
+    void findBySalaryBetween_shouldContinueAcrossEqualSalaries() {
+        List<EmployeeDTO> employees = reactiveEmployeeRepository.findBySalaryBetween(30000, 50000)
+                .collectList().block();
+
+        assertEquals(List.of(2L, 1L, 3L, 5L), employees.stream().map(EmployeeDTO::getId).toList());
+    }
+
+    @Test
+    void connectionOptions_shouldRejectDatabasesOtherThanH2() {
+        assertThrows(IllegalStateException.class,
+                () -> ReactiveEmployeeRepository.connectionOptions("jdbc:postgresql://localhost/employees"));
+    }
+}
@@ -1,23 +1,39 @@
 package com.example.employee_management.service;
 
 
+import com.example.employee_management.dto.DepartmentStats;
 import com.example.employee_management.entity.Department;
 import com.example.employee_management.entity.Employee;
+import com.example.employee_management.event.DepartmentChangedEvent;
+import com.example.employee_management.exception.InvalidPercentileException;
+import com.example.employee_management.index.EmployeeColumns;
 import com.example.employee_management.repository.DepartmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 public class DepartmentServiceTest {
@@ -25,12 +41,24 @@ public class DepartmentServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmployeeColumns employeeColumns;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private DepartmentService departmentService;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        departmentService = new DepartmentService(departmentRepository, transactionManager, meterRegistry, eventPublisher, employeeColumns, 2);
     }
 
     @Test
@@ -78,6 +106,153 @@ public class DepartmentServiceTest {
         verify(departmentRepository, times(1)).findByName("Finance");
     }
 
+    @Test
+    public void testFindOrCreateByNames() {
+        Department it = new Department(1L, "IT", Set.of());
+        Department finance = new Department(2L, "Finance", Set.of());
+
+        when(departmentRepository.findByNameIn(anyCollection())).thenReturn(List.of(it));
+        when(departmentRepository.saveAndFlush(any(Department.class))).thenReturn(finance);
+
+        Map<String, Department> result = departmentService.findOrCreateByNames(List.of("IT", "Finance"));
+
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get("IT").getId());
+        assertEquals(2L, result.get("Finance").getId());
+
+        // The missing department is inserted on its own without being looked up again, and cached once committed.
+        verify(departmentRepository, times(1)).saveAndFlush(argThat(department ->
+                "Finance".equals(department.getName())));
+        verify(departmentRepository, never()).findByName(any());
+        assertEquals(2L, departmentService.findOrCreate("Finance").getId());
+        verify(departmentRepository, never()).findByName(any());
+    }
+
+    @Test
+    public void testFindOrCreateByNames_RejectsMissingNames() {
+        assertThrows(IllegalArgumentException.class,
+                () -> departmentService.findOrCreateByNames(Arrays.asList("IT", null)));
+        assertThrows(IllegalArgumentException.class, () -> departmentService.findOrCreateByNames(List.of(" ")));
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    public void testFindOrCreate_ServesRepeatedLookupsFromCache() {
+        Department department = new Department(1L, "IT", Set.of());
+        when(departmentRepository.findByName("IT")).thenReturn(Optional.of(department));
+
+        assertEquals(1L, departmentService.findOrCreate("IT").getId());
+        assertEquals(1L, departmentService.findOrCreate("IT").getId());
+
+        verify(departmentRepository, times(1)).findByName("IT");
+        verify(departmentRepository, never()).saveAndFlush(any());
+        assertEquals(1.0, meterRegistry.get("department.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("department.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void testFindOrCreate_ConcurrentFirstWritesCreateOneRow() throws Exception {
+        when(departmentRepository.findByName("Finance")).thenReturn(Optional.empty());
+        when(departmentRepository.saveAndFlush(any(Department.class))).thenAnswer(invocation -> {
+            Department department = invocation.getArgument(0);
+            department.setId(7L);
+            return department;
+        });
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Department>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return departmentService.findOrCreate("Finance");
+            }));
+        }
+        start.countDown();
+        for (Future<Department> result : results) {
+            assertEquals(7L, result.get().getId());
+        }
+        executor.shutdown();
+
+        verify(departmentRepository, times(1)).saveAndFlush(any(Department.class));
+    }
+
+    @Test
+    public void testFindOrCreate_SlowLookupDoesNotBlockOtherNames() throws Exception {
+        // "Aa" and "BB" have the same hash code, so they share a bin of any hash map.
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(departmentRepository.findByName("Aa")).thenAnswer(invocation -> {
+            lookupStarted.countDown();
+            release.await();
+            return Optional.of(new Department(1L, "Aa", Set.of()));
+        });
+        when(departmentRepository.findByName("BB")).thenReturn(Optional.of(new Department(2L, "BB", Set.of())));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Department> slow = executor.submit(() -> departmentService.findOrCreate("Aa"));
+        lookupStarted.await();
+        Future<Department> fast = executor.submit(() -> departmentService.findOrCreate("BB"));
+
+        assertEquals(2L, fast.get(5, TimeUnit.SECONDS).getId());
+        release.countDown();
+        assertEquals(1L, slow.get().getId());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testFindOrCreate_FallsBackToExistingRowOnUniqueViolation() {
+        Department existing = new Department(3L, "HR", Set.of());
+        when(departmentRepository.findByName("HR")).thenReturn(Optional.empty(), Optional.of(existing));
+        when(departmentRepository.saveAndFlush(any(Department.class)))
+                .thenThrow(new DataIntegrityViolationException("unique"));
+
+        Department result = departmentService.findOrCreate("HR");
+
+        assertEquals(3L, result.getId());
+    }
+
+    @Test
+    public void testFindOrCreate_CacheIsBounded() {
+        when(departmentRepository.findByName(anyString())).thenAnswer(invocation ->
+                Optional.of(new Department(1L, invocation.getArgument(0), Set.of())));
+
+        departmentService.findOrCreate("A");
+        departmentService.findOrCreate("B");
+        departmentService.findOrCreate("C");
+
+        assertEquals(2.0, meterRegistry.get("department.cache.size").gauge().value());
+    }
+
+    @Test
+    public void testSaveDepartment_RenameEvictsCachedEntry() {
+        Department department = new Department(1L, "IT", Set.of());
+        when(departmentRepository.findByName("IT")).thenReturn(Optional.of(department));
+        departmentService.findOrCreate("IT");
+
+        Department renamed = new Department(1L, "Technology", Set.of());
+        when(departmentRepository.save(renamed)).thenReturn(renamed);
+        departmentService.saveDepartment(renamed);
+        departmentService.findOrCreate("IT");
+
+        verify(departmentRepository, times(2)).findByName("IT");
+    }
+
+    @Test
+    public void testDeleteDepartment_EvictsCachedEntry() {
+        Department department = new Department(1L, "IT", Set.of());
+        when(departmentRepository.findByName("IT")).thenReturn(Optional.of(department));
+        departmentService.findOrCreate("IT");
+
+        departmentService.deleteDepartment(department);
+        departmentService.findOrCreate("IT");
+
+        verify(departmentRepository).delete(department);
+        verify(departmentRepository, times(2)).findByName("IT");
+        verify(eventPublisher).publishEvent(new DepartmentChangedEvent(1L, "IT"));
+    }
+
     @Test
     public void testSaveDepartment() {
         Department department = new Department(1L, "Marketing", Set.of(new Employee()));
@@ -91,4 +266,51 @@ public class DepartmentServiceTest {
 
         verify(departmentRepository, times(1)).save(department);
     }
+
+    @Test
+    public void testGetDepartmentStats_WithoutPercentiles() {
+        List<DepartmentStats> stats = List.of(new DepartmentStats("IT", 2L, 3000.0, 1500.0, 1000.0, 2000.0));
+        when(departmentRepository.findStats()).thenReturn(stats);
+
+        List<DepartmentStats> result = departmentService.getDepartmentStats(null, null);
+
+        assertEquals(stats, result);
+        assertNull(result.get(0).getPercentiles());
+        verify(departmentRepository, never()).findSalaryPercentiles(any(), anyList());
+    }
+
+    @Test
+    public void testGetDepartmentStats_WithPercentiles() {
+        when(departmentRepository.findStatsByNameIn(List.of("IT", "Empty"))).thenReturn(List.of(
+                new DepartmentStats("Empty", 0L, 0.0, null, null, null),
+                new DepartmentStats("IT", 2L, 3000.0, 1500.0, 1000.0, 2000.0)));
+        when(departmentRepository.findSalaryPercentiles(List.of("IT", "Empty"), List.of(0.5, 0.99)))
+                .thenReturn(Map.of("IT", List.of(1500.0, 1990.0)));
+
+        List<DepartmentStats> result = departmentService.getDepartmentStats(List.of("IT", "Empty"), List.of(0.5, 0.99));
+
+        assertEquals(1990.0, result.get(1).getPercentiles().get("0.99"));
+        assertEquals(2, result.get(0).getPercentiles().size());
+        assertNull(result.get(0).getPercentiles().get("0.5"));
+    }
+
+    @Test
+    public void testGetDepartmentStats_FromEmployeeColumns() {
+        when(employeeColumns.isReady()).thenReturn(true);
+        when(employeeColumns.stats(null)).thenReturn(List.of(
+                new DepartmentStats("IT", 2L, 3000.0, 1500.0, 1000.0, 2000.0)));
+        when(employeeColumns.salaryPercentiles(null, List.of(0.5))).thenReturn(Map.of("IT", List.of(1500.0)));
+
+        List<DepartmentStats> result = departmentService.getDepartmentStats(null, List.of(0.5));
+
+        assertEquals(1500.0, result.get(0).getPercentiles().get("0.5"));
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    public void testGetDepartmentStats_RejectsPercentileOutOfRange() {
+        assertThrows(InvalidPercentileException.class,
+                () -> departmentService.getDepartmentStats(null, List.of(0.5, 95.0)));
+        verifyNoInteractions(departmentRepository);
+    }
 }
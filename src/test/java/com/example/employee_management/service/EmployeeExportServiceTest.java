@@ -0,0 +1,77 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class EmployeeExportServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeExportService employeeExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeExportService = new EmployeeExportService(employeeRepository, new ObjectMapper());
+    }
+
+    @Test
+    void exportEmployees_shouldWriteOneJsonObjectPerLine() throws Exception {
+        // Given
+        when(employeeRepository.streamAllAsDTOs()).thenReturn(Stream.of(
+                new EmployeeDTO(1L, "Sachin", "IT", 50000),
+                new EmployeeDTO(2L, "Rahul", "HR", 40000)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        employeeExportService.exportEmployees(ExportFormat.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"name\":\"Sachin\",\"department\":\"IT\",\"salary\":50000.0}", lines[0]);
+        assertEquals("{\"id\":2,\"name\":\"Rahul\",\"department\":\"HR\",\"salary\":40000.0}", lines[1]);
+    }
+
+    @Test
+    void exportEmployees_shouldWriteCsvWithHeaderAndQuoting() throws Exception {
+        // Given
+        when(employeeRepository.streamAllAsDTOs()).thenReturn(Stream.of(
+                new EmployeeDTO(7L, "Doe, \"John\"", "IT", 50000)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        employeeExportService.exportEmployees(ExportFormat.CSV, out);
+
+        // Then
+        assertEquals("id,name,department,salary\n7,\"Doe, \"\"John\"\"\",IT,50000.0\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportEmployees_shouldCloseTheRowStream() throws Exception {
+        // Given
+        boolean[] closed = {false};
+        when(employeeRepository.streamAllAsDTOs()).thenReturn(Stream.<EmployeeDTO>empty().onClose(() -> closed[0] = true));
+
+        // When
+        employeeExportService.exportEmployees(ExportFormat.CSV, new ByteArrayOutputStream());
+
+        // Then
+        assertTrue(closed[0]);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.dto.BatchImportResult;
+import com.example.employee_management.dto.BatchImportRowResult;
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.dto.EmployeeKey;
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.entity.Employee;
+import com.example.employee_management.event.EmployeesCreatedEvent;
+import com.example.employee_management.exception.BatchTooLargeException;
+import com.example.employee_management.index.EmployeeKeyFilter;
+import com.example.employee_management.mapper.EmployeeMapper;
+import com.example.employee_management.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeImportServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmployeeKeyFilter employeeKeyFilter;
+
+    private EmployeeImportService employeeImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeImportService = new EmployeeImportService(employeeRepository, departmentService, employeeMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), entityManager, eventPublisher,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), employeeKeyFilter);
+        when(employeeKeyFilter.mightContain(anyLong(), anyString())).thenReturn(true);
+        AtomicLong ids = new AtomicLong();
+        when(employeeMapper.employeeDTOToEmployee(any(EmployeeDTO.class))).thenAnswer(invocation -> {
+            Employee employee = new Employee();
+            employee.setId(ids.incrementAndGet());
+            return employee;
+        });
+    }
+
+    @Test
+    void importEmployees_shouldReportCreatedConflictAndInvalidRows() {
+        // Given
+        List<EmployeeDTO> employeeDTOs = List.of(
+                new EmployeeDTO("Sachin", "IT", 50000),
+                new EmployeeDTO("Rahul", "IT", 40000),
+                new EmployeeDTO("Sachin", "IT", 50000),
+                new EmployeeDTO(" ", "IT", 40000));
+        when(employeeRepository.findKeysByDepartmentIdsAndNames(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new EmployeeKey(1L, "Rahul")));
+        Department department = new Department(1L, "IT", null);
+        when(departmentService.findOrCreateByNames(anyCollection())).thenReturn(Map.of("IT", department));
+
+        // When
+        BatchImportResult result = employeeImportService.importEmployees(employeeDTOs);
+
+        // Then
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getConflicts());
+        assertEquals(1, result.getInvalid());
+        assertEquals(BatchImportRowResult.Status.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(BatchImportRowResult.Status.CONFLICT, result.getResults().get(1).getStatus());
+        assertEquals(BatchImportRowResult.Status.CONFLICT, result.getResults().get(2).getStatus());
+        assertEquals(BatchImportRowResult.Status.INVALID, result.getResults().get(3).getStatus());
+        verify(employeeRepository, times(1)).saveAll(argThat(employees ->
+                ((List<Employee>) employees).size() == 1));
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+        verify(eventPublisher).publishEvent(argThat((EmployeesCreatedEvent event) ->
+                event.employees().size() == 1 && "IT".equals(event.employees().get(0).departmentName())));
+    }
+
+    @Test
+    void importEmployees_shouldQueryOncePerChunk() {
+        // Given
+        List<EmployeeDTO> employeeDTOs = new ArrayList<>();
+        for (int i = 0; i < EmployeeImportService.CHUNK_SIZE + 1; i++) {
+            employeeDTOs.add(new EmployeeDTO("Employee " + i, "IT", 1000));
+        }
+        when(employeeRepository.findKeysByDepartmentIdsAndNames(anyCollection(), anyCollection()))
+                .thenReturn(Collections.emptyList());
+        when(departmentService.findOrCreateByNames(anyCollection()))
+                .thenReturn(Map.of("IT", new Department(1L, "IT", null)));
+
+        // When
+        BatchImportResult result = employeeImportService.importEmployees(employeeDTOs);
+
+        // Then
+        assertEquals(EmployeeImportService.CHUNK_SIZE + 1, result.getCreated());
+        verify(employeeRepository, times(2)).findKeysByDepartmentIdsAndNames(anyCollection(), anyCollection());
+        verify(departmentService, times(1)).findOrCreateByNames(anyCollection());
+    }
+
+    @Test
+    void importEmployees_shouldOnlyLookUpRowsTheFilterCannotRuleOut() {
+        when(employeeKeyFilter.mightContain(1L, "Sachin")).thenReturn(false);
+        when(employeeRepository.findKeysByDepartmentIdsAndNames(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new EmployeeKey(1L, "Rahul")));
+        when(departmentService.findOrCreateByNames(anyCollection()))
+                .thenReturn(Map.of("IT", new Department(1L, "IT", null)));
+
+        BatchImportResult result = employeeImportService.importEmployees(List.of(
+                new EmployeeDTO("Sachin", "IT", 50000),
+                new EmployeeDTO("Rahul", "IT", 40000),
+                new EmployeeDTO("Anil", "IT", 40000)));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getConflicts());
+        verify(employeeRepository).findKeysByDepartmentIdsAndNames(Set.of(1L), Set.of("Rahul", "Anil"));
+        verify(employeeKeyFilter).recordLookup(true);
+        verify(employeeKeyFilter).recordLookup(false);
+    }
+
+    @Test
+    void importEmployees_shouldSkipTheLookup_whenTheFilterRulesOutEveryRow() {
+        when(employeeKeyFilter.mightContain(anyLong(), anyString())).thenReturn(false);
+        when(departmentService.findOrCreateByNames(anyCollection()))
+                .thenReturn(Map.of("IT", new Department(1L, "IT", null)));
+
+        BatchImportResult result = employeeImportService.importEmployees(List.of(
+                new EmployeeDTO("Sachin", "IT", 50000)));
+
+        assertEquals(1, result.getCreated());
+        verify(employeeRepository, never()).findKeysByDepartmentIdsAndNames(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void importEmployees_shouldReportMissingRowsAndDepartmentsAsInvalid() {
+        List<EmployeeDTO> employeeDTOs = new ArrayList<>();
+        employeeDTOs.add(null);
+        employeeDTOs.add(new EmployeeDTO("Sachin", null, 50000));
+        employeeDTOs.add(new EmployeeDTO("Rahul", " ", 40000));
+
+        BatchImportResult result = employeeImportService.importEmployees(employeeDTOs);
+
+        assertEquals(3, result.getInvalid());
+        assertEquals("Department cannot be empty", result.getResults().get(1).getMessage());
+        verifyNoInteractions(departmentService, employeeRepository);
+    }
+
+    @Test
+    void importEmployees_shouldRejectOversizedBatch() {
+        List<EmployeeDTO> employeeDTOs = Collections.nCopies(EmployeeImportService.MAX_BATCH_SIZE + 1,
+                new EmployeeDTO("Sachin", "IT", 50000));
+
+        assertThrows(BatchTooLargeException.class, () -> employeeImportService.importEmployees(employeeDTOs));
+        verifyNoInteractions(employeeRepository);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.dto.BatchImportResult;
+import com.example.employee_management.dto.BatchImportRowResult;
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.dto.IngestionStatus;
+import com.example.employee_management.exception.DuplicateEmployeeException;
+import com.example.employee_management.exception.IngestionNotFoundException;
+import com.example.employee_management.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class EmployeeIngestionServiceTest {
+
+    private EmployeeImportService employeeImportService;
+    private EmployeeService employeeService;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeIngestionService ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        employeeImportService = mock(EmployeeImportService.class);
+        employeeService = mock(EmployeeService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(employeeImportService.importEmployees(anyList())).thenAnswer(invocation -> {
+            List<EmployeeDTO> employees = invocation.getArgument(0);
+            List<BatchImportRowResult> rows = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++) {
+                rows.add(new BatchImportRowResult(i, BatchImportRowResult.Status.CREATED, null));
+            }
+            return new BatchImportResult(employees.size(), 0, 0, rows);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (ingestionService != null) {
+            ingestionService.stop();
+        }
+    }
+
+    @Test
+    void submit_shouldCommitEmployeesArrivingTogetherInOneBatch() throws InterruptedException {
+        ingestionService = ingestionService(100, 3, Duration.ofSeconds(5));
+        ingestionService.start();
+
+        List<String> ids = new ArrayList<>();
+        for (String name : List.of("Sachin", "Rahul", "Anil")) {
+            ids.add(ingestionService.submit(new EmployeeDTO(name, "IT", 1000)).getId());
+        }
+
+        for (String id : ids) {
+            assertEquals(IngestionStatus.Status.CREATED, awaitOutcome(id).getStatus());
+        }
+        verify(employeeImportService, times(1)).importEmployees(anyList());
+        assertEquals(1, meterRegistry.get("employee.ingestion.commit").timer().count());
+        assertEquals(3, meterRegistry.get("employee.ingestion.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void submit_shouldReportConflictsFromTheBatch() throws InterruptedException {
+        when(employeeImportService.importEmployees(anyList())).thenReturn(new BatchImportResult(1, 1, 0, List.of(
+                new BatchImportRowResult(0, BatchImportRowResult.Status.CREATED, null),
+                new BatchImportRowResult(1, BatchImportRowResult.Status.CONFLICT, "Duplicate employee within the batch"))));
+        ingestionService = ingestionService(100, 2, Duration.ofSeconds(5));
+        ingestionService.start();
+
+        String first = ingestionService.submit(new EmployeeDTO("Sachin", "IT", 1000)).getId();
+        String second = ingestionService.submit(new EmployeeDTO("Sachin", "IT", 1000)).getId();
+
+        assertEquals(IngestionStatus.Status.CREATED, awaitOutcome(first).getStatus());
+        IngestionStatus conflict = awaitOutcome(second);
+        assertEquals(IngestionStatus.Status.CONFLICT, conflict.getStatus());
+        assertEquals("Employee with name Sachin already exists in department IT", conflict.getMessage());
+    }
+
+    @Test
+    void submit_shouldRejectWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeImportService.importEmployees(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            return new BatchImportResult(1, 0, 0,
+                    List.of(new BatchImportRowResult(0, BatchImportRowResult.Status.CREATED, null)));
+        });
+        ingestionService = ingestionService(1, 1, Duration.ofMillis(1));
+        ingestionService.start();
+
+        ingestionService.submit(new EmployeeDTO("Sachin", "IT", 1000));
+        assertTrue(committing.await(5, TimeUnit.SECONDS));
+        ingestionService.submit(new EmployeeDTO("Rahul", "IT", 1000));
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> ingestionService.submit(new EmployeeDTO("Anil", "IT", 1000)));
+        assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+        assertEquals(1, meterRegistry.get("employee.ingestion.rejected").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void getStatus_shouldNotFindStatusesEvictedPastTheBound() {
+        ingestionService = ingestionService(100, 100, Duration.ofSeconds(5), 2);
+        ingestionService.start();
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(ingestionService.submit(new EmployeeDTO("Employee " + i, "IT", 1000)).getId());
+        }
+
+        int found = 0;
+        for (String id : ids) {
+            try {
+                ingestionService.getStatus(id);
+                found++;
+            } catch (IngestionNotFoundException ex) {
+                // Evicted to keep within the bound.
+            }
+        }
+        assertTrue(found <= 2, "found " + found);
+    }
+
+    @Test
+    void submit_shouldBeRejected_whenIngestionIsDisabled() {
+        ingestionService = new EmployeeIngestionService(employeeImportService, employeeService, meterRegistry,
+                false, 10, 10, Duration.ofMillis(10), Duration.ofMinutes(1), 100);
+        ingestionService.start();
+
+        assertFalse(ingestionService.isRunning());
+        assertThrows(ServiceOverloadedException.class,
+                () -> ingestionService.submit(new EmployeeDTO("Sachin", "IT", 1000)));
+    }
+
+    @Test
+    void commit_shouldSaveOneByOne_whenBatchFails() {
+        when(employeeImportService.importEmployees(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_employee_name_department"));
+        EmployeeDTO sachin = new EmployeeDTO("Sachin", "IT", 1000);
+        EmployeeDTO rahul = new EmployeeDTO("Rahul", "IT", 1000);
+        doThrow(new DuplicateEmployeeException("Employee with name Rahul already exists in department IT"))
+                .when(employeeService).saveEmployee(rahul);
+        ingestionService = ingestionService(10, 10, Duration.ofMillis(10));
+
+        ingestionService.commit(List.of(new EmployeeIngestionService.Ingestion("1", sachin, System.nanoTime()),
+                new EmployeeIngestionService.Ingestion("2", rahul, System.nanoTime())));
+
+        assertEquals(IngestionStatus.Status.CREATED, ingestionService.getStatus("1").getStatus());
+        assertEquals(IngestionStatus.Status.CONFLICT, ingestionService.getStatus("2").getStatus());
+    }
+
+    @Test
+    void stop_shouldCommitQueuedEmployees() {
+        ingestionService = ingestionService(100, 100, Duration.ofSeconds(10));
+        ingestionService.start();
+        String id = ingestionService.submit(new EmployeeDTO("Sachin", "IT", 1000)).getId();
+
+        ingestionService.stop();
+
+        assertEquals(IngestionStatus.Status.CREATED, ingestionService.getStatus(id).getStatus());
+    }
+
+    @Test
+    void getStatus_shouldThrow_whenIdIsUnknown() {
+        ingestionService = ingestionService(10, 10, Duration.ofMillis(10));
+
+        assertThrows(IngestionNotFoundException.class, () -> ingestionService.getStatus("unknown"));
+    }
+
+    private EmployeeIngestionService ingestionService(int capacity, int batchSize, Duration maxDelay) {
+        return ingestionService(capacity, batchSize, maxDelay, 100);
+    }
+
+    private EmployeeIngestionService ingestionService(int capacity, int batchSize, Duration maxDelay,
+                                                      long maxStatuses) {
+        return new EmployeeIngestionService(employeeImportService, employeeService, meterRegistry, true,
+                capacity, batchSize, maxDelay, Duration.ofMinutes(1), maxStatuses);
+    }
+
+    private IngestionStatus awaitOutcome(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        IngestionStatus status = ingestionService.getStatus(id);
+        while (status.getStatus() == IngestionStatus.Status.QUEUED && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            status = ingestionService.getStatus(id);
+        }
+        return status;
+    }
+}
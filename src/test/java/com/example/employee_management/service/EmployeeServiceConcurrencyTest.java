@@ -0,0 +1,140 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.exception.DuplicateEmployeeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stresses {@link EmployeeService#saveEmployee(EmployeeDTO, String)} and
+ * {@link EmployeeImportService#importEmployees(List)} with many threads racing to create the same employees and
+ * departments against the real database.
+ */
+@SpringBootTest(properties = "employee.snapshot.enabled=false")
+class EmployeeServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int EMPLOYEES = 50;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void saveEmployee_shouldCreateEachEmployeeOnce_whenSavedConcurrently() throws Exception {
+        String department = "Stress " + UUID.randomUUID();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+
+        runConcurrently(() -> {
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < EMPLOYEES; i++) {
+                order.add(i);
+            }
+            Collections.shuffle(order);
+            for (int i : order) {
+                try {
+                    employeeService.saveEmployee(new EmployeeDTO("Employee " + i, department, 1000));
+                    created.incrementAndGet();
+                } catch (DuplicateEmployeeException ex) {
+                    duplicates.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(EMPLOYEES, created.get());
+        assertEquals((THREADS - 1) * EMPLOYEES, duplicates.get());
+        assertEquals(List.of(1L), rowsPerName(department));
+    }
+
+    @Test
+    void saveEmployee_shouldReplayConcurrentRetriesWithSameIdempotencyKey() throws Exception {
+        String department = "Stress " + UUID.randomUUID();
+        String idempotencyKey = UUID.randomUUID().toString();
+        AtomicInteger saved = new AtomicInteger();
+
+        runConcurrently(() -> {
+            if (employeeService.saveEmployee(new EmployeeDTO("Sachin", department, 1000), idempotencyKey)) {
+                saved.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, saved.get());
+        assertEquals(List.of(1L), rowsPerName(department));
+    }
+
+    @Test
+    void importEmployees_shouldShareNewDepartments_whenImportedConcurrently() throws Exception {
+        String department = "Stress " + UUID.randomUUID();
+        AtomicInteger threads = new AtomicInteger();
+        AtomicInteger created = new AtomicInteger();
+
+        runConcurrently(() -> {
+            int thread = threads.getAndIncrement();
+            List<EmployeeDTO> employees = new ArrayList<>();
+            for (int i = 0; i < EMPLOYEES; i++) {
+                employees.add(new EmployeeDTO("Employee " + thread + "-" + i, i % 2 == 0 ? department
+                        : department + " 2", 1000));
+            }
+            if (thread == 0) {
+                employeeService.saveEmployee(new EmployeeDTO("Sachin", department, 1000));
+            }
+            created.addAndGet(employeeImportService.importEmployees(employees).getCreated());
+        });
+
+        assertEquals(THREADS * EMPLOYEES, created.get());
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from department where name in (?, ?)",
+                Integer.class, department, department + " 2"));
+        assertEquals(List.of(1L), rowsPerName(department));
+    }
+
+    private void runConcurrently(Runnable body) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    body.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Long> rowsPerName(String department) {
+        return jdbcTemplate.queryForList("select count(*) from employee e"
+                        + " join department d on d.id = e.department_id where d.name = ?"
+                        + " group by e.name", Long.class, department).stream()
+                .distinct()
+                .toList();
+    }
+}
@@ -1,23 +1,42 @@
 package com.example.employee_management.service;
 
+import com.example.employee_management.cache.DataVersions;
 import com.example.employee_management.dto.EmployeeDTO;
+import com.example.employee_management.dto.EmployeePage;
 import com.example.employee_management.entity.Department;
 import com.example.employee_management.entity.Employee;
+import com.example.employee_management.dto.SalaryEntry;
+import com.example.employee_management.event.EmployeesCreatedEvent;
 import com.example.employee_management.exception.DuplicateEmployeeException;
 import com.example.employee_management.exception.EmployeeNotFoundException;
+import com.example.employee_management.exception.IdempotencyKeyReusedException;
+import com.example.employee_management.exception.InvalidCursorException;
+import com.example.employee_management.exception.InvalidSearchQueryException;
+import com.example.employee_management.index.EmployeeKeyFilter;
+import com.example.employee_management.index.NameIndex;
+import com.example.employee_management.index.SalaryIndex;
 import com.example.employee_management.mapper.EmployeeMapper;
 import com.example.employee_management.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class EmployeeServiceTest {
@@ -31,28 +50,87 @@ class EmployeeServiceTest {
     @Mock
     private DepartmentService departmentService;
 
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SalaryIndex salaryIndex;
+
+    @Mock
+    private NameIndex nameIndex;
+
+    @Spy
+    private IdempotentRequests idempotentRequests = new IdempotentRequests(new SimpleMeterRegistry(), 100,
+            Duration.ofMinutes(1));
+
+    @Spy
+    private DataVersions dataVersions = new DataVersions();
+
+    @Spy
+    private ReadCoalescer readCoalescer = new ReadCoalescer(new SimpleMeterRegistry(), true);
+
+    @Mock
+    private EmployeeKeyFilter employeeKeyFilter;
+
     @InjectMocks
     private EmployeeService employeeService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(employeeKeyFilter.mightContain(anyLong(), anyString())).thenReturn(true);
     }
 
     @Test
     void getAllEmployees_shouldReturnListOfEmployeesDTO() {
         // Given
-        List<Employee> employees = new ArrayList<>();
-        employees.add(new Employee());
-        when(employeeRepository.findAll()).thenReturn(employees);
-        when(employeeMapper.employeeToEmployeeDTO(any(Employee.class))).thenReturn(new EmployeeDTO());
+        List<EmployeeDTO> employees = new ArrayList<>();
+        employees.add(new EmployeeDTO(1L, "Sachin", "IT", 50000));
+        when(employeeRepository.findDTOsAfterId(eq(0L), any(Limit.class))).thenReturn(employees);
 
         // When
-        List<EmployeeDTO> employeeDTOs = employeeService.getAllEmployees();
+        EmployeePage page = employeeService.getAllEmployees(null, null);
 
         // Then
-        assertNotNull(employeeDTOs);
-        assertEquals(1, employeeDTOs.size());
+        assertNotNull(page.getEmployees());
+        assertEquals(1, page.getEmployees().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getAllEmployees_shouldReturnNextCursor_whenMoreRowsExist() {
+        // Given
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (long id = 11; id <= 13; id++) {
+            employees.add(new EmployeeDTO(id, "Employee " + id, "IT", 1000));
+        }
+        String cursor = KeysetPagination.encode(10L);
+        when(employeeRepository.findDTOsAfterId(10L, Limit.of(3))).thenReturn(employees);
+
+        // When
+        EmployeePage page = employeeService.getAllEmployees(cursor, 2);
+
+        // Then
+        assertEquals(2, page.getEmployees().size());
+        assertEquals(12L, KeysetPagination.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getAllEmployees_shouldCapPageSize() {
+        when(employeeRepository.findDTOsAfterId(anyLong(), any(Limit.class))).thenReturn(new ArrayList<>());
+
+        employeeService.getAllEmployees(null, 1_000_000);
+
+        verify(employeeRepository).findDTOsAfterId(0L,
+                Limit.of(KeysetPagination.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getAllEmployees_shouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> employeeService.getAllEmployees("not-a-cursor!", 10));
     }
 
     @Test
@@ -61,17 +139,42 @@ class EmployeeServiceTest {
         EmployeeDTO employeeDTO = new EmployeeDTO();
         employeeDTO.setName("Sachin");
         employeeDTO.setDepartment("IT");
-        Department department = new Department();
-        department.setName("IT");
-        when(departmentService.findByName("IT")).thenReturn(department);
+        Department department = new Department(1L, "IT", null);
+        when(departmentService.findOrCreate("IT")).thenReturn(department);
         when(employeeRepository.findByNameAndDepartment(anyString(), any(Department.class))).thenReturn(Optional.empty());
         when(employeeMapper.employeeDTOToEmployee(employeeDTO)).thenReturn(new Employee());
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            employee.setId(7L);
+            return employee;
+        });
 
         // When
         assertDoesNotThrow(() -> employeeService.saveEmployee(employeeDTO));
 
         // Then
         verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(eventPublisher).publishEvent(argThat((EmployeesCreatedEvent event) ->
+                event.employees().size() == 1 && event.employees().get(0).id() == 7L));
+    }
+
+    @Test
+    void saveEmployee_shouldSkipDuplicateLookup_whenFilterRulesEmployeeOut() {
+        EmployeeDTO employeeDTO = new EmployeeDTO("Sachin", "IT", 50000);
+        when(departmentService.findOrCreate("IT")).thenReturn(new Department(1L, "IT", null));
+        when(employeeKeyFilter.mightContain(1L, "Sachin")).thenReturn(false);
+        when(employeeMapper.employeeDTOToEmployee(employeeDTO)).thenReturn(new Employee());
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            employee.setId(7L);
+            return employee;
+        });
+
+        employeeService.saveEmployee(employeeDTO);
+
+        verify(employeeRepository, never()).findByNameAndDepartment(anyString(), any(Department.class));
+        verify(employeeRepository).save(any(Employee.class));
+        verify(employeeKeyFilter, never()).recordLookup(anyBoolean());
     }
 
     @Test
@@ -81,11 +184,9 @@ class EmployeeServiceTest {
         employeeDTO.setName("Sachin");
         employeeDTO.setDepartment("IT");
 
-        Department department = new Department();
-        department.setName("IT");
+        Department department = new Department(1L, "IT", null);
 
-        when(departmentService.findByName("IT")).thenReturn(department);
-        when(departmentService.saveDepartment(any(Department.class))).thenReturn(department);
+        when(departmentService.findOrCreate("IT")).thenReturn(department);
         // Mocking the existing employee
         Employee existingEmployee = new Employee();
         existingEmployee.setDepartment(department);
@@ -95,6 +196,42 @@ class EmployeeServiceTest {
         // When, Then
         assertThrows(DuplicateEmployeeException.class, () -> employeeService.saveEmployee(employeeDTO));
         verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeKeyFilter).recordLookup(true);
+    }
+
+    @Test
+    void saveEmployee_shouldThrowDuplicateEmployeeException_whenConstraintRejectsConcurrentInsert() {
+        EmployeeDTO employeeDTO = new EmployeeDTO("Sachin", "IT", 50000);
+        Department department = new Department(1L, "IT", null);
+        when(departmentService.findOrCreate("IT")).thenReturn(department);
+        when(employeeRepository.findByNameAndDepartment("Sachin", department))
+                .thenReturn(Optional.empty(), Optional.of(new Employee()));
+        when(employeeMapper.employeeDTOToEmployee(employeeDTO)).thenReturn(new Employee());
+        when(employeeRepository.save(any(Employee.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_employee_name_department"));
+
+        assertThrows(DuplicateEmployeeException.class, () -> employeeService.saveEmployee(employeeDTO));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void saveEmployee_shouldNotSaveAgain_whenIdempotencyKeyIsReplayed() {
+        EmployeeDTO employeeDTO = new EmployeeDTO("Sachin", "IT", 50000);
+        when(departmentService.findOrCreate("IT")).thenReturn(new Department(1L, "IT", null));
+        when(employeeRepository.findByNameAndDepartment(anyString(), any(Department.class))).thenReturn(Optional.empty());
+        when(employeeMapper.employeeDTOToEmployee(employeeDTO)).thenReturn(new Employee());
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            employee.setId(7L);
+            return employee;
+        });
+
+        assertTrue(employeeService.saveEmployee(employeeDTO, "key-1"));
+        assertFalse(employeeService.saveEmployee(new EmployeeDTO("Sachin", "IT", 50000), "key-1"));
+
+        verify(employeeRepository, times(1)).save(any(Employee.class));
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> employeeService.saveEmployee(new EmployeeDTO("Rahul", "IT", 50000), "key-1"));
     }
 
 
@@ -102,13 +239,14 @@ class EmployeeServiceTest {
     void getEmployeesByDepartment_shouldReturnListOfEmployeesDTO() {
         // Given
         String departmentName = "IT";
-        List<Employee> employees = new ArrayList<>();
-        employees.add(new Employee());
-        when(employeeRepository.findByDepartmentName(departmentName)).thenReturn(Optional.of(employees));
-        when(employeeMapper.employeeToEmployeeDTO(any(Employee.class))).thenReturn(new EmployeeDTO());
+        List<EmployeeDTO> employees = new ArrayList<>();
+        employees.add(new EmployeeDTO(1L, "Sachin", departmentName, 50000));
+        when(employeeRepository.findDTOsByDepartmentNameAfterId(eq(departmentName), eq(0L), any(Limit.class)))
+                .thenReturn(employees);
 
         // When
-        List<EmployeeDTO> employeeDTOs = employeeService.getEmployeesByDepartment(departmentName);
+        List<EmployeeDTO> employeeDTOs = employeeService.getEmployeesByDepartment(departmentName, null, null)
+                .getEmployees();
 
         // Then
         assertNotNull(employeeDTOs);
@@ -119,13 +257,14 @@ class EmployeeServiceTest {
     void getEmployeesBySalary_shouldReturnListOfEmployeesDTO_whenSalaryIsGreaterThan() {
         // Given
         double salary = 50000;
-        List<Employee> employees = new ArrayList<>();
-        employees.add(new Employee());
-        when(employeeRepository.findBySalaryGreaterThan(salary)).thenReturn(Optional.of(employees));
-        when(employeeMapper.employeeToEmployeeDTO(any(Employee.class))).thenReturn(new EmployeeDTO());
+        List<EmployeeDTO> employees = new ArrayList<>();
+        employees.add(new EmployeeDTO(1L, "Sachin", "IT", 60000));
+        when(employeeRepository.findDTOsBySalaryGreaterThanAfterId(eq(salary), eq(0L), any(Limit.class)))
+                .thenReturn(employees);
 
         // When
-        List<EmployeeDTO> employeeDTOs = employeeService.getEmployeesBySalary(salary, true);
+        List<EmployeeDTO> employeeDTOs = employeeService.getEmployeesBySalary(salary, true, null, null)
+                .getEmployees();
 
         // Then
         assertNotNull(employeeDTOs);
@@ -136,13 +275,14 @@ class EmployeeServiceTest {
     void getEmployeesBySalary_shouldReturnListOfEmployeesDTO_whenSalaryIsLessThanOrEqual() {
         // Given
         double salary = 50000;
-        List<Employee> employees = new ArrayList<>();
-        employees.add(new Employee());
-        when(employeeRepository.findBySalaryLessThanEqual(salary)).thenReturn(Optional.of(employees));
-        when(employeeMapper.employeeToEmployeeDTO(any(Employee.class))).thenReturn(new EmployeeDTO());
+        List<EmployeeDTO> employees = new ArrayList<>();
+        employees.add(new EmployeeDTO(1L, "Sachin", "IT", 40000));
+        when(employeeRepository.findDTOsBySalaryLessThanEqualAfterId(eq(salary), eq(0L), any(Limit.class)))
+                .thenReturn(employees);
 
         // When
-        List<EmployeeDTO> employeeDTOs = employeeService.getEmployeesBySalary(salary, false);
+        List<EmployeeDTO> employeeDTOs = employeeService.getEmployeesBySalary(salary, false, null, null)
+                .getEmployees();
 
         // Then
         assertNotNull(employeeDTOs);
@@ -152,19 +292,10 @@ class EmployeeServiceTest {
     @Test
     void getEmployeeById_shouldReturnEmployeeDTO(){
         long empId=123;
+        EmployeeDTO employeeDTO = new EmployeeDTO(empId, "MS Dhoni", "IT", 50000);
         Employee employee = new Employee();
-        employee.setId(123L);
-        employee.setName("MS Dhoni");
-        Department department = new Department();
-        department.setName("IT");
-        employee.setDepartment(department);
-
-
-        EmployeeDTO employeeDTO = new EmployeeDTO();
-        employeeDTO.setName("MS Dhoni");
-        employeeDTO.setDepartment("IT");
         when(employeeRepository.findById(empId)).thenReturn(Optional.of(employee));
-        when(employeeMapper.employeeToEmployeeDTO(any(Employee.class))).thenReturn(employeeDTO);
+        when(employeeMapper.employeeToEmployeeDTO(employee)).thenReturn(employeeDTO);
         EmployeeDTO response = employeeService.getEmployeeById(empId);
 
         assertEquals(employeeDTO.getName(),response.getName());
@@ -179,4 +310,98 @@ class EmployeeServiceTest {
         assertThrows( EmployeeNotFoundException.class,()->employeeService.getEmployeeById(empId));
     }
 
+
+    @Test
+    void getEmployeesBySalaryRange_shouldPageByIdFromDatabase() {
+        when(employeeRepository.findDTOsBySalaryBetweenAfterId(
+                eq(1000.0), eq(Double.MAX_VALUE), eq(0L), any(Limit.class))).thenReturn(new ArrayList<>());
+
+        EmployeePage page = employeeService.getEmployeesBySalaryRange(1000.0, null, SalarySort.ID, null, null);
+
+        assertTrue(page.getEmployees().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getEmployeesBySalaryRange_shouldUseSalaryIndex_whenReady() {
+        // Given
+        EmployeeDTO high = new EmployeeDTO(2L, "Sachin", "IT", 9000);
+        EmployeeDTO middle = new EmployeeDTO(1L, "Rahul", "IT", 5000);
+        when(salaryIndex.isReady()).thenReturn(true);
+        when(salaryIndex.page(0, 10000, true, null, 2))
+                .thenReturn(List.of(new SalaryEntry(2L, 9000), new SalaryEntry(1L, 5000)));
+        when(employeeRepository.findDTOsByIdIn(List.of(2L, 1L))).thenReturn(List.of(middle, high));
+
+        // When
+        EmployeePage page = employeeService.getEmployeesBySalaryRange(0.0, 10000.0, SalarySort.SALARY_DESC, null, 1);
+
+        // Then
+        assertEquals(1, page.getEmployees().size());
+        assertEquals(9000, page.getEmployees().get(0).getSalary());
+        assertEquals(new SalaryEntry(2L, 9000), KeysetPagination.decodeSalaryKey(page.getNextCursor()));
+        verify(employeeRepository, never()).findSalaryRangeDescending(anyDouble(), anyDouble(), anyDouble(),
+                anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void getEmployeesBySalaryRange_shouldSeekPastCursorInDatabase_whenIndexNotReady() {
+        String cursor = KeysetPagination.encode(5000, 3L);
+        when(employeeRepository.findSalaryRangeAscending(eq(-Double.MAX_VALUE), eq(Double.MAX_VALUE), eq(5000.0),
+                eq(3L), any(Limit.class))).thenReturn(new ArrayList<>());
+
+        employeeService.getEmployeesBySalaryRange(null, null, SalarySort.SALARY_ASC, cursor, 10);
+
+        verify(employeeRepository).findSalaryRangeAscending(-Double.MAX_VALUE, Double.MAX_VALUE, 5000.0, 3L,
+                Limit.of(11));
+    }
+
+    @Test
+    void countEmployeesBySalaryRange_shouldPreferSalaryIndex() {
+        when(salaryIndex.isReady()).thenReturn(true);
+        when(salaryIndex.count(1000, 2000)).thenReturn(42L);
+
+        assertEquals(42L, employeeService.countEmployeesBySalaryRange(1000.0, 2000.0));
+        verify(employeeRepository, never()).countBySalaryBetween(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void searchEmployeesByName_shouldLoadIndexMatchesInRankOrder() {
+        Department department = new Department(2L, "IT", null);
+        when(nameIndex.isReady()).thenReturn(true);
+        when(departmentService.findByName("IT")).thenReturn(department);
+        when(nameIndex.search("sachin", 2L, 20)).thenReturn(List.of(3L, 1L));
+        when(employeeRepository.findDTOsByIdIn(List.of(3L, 1L))).thenReturn(List.of(
+                new EmployeeDTO(1L, "Sachin Tendulkar", "IT", 50000),
+                new EmployeeDTO(3L, "Sachin", "IT", 40000)));
+
+        List<EmployeeDTO> employees = employeeService.searchEmployeesByName(" Sachin ", "IT", null);
+
+        assertEquals(List.of(3L, 1L), employees.stream().map(EmployeeDTO::getId).toList());
+        verify(employeeRepository, never()).searchDTOsByName(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void searchEmployeesByName_shouldReturnNothingForUnknownDepartment() {
+        when(nameIndex.isReady()).thenReturn(true);
+        when(departmentService.findByName("Unknown")).thenReturn(new Department());
+
+        assertTrue(employeeService.searchEmployeesByName("sachin", "Unknown", 10).isEmpty());
+        verify(nameIndex, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    void searchEmployeesByName_shouldSearchDatabaseUntilIndexIsReady() {
+        when(nameIndex.isReady()).thenReturn(false);
+        when(employeeRepository.searchDTOsByName("50%_off", "%50\\%\\_off%", "50\\%\\_off%", null, Limit.of(5)))
+                .thenReturn(List.of(new EmployeeDTO(1L, "50%_off", "IT", 1000)));
+
+        List<EmployeeDTO> employees = employeeService.searchEmployeesByName("50%_OFF", null, 5);
+
+        assertEquals(1, employees.size());
+    }
+
+    @Test
+    void searchEmployeesByName_shouldRejectBlankQuery() {
+        assertThrows(InvalidSearchQueryException.class, () -> employeeService.searchEmployeesByName(" ", null, null));
+    }
 }
@@ -0,0 +1,92 @@
+package com.example.employee_management.service;
+
+import com.example.employee_management.exception.InvalidCursorException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadCoalescer readCoalescer = new ReadCoalescer(meterRegistry, true);
+
+    @Test
+    void execute_shouldShareOneExecutionBetweenConcurrentIdenticalReads() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            results.add(executor.submit(() -> readCoalescer.execute("department", List.of("1", "IT"), () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "page";
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> readCoalescer.execute("department", List.of("1", "IT"), () -> {
+                    executions.incrementAndGet();
+                    return "other page";
+                })));
+            }
+            while (meterRegistry.find("employee.reads").tag("result", "collapsed").counter() == null
+                    || meterRegistry.get("employee.reads").tag("result", "collapsed").counter().count() < 7) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("page", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(1, meterRegistry.get("employee.reads").tag("operation", "department")
+                .tag("result", "executed").counter().count());
+        assertEquals(0, readCoalescer.inFlight());
+    }
+
+    @Test
+    void execute_shouldRunAgain_onceTheReadCompleted() {
+        AtomicInteger executions = new AtomicInteger();
+
+        readCoalescer.execute("salary", List.of("1", 1000.0), executions::incrementAndGet);
+        readCoalescer.execute("salary", List.of("1", 1000.0), executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void execute_shouldNotShareReadsOfDifferentKeys() {
+        assertEquals("IT", readCoalescer.execute("department", List.of("1", "IT"),
+                () -> readCoalescer.execute("department", List.of("2", "IT"), () -> "IT")));
+    }
+
+    @Test
+    void execute_shouldPropagateTheFailureAndReleaseTheKey() {
+        assertThrows(InvalidCursorException.class, () -> readCoalescer.execute("salary", List.of("1"), () -> {
+            throw new InvalidCursorException("Invalid cursor");
+        }));
+
+        assertEquals(0, readCoalescer.inFlight());
+        assertEquals("page", readCoalescer.execute("salary", List.of("1"), () -> "page"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.employee_management.snapshot;
+
+import com.example.employee_management.cache.DataVersions;
+import com.example.employee_management.entity.Department;
+import com.example.employee_management.entity.Employee;
+import com.example.employee_management.repository.DepartmentRepository;
+import com.example.employee_management.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a test transaction: snapshots read committed rows through their own connection.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseSnapshotTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DatabaseSnapshot databaseSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        databaseSnapshot = new DatabaseSnapshot(dataSource, new DataVersions(), meterRegistry, directory, true);
+        Department department = new Department();
+        department.setName("IT");
+        departmentRepository.save(department);
+        for (String name : List.of("Rahul", "Sachin Tendulkar")) {
+            Employee employee = new Employee();
+            employee.setName(name);
+            employee.setSalary(name.length() * 1000);
+            employee.setDepartment(department);
+            employeeRepository.save(employee);
+        }
+        Employee unassigned = new Employee();
+        unassigned.setName("Ravi");
+        employeeRepository.save(unassigned);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteAll();
+    }
+
+    @Test
+    void restore_shouldRecreateRowsAndMoveSequencesPastThem() {
+        List<Employee> before = employees();
+        List<String> indexes = indexes();
+        assertTrue(databaseSnapshot.snapshot(true));
+        deleteAll();
+
+        assertTrue(databaseSnapshot.restore());
+
+        List<Employee> after = employees();
+        assertEquals(before.stream().map(Employee::getId).toList(), after.stream().map(Employee::getId).toList());
+        assertEquals(List.of("Rahul", "Sachin Tendulkar", "Ravi"), after.stream().map(Employee::getName).toList());
+        assertEquals(List.of(5000.0, 16000.0, 0.0), after.stream().map(Employee::getSalary).toList());
+        assertEquals("IT", departmentRepository.findByName("IT").orElseThrow().getName());
+        assertEquals(indexes, indexes());
+        long maxId = after.get(after.size() - 1).getId();
+        assertEquals(maxId + 50, new JdbcTemplate(dataSource).queryForObject(
+                "values next value for employee_seq", Long.class));
+        assertEquals(1, meterRegistry.get("employee.snapshot").tag("operation", "restore").timer().count());
+    }
+
+    @Test
+    void restore_shouldLeaveNonEmptyDatabaseAlone() {
+        databaseSnapshot.snapshot(true);
+
+        assertFalse(databaseSnapshot.restore());
+        assertEquals(3, employeeRepository.count());
+    }
+
+    @Test
+    void restore_shouldMoveCorruptSnapshotAside() throws IOException {
+        databaseSnapshot.snapshot(true);
+        Path file = directory.resolve(DatabaseSnapshot.FILE_NAME);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        deleteAll();
+
+        assertFalse(databaseSnapshot.restore());
+        assertFalse(Files.exists(file));
+        assertEquals(0, employeeRepository.count());
+        try (var files = Files.list(directory)) {
+            assertTrue(files.anyMatch(path -> path.getFileName().toString().contains(".corrupt-")));
+        }
+    }
+
+    @Test
+    void restore_shouldMoveSnapshotAside_whenHeaderIsAltered() throws IOException {
+        databaseSnapshot.snapshot(true);
+        Path file = directory.resolve(DatabaseSnapshot.FILE_NAME);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[DatabaseSnapshot.HEADER_SIZE - 1] ^= 1; // the employee count
+        Files.write(file, bytes);
+        deleteAll();
+
+        assertFalse(databaseSnapshot.restore());
+        assertFalse(Files.exists(file));
+        assertEquals(0, employeeRepository.count());
+    }
+
+    @Test
+    void restore_shouldRollBackRowsAndSequences_whenRowsDoNotMatchHeader() throws IOException {
+        databaseSnapshot.snapshot(true);
+        Path file = directory.resolve(DatabaseSnapshot.FILE_NAME);
+        // A snapshot that passes its checksum but declares one employee fewer than it holds.
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        int employeeCount = DatabaseSnapshot.HEADER_SIZE - 8;
+        bytes.putLong(employeeCount, bytes.getLong(employeeCount) - 1);
+        CRC32C rowsCrc = new CRC32C();
+        rowsCrc.update(bytes.slice(DatabaseSnapshot.HEADER_SIZE,
+                bytes.limit() - DatabaseSnapshot.HEADER_SIZE - 8));
+        bytes.putLong(bytes.limit() - 8, DatabaseSnapshot.checksum(
+                bytes.slice(0, DatabaseSnapshot.HEADER_SIZE), rowsCrc.getValue()));
+        Files.write(file, bytes.array());
+        deleteAll();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long nextId = jdbcTemplate.queryForObject("values next value for employee_seq", Long.class);
+        List<String> indexesBefore = indexes();
+
+        assertFalse(databaseSnapshot.restore());
+
+        assertEquals(0, employeeRepository.count());
+        assertEquals(0, departmentRepository.count());
+        assertEquals(nextId + 50, jdbcTemplate.queryForObject("values next value for employee_seq", Long.class));
+        assertEquals(indexesBefore, indexes());
+    }
+
+    @Test
+    void snapshot_shouldSkipUnchangedData() {
+        assertTrue(databaseSnapshot.snapshot(false));
+
+        assertFalse(databaseSnapshot.snapshot(false));
+        assertEquals(1, meterRegistry.get("employee.snapshot").tag("operation", "write").timer().count());
+    }
+
+    private List<Employee> employees() {
+        return employeeRepository.findAll().stream().sorted(Comparator.comparing(Employee::getId)).toList();
+    }
+
+    private List<String> indexes() {
+        return new JdbcTemplate(dataSource).queryForList("select index_name from information_schema.indexes"
+                + " where table_name = 'EMPLOYEE' and not is_generated order by index_name", String.class);
+    }
+
+    private void deleteAll() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+}